@@ -0,0 +1,181 @@
+package com.example.apivisualization.benchmark;
+
+import com.example.apivisualization.config.CircuitBreakerProperties;
+import com.example.apivisualization.config.HttpClientConfig;
+import com.example.apivisualization.config.HttpClientProperties;
+import com.example.apivisualization.config.ProcessExecutorProperties;
+import com.example.apivisualization.config.ProcessRetryProperties;
+import com.example.apivisualization.config.ProcessTraceProperties;
+import com.example.apivisualization.config.ProcessTransformProperties;
+import com.example.apivisualization.engine.DagProcessExecutor;
+import com.example.apivisualization.engine.ProcessGraph;
+import com.example.apivisualization.engine.ProcessMetrics;
+import com.example.apivisualization.engine.retry.RetryScheduler;
+import com.example.apivisualization.engine.trace.ExecutionTraceStore;
+import com.example.apivisualization.engine.trace.ExecutionTracer;
+import com.example.apivisualization.engine.transform.ParallelTransformer;
+import com.example.apivisualization.entity.ProcessNode;
+import com.example.apivisualization.http.ApiResponseCache;
+import com.example.apivisualization.http.AsyncApiClient;
+import com.example.apivisualization.http.DownstreamGuard;
+import com.example.apivisualization.http.PooledRestTemplateFactory;
+import com.example.apivisualization.http.ResponseBodyParser;
+import com.example.apivisualization.service.impl.ProcessServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基准测试用的流程引擎
+ * 不启动Spring容器和数据库，按生产配置手工装配执行链路，流程图直接传给executeProcess
+ */
+final class BenchmarkEngine implements AutoCloseable {
+    static final Long DEFINITION_ID = 1L;
+
+    private final ProcessServiceImpl processService = new ProcessServiceImpl();
+    private final AsyncApiClient asyncApiClient = new AsyncApiClient();
+    private final ThreadPoolTaskExecutor nodeExecutor = new ThreadPoolTaskExecutor();
+    private final RetryScheduler retryScheduler = new RetryScheduler();
+    private final ParallelTransformer parallelTransformer = new ParallelTransformer();
+    private final CloseableHttpClient httpClient;
+
+    BenchmarkEngine(String clientMode) throws IOException {
+        this(clientMode, new ProcessTransformProperties());
+    }
+
+    BenchmarkEngine(String clientMode, ProcessTransformProperties processTransformProperties) throws IOException {
+        this(httpClientProperties(clientMode), new CircuitBreakerProperties(), processTransformProperties);
+    }
+
+    BenchmarkEngine(HttpClientProperties httpClientProperties, CircuitBreakerProperties circuitBreakerProperties,
+                    ProcessTransformProperties processTransformProperties) throws IOException {
+        HttpClientConfig httpClientConfig = new HttpClientConfig();
+        ReflectionTestUtils.setField(httpClientConfig, "httpClientProperties", httpClientProperties);
+        httpClient = httpClientConfig.processHttpClient(httpClientConfig.httpClientConnectionManager());
+
+        PooledRestTemplateFactory restTemplateFactory = new PooledRestTemplateFactory();
+        ReflectionTestUtils.setField(restTemplateFactory, "processHttpClient", httpClient);
+        ReflectionTestUtils.setField(restTemplateFactory, "httpClientProperties", httpClientProperties);
+
+        ReflectionTestUtils.setField(asyncApiClient, "httpClientProperties", httpClientProperties);
+        ReflectionTestUtils.setField(asyncApiClient, "objectMapper", new ObjectMapper());
+        asyncApiClient.init();
+
+        nodeExecutor.setCorePoolSize(Runtime.getRuntime().availableProcessors());
+        nodeExecutor.setThreadNamePrefix("benchmark-node-");
+        nodeExecutor.initialize();
+        DagProcessExecutor dagProcessExecutor = new DagProcessExecutor();
+        ReflectionTestUtils.setField(dagProcessExecutor, "processNodeExecutor", nodeExecutor);
+
+        ReflectionTestUtils.setField(processService, "pooledRestTemplateFactory", restTemplateFactory);
+        ReflectionTestUtils.setField(processService, "asyncApiClient", asyncApiClient);
+        DownstreamGuard downstreamGuard = new DownstreamGuard();
+        ReflectionTestUtils.setField(downstreamGuard, "circuitBreakerProperties", circuitBreakerProperties);
+        ReflectionTestUtils.setField(processService, "downstreamGuard", downstreamGuard);
+        ReflectionTestUtils.setField(processService, "apiResponseCache", new ApiResponseCache());
+        ResponseBodyParser responseBodyParser = new ResponseBodyParser();
+        ReflectionTestUtils.setField(responseBodyParser, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(processService, "responseBodyParser", responseBodyParser);
+        ReflectionTestUtils.setField(processService, "dagProcessExecutor", dagProcessExecutor);
+        ReflectionTestUtils.setField(processService, "processExecutorProperties", new ProcessExecutorProperties());
+        ReflectionTestUtils.setField(parallelTransformer, "processTransformProperties", processTransformProperties);
+        parallelTransformer.init();
+        ReflectionTestUtils.setField(processService, "parallelTransformer", parallelTransformer);
+
+        ReflectionTestUtils.setField(retryScheduler, "processRetryProperties", new ProcessRetryProperties());
+        ReflectionTestUtils.setField(retryScheduler, "processRetryExecutor", nodeExecutor);
+        retryScheduler.init();
+        ReflectionTestUtils.setField(processService, "retryScheduler", retryScheduler);
+
+        // 指标记录计入测量结果，与生产环境一致
+        ProcessMetrics processMetrics = new ProcessMetrics();
+        ReflectionTestUtils.setField(processMetrics, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(processMetrics, "asyncApiClient", asyncApiClient);
+        ReflectionTestUtils.setField(processMetrics, "retryScheduler", retryScheduler);
+        processMetrics.init();
+        ReflectionTestUtils.setField(processService, "processMetrics", processMetrics);
+
+        ProcessTraceProperties processTraceProperties = new ProcessTraceProperties();
+        ExecutionTraceStore executionTraceStore = new ExecutionTraceStore();
+        ReflectionTestUtils.setField(executionTraceStore, "processTraceProperties", processTraceProperties);
+        ReflectionTestUtils.setField(executionTraceStore, "objectMapper", new ObjectMapper());
+        executionTraceStore.init();
+        ExecutionTracer executionTracer = new ExecutionTracer();
+        ReflectionTestUtils.setField(executionTracer, "processTraceProperties", processTraceProperties);
+        ReflectionTestUtils.setField(executionTracer, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(executionTracer, "executionTraceStore", executionTraceStore);
+        ReflectionTestUtils.setField(processService, "executionTracer", executionTracer);
+    }
+
+    /**
+     * 执行流程
+     */
+    Object execute(ProcessGraph graph, Object parameters) {
+        return processService.executeProcess(DEFINITION_ID, graph, parameters);
+    }
+
+    @Override
+    public void close() throws IOException {
+        asyncApiClient.shutdown();
+        retryScheduler.shutdown();
+        parallelTransformer.shutdown();
+        nodeExecutor.shutdown();
+        httpClient.close();
+    }
+
+    static HttpClientProperties httpClientProperties(String clientMode) {
+        HttpClientProperties httpClientProperties = new HttpClientProperties();
+        httpClientProperties.setClientMode(clientMode);
+        return httpClientProperties;
+    }
+
+    /**
+     * 创建按sort顺序串行执行的流程图
+     */
+    static ProcessGraph sequential(ProcessNode... nodes) {
+        return ProcessGraph.build(Arrays.asList(nodes), Collections.emptyList());
+    }
+
+    static ProcessNode node(long id, String type, String config) {
+        ProcessNode node = new ProcessNode();
+        node.setId(id);
+        node.setProcessDefinitionId(DEFINITION_ID);
+        node.setName(type + "-" + id);
+        node.setType(type);
+        node.setConfig(config);
+        node.setSort((int) id);
+        return node;
+    }
+
+    /**
+     * 生成订单行数据
+     */
+    static List<Object> orderRows(int size) {
+        List<Object> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            rows.add(orderRow(i));
+        }
+        return rows;
+    }
+
+    static Map<String, Object> orderRow(int i) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", i);
+        row.put("name", "product-" + i);
+        row.put("price", 5 + (i % 100) * 1.5);
+        row.put("quantity", 1 + i % 10);
+        row.put("status", i % 3 == 0 ? "PAID" : "CREATED");
+        row.put("remark", "benchmark order " + i);
+        return row;
+    }
+}
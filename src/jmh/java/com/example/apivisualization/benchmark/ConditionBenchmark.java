@@ -0,0 +1,84 @@
+package com.example.apivisualization.benchmark;
+
+import com.example.apivisualization.engine.ProcessGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CONDITIONAL节点基准测试
+ * 覆盖全部条件类型，每次调用对rows行数据逐行执行条件节点
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConditionBenchmark {
+    private static final String RANGE = "{\"type\":\"RANGE\",\"field\":\"price\",\"min\":10,\"max\":100}";
+    private static final String REGEX = "{\"type\":\"REGEX\",\"field\":\"name\",\"pattern\":\"product-\\\\d*7\"}";
+
+    @Param({"1", "1000"})
+    private int rows;
+
+    @Param({"SIMPLE", "COMPLEX", "RANGE", "REGEX", "SCRIPT", "COMPOSITE"})
+    private String conditionType;
+
+    private BenchmarkEngine engine;
+    private ProcessGraph graph;
+    private List<Object> input;
+
+    @Setup
+    public void setup() throws IOException {
+        engine = new BenchmarkEngine("BLOCKING");
+        input = BenchmarkEngine.orderRows(rows);
+        graph = BenchmarkEngine.sequential(BenchmarkEngine.node(1, "CONDITIONAL", config(conditionType)));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        engine.close();
+    }
+
+    @Benchmark
+    public void executeConditional(Blackhole blackhole) {
+        for (Object row : input) {
+            blackhole.consume(engine.execute(graph, row));
+        }
+    }
+
+    private static String config(String conditionType) {
+        switch (conditionType) {
+            case "SIMPLE":
+                return "{\"field\":\"status\",\"operator\":\"EQUALS\",\"value\":\"PAID\","
+                    + "\"trueValue\":\"pass\",\"falseValue\":\"reject\"}";
+            case "COMPLEX":
+                return "{\"type\":\"COMPLEX\",\"logic\":\"AND\",\"conditions\":["
+                    + "{\"field\":\"status\",\"operator\":\"EQUALS\",\"value\":\"PAID\"},"
+                    + "{\"field\":\"name\",\"operator\":\"STARTS_WITH\",\"value\":\"product-1\"}]}";
+            case "RANGE":
+                return RANGE;
+            case "REGEX":
+                return REGEX;
+            case "SCRIPT":
+                return "{\"type\":\"SCRIPT\",\"script\":\"price * quantity > 100\"}";
+            default:
+                return "{\"type\":\"COMPOSITE\",\"operator\":\"OR\",\"conditions\":[" + RANGE + "," + REGEX + "]}";
+        }
+    }
+}
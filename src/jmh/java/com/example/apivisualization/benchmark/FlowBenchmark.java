@@ -0,0 +1,99 @@
+package com.example.apivisualization.benchmark;
+
+import com.example.apivisualization.engine.ProcessGraph;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 完整流程基准测试
+ * API_CALL节点请求本地桩服务，响应依次经过数据转换和条件节点；
+ * payloadSize控制响应中的记录数，clientMode对比阻塞和非阻塞HTTP调用
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlowBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int payloadSize;
+
+    @Param({"BLOCKING", "ASYNC"})
+    private String clientMode;
+
+    private HttpServer stubServer;
+    private ExecutorService stubExecutor;
+    private BenchmarkEngine engine;
+    private ProcessGraph graph;
+
+    @Setup
+    public void setup() throws IOException {
+        byte[] response = orderResponse(payloadSize);
+        stubExecutor = Executors.newFixedThreadPool(4);
+        stubServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stubServer.createContext("/orders", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        stubServer.setExecutor(stubExecutor);
+        stubServer.start();
+
+        String apiUrl = "http://127.0.0.1:" + stubServer.getAddress().getPort() + "/orders";
+        engine = new BenchmarkEngine(clientMode);
+        graph = BenchmarkEngine.sequential(
+            BenchmarkEngine.node(1, "API_CALL", "{\"apiUrl\":\"" + apiUrl + "\",\"method\":\"GET\",\"timeout\":5000}"),
+            BenchmarkEngine.node(2, "DATA_TRANSFORM", "{\"type\":\"FILTER\",\"excludeFields\":[\"remark\"]}"),
+            BenchmarkEngine.node(3, "CONDITIONAL", "{\"field\":\"code\",\"operator\":\"EQUALS\",\"value\":\"OK\"}"));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        engine.close();
+        stubServer.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public Object executeProcess() {
+        return engine.execute(graph, null);
+    }
+
+    private static byte[] orderResponse(int size) {
+        StringBuilder json = new StringBuilder("{\"code\":\"OK\",\"items\":[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i)
+                .append(",\"name\":\"product-").append(i)
+                .append("\",\"price\":").append(5 + (i % 100) * 1.5)
+                .append(",\"quantity\":").append(1 + i % 10)
+                .append(",\"remark\":\"benchmark order ").append(i).append("\"}");
+        }
+        return json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
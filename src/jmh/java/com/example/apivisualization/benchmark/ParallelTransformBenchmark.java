@@ -0,0 +1,75 @@
+package com.example.apivisualization.benchmark;
+
+import com.example.apivisualization.config.ProcessTransformProperties;
+import com.example.apivisualization.engine.ProcessGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 大列表数据转换并行执行基准测试
+ * 同一融合转换链(MAPPING、FILTER、CALCULATION)分别按顺序和并行执行，对比不同行数下的耗时；
+ * 并行模式阈值设为0，小列表也会拆分，用于观察拆分开销超过收益的行数
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelTransformBenchmark {
+    private static final String MAPPING = "{\"type\":\"MAPPING\",\"rules\":{\"id\":\"orderId\",\"name\":\"productName\","
+        + "\"price\":\"price\",\"quantity\":\"quantity\",\"status\":\"status\"}}";
+    private static final String FILTER = "{\"type\":\"FILTER\",\"excludeFields\":[\"productName\"]}";
+    private static final String CALCULATION = "{\"type\":\"CALCULATION\",\"rules\":{"
+        + "\"total\":{\"expression\":\"$price * $quantity\"},"
+        + "\"discounted\":{\"expression\":\"$price * $quantity > 100 ? round($price * $quantity * 0.9) : $price * $quantity\"},"
+        + "\"bulk\":{\"expression\":\"$quantity >= 5\"}}}";
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int rows;
+
+    @Param({"SEQUENTIAL", "PARALLEL"})
+    private String mode;
+
+    private BenchmarkEngine engine;
+    private ProcessGraph graph;
+    private List<Object> input;
+
+    @Setup
+    public void setup() throws IOException {
+        ProcessTransformProperties properties = new ProcessTransformProperties();
+        properties.setParallelEnabled("PARALLEL".equals(mode));
+        properties.setParallelThreshold(0);
+        properties.setMinChunkSize(256);
+        engine = new BenchmarkEngine("BLOCKING", properties);
+        input = BenchmarkEngine.orderRows(rows);
+        graph = BenchmarkEngine.sequential(
+            BenchmarkEngine.node(1, "DATA_TRANSFORM", MAPPING),
+            BenchmarkEngine.node(2, "DATA_TRANSFORM", FILTER),
+            BenchmarkEngine.node(3, "DATA_TRANSFORM", CALCULATION));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        engine.close();
+    }
+
+    @Benchmark
+    public Object executeTransform() {
+        return engine.execute(graph, input);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.apivisualization.benchmark;
+
+import com.example.apivisualization.engine.ProcessGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DATA_TRANSFORM节点基准测试
+ * 覆盖MAPPING、FILTER、CALCULATION以及三者连续时的融合执行，输入为不同行数的列表
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransformBenchmark {
+    private static final String MAPPING = "{\"type\":\"MAPPING\",\"rules\":{\"id\":\"orderId\",\"name\":\"productName\","
+        + "\"price\":\"price\",\"quantity\":\"quantity\",\"status\":\"status\"}}";
+    private static final String FILTER = "{\"type\":\"FILTER\",\"includeFields\":[\"id\",\"price\",\"quantity\","
+        + "\"status\",\"name\"],\"excludeFields\":[\"name\"]}";
+    private static final String CHAIN_FILTER = "{\"type\":\"FILTER\",\"excludeFields\":[\"productName\"]}";
+    private static final String CALCULATION = "{\"type\":\"CALCULATION\",\"rules\":{"
+        + "\"total\":{\"expression\":\"$price * $quantity\"},"
+        + "\"discounted\":{\"expression\":\"$price * $quantity > 100 ? round($price * $quantity * 0.9) : $price * $quantity\"},"
+        + "\"bulk\":{\"expression\":\"$quantity >= 5\"}}}";
+
+    @Param({"1", "100", "10000"})
+    private int rows;
+
+    @Param({"MAPPING", "FILTER", "CALCULATION", "CHAIN"})
+    private String transform;
+
+    private BenchmarkEngine engine;
+    private ProcessGraph graph;
+    private List<Object> input;
+
+    @Setup
+    public void setup() throws IOException {
+        engine = new BenchmarkEngine("BLOCKING");
+        input = BenchmarkEngine.orderRows(rows);
+        switch (transform) {
+            case "MAPPING":
+                graph = BenchmarkEngine.sequential(BenchmarkEngine.node(1, "DATA_TRANSFORM", MAPPING));
+                break;
+            case "FILTER":
+                graph = BenchmarkEngine.sequential(BenchmarkEngine.node(1, "DATA_TRANSFORM", FILTER));
+                break;
+            case "CALCULATION":
+                graph = BenchmarkEngine.sequential(BenchmarkEngine.node(1, "DATA_TRANSFORM", CALCULATION));
+                break;
+            default:
+                graph = BenchmarkEngine.sequential(
+                    BenchmarkEngine.node(1, "DATA_TRANSFORM", MAPPING),
+                    BenchmarkEngine.node(2, "DATA_TRANSFORM", CHAIN_FILTER),
+                    BenchmarkEngine.node(3, "DATA_TRANSFORM", CALCULATION));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        engine.close();
+    }
+
+    @Benchmark
+    public Object executeTransform() {
+        return engine.execute(graph, input);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.apivisualization.benchmark;
+
+import com.example.apivisualization.config.CircuitBreakerProperties;
+import com.example.apivisualization.config.HttpClientProperties;
+import com.example.apivisualization.config.ProcessThreadProperties;
+import com.example.apivisualization.config.ProcessTransformProperties;
+import com.example.apivisualization.config.VirtualThreads;
+import com.example.apivisualization.engine.ProcessGraph;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 平台线程与虚拟线程模式的并发流程吞吐量对比
+ * 每次操作同时发起concurrentFlows个流程，API_CALL节点请求有固定延迟的本地桩服务；
+ * PLATFORM模式在200个线程的线程池(与Tomcat默认最大线程数相同)上执行，VIRTUAL模式每个流程一个虚拟线程。
+ * 连接池和下游并发隔离上限放宽到不成为瓶颈；VIRTUAL模式需要Java 21运行时(mvn -P java21,benchmark)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class VirtualThreadBenchmark {
+    private static final int PLATFORM_THREADS = 200;
+    private static final int STUB_LATENCY_MS = 50;
+
+    @Param({"200", "1000", "5000"})
+    private int concurrentFlows;
+
+    @Param({ProcessThreadProperties.MODE_PLATFORM, ProcessThreadProperties.MODE_VIRTUAL})
+    private String threadMode;
+
+    private HttpServer stubServer;
+    private ExecutorService stubExecutor;
+    private ExecutorService flowExecutor;
+    private BenchmarkEngine engine;
+    private ProcessGraph graph;
+
+    @Setup
+    public void setup() throws IOException {
+        byte[] response = "{\"code\":\"OK\",\"items\":[{\"id\":1,\"price\":10.5,\"quantity\":2}]}"
+            .getBytes(StandardCharsets.UTF_8);
+        stubExecutor = Executors.newCachedThreadPool();
+        stubServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 10000);
+        stubServer.createContext("/orders", exchange -> {
+            try {
+                Thread.sleep(STUB_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        stubServer.setExecutor(stubExecutor);
+        stubServer.start();
+
+        HttpClientProperties httpClientProperties = BenchmarkEngine.httpClientProperties(
+            HttpClientProperties.CLIENT_MODE_BLOCKING);
+        httpClientProperties.setMaxTotal(concurrentFlows);
+        httpClientProperties.setMaxPerRoute(concurrentFlows);
+        httpClientProperties.setConnectionRequestTimeout(30000);
+        CircuitBreakerProperties circuitBreakerProperties = new CircuitBreakerProperties();
+        circuitBreakerProperties.setMaxConcurrentCalls(concurrentFlows);
+        engine = new BenchmarkEngine(httpClientProperties, circuitBreakerProperties, new ProcessTransformProperties());
+
+        flowExecutor = ProcessThreadProperties.MODE_VIRTUAL.equals(threadMode)
+            ? VirtualThreads.newThreadPerTaskExecutor("benchmark-flow-")
+            : Executors.newFixedThreadPool(PLATFORM_THREADS);
+
+        String apiUrl = "http://127.0.0.1:" + stubServer.getAddress().getPort() + "/orders";
+        graph = BenchmarkEngine.sequential(
+            BenchmarkEngine.node(1, "API_CALL", "{\"apiUrl\":\"" + apiUrl + "\",\"method\":\"GET\",\"timeout\":30000}"),
+            BenchmarkEngine.node(2, "DATA_TRANSFORM", "{\"type\":\"FILTER\",\"excludeFields\":[\"code\"]}"));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        flowExecutor.shutdownNow();
+        engine.close();
+        stubServer.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    /**
+     * 同时执行concurrentFlows个流程，全部完成后返回；每秒流程数 = 吞吐量 * concurrentFlows
+     */
+    @Benchmark
+    public Object executeConcurrentFlows() {
+        List<CompletableFuture<Object>> futures = new ArrayList<>(concurrentFlows);
+        for (int i = 0; i < concurrentFlows; i++) {
+            futures.add(CompletableFuture.supplyAsync(() -> engine.execute(graph, null), flowExecutor));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+    }
+}
@@ -6,7 +6,7 @@ type ProcessDefinition = {
   id: number;
   name: string;
   description?: string;
-  version: string;
+  version: number;
   status: 'DRAFT' | 'PUBLISHED' | 'DEPRECATED';
   createTime: string;
   updateTime: string;
@@ -21,17 +21,24 @@ type ProcessNode = {
   sort: number;
 };
 
+// 游标分页结果，hasMore为true时以nextCursor请求下一页
+type KeysetPage<T> = {
+  items: T[];
+  nextCursor?: string;
+  hasMore: boolean;
+};
+
 // 流程定义相关API类型
-type CreateProcessDefinitionRequest = Omit<ProcessDefinition, 'id' | 'createTime' | 'updateTime'>;
+type CreateProcessDefinitionRequest = Omit<ProcessDefinition, 'id' | 'version' | 'status' | 'createTime' | 'updateTime'>;
 type UpdateProcessDefinitionRequest = ProcessDefinition;
 type ProcessDefinitionResponse = ProcessDefinition;
-type ProcessDefinitionListResponse = ProcessDefinition[];
+type ProcessDefinitionListResponse = KeysetPage<ProcessDefinition>;
 
 // 流程节点相关API类型
 type CreateProcessNodeRequest = Omit<ProcessNode, 'id'>;
 type UpdateProcessNodeRequest = ProcessNode;
 type ProcessNodeResponse = ProcessNode;
-type ProcessNodeListResponse = ProcessNode[];
+type ProcessNodeListResponse = KeysetPage<ProcessNode>;
 
 // 流程执行相关API类型
 type ExecuteProcessRequest = {
@@ -50,6 +57,7 @@ type ExecuteProcessResponse = {
 export type {
   ProcessDefinition,
   ProcessNode,
+  KeysetPage,
   CreateProcessDefinitionRequest,
   UpdateProcessDefinitionRequest,
   ProcessDefinitionResponse,
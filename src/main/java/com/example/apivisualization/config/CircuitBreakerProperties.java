@@ -0,0 +1,64 @@
+package com.example.apivisualization.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * API调用节点下游主机熔断和隔离配置
+ * 对应 application.yml 中的 process.circuit-breaker.*
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "process.circuit-breaker")
+public class CircuitBreakerProperties {
+    /**
+     * 是否启用按主机的熔断和并发隔离
+     */
+    private boolean enabled = true;
+
+    /**
+     * 滑动窗口大小，统计最近N次调用
+     */
+    private int windowSize = 50;
+
+    /**
+     * 窗口内调用数达到该值后才计算失败率和慢调用率
+     */
+    private int minimumCalls = 20;
+
+    /**
+     * 失败率阈值(百分比)，达到后熔断
+     */
+    private int failureRateThreshold = 50;
+
+    /**
+     * 慢调用耗时阈值(毫秒)
+     */
+    private long slowCallThreshold = 3000;
+
+    /**
+     * 慢调用率阈值(百分比)，达到后熔断
+     */
+    private int slowCallRateThreshold = 80;
+
+    /**
+     * 熔断持续时间(毫秒)，到期后进入半开状态
+     */
+    private long openDuration = 30000;
+
+    /**
+     * 半开状态允许的试探调用数，全部成功后恢复，任一失败重新熔断
+     */
+    private int halfOpenCalls = 5;
+
+    /**
+     * 每个主机最多同时进行的调用数
+     */
+    private int maxConcurrentCalls = 50;
+
+    /**
+     * 非阻塞模式下每个主机最多排队的调用数，阻塞模式下超出并发数直接拒绝
+     */
+    private int maxPendingCalls = 200;
+}
@@ -0,0 +1,63 @@
+package com.example.apivisualization.config;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * API调用节点共享HTTP客户端配置
+ * 所有API_CALL节点复用同一个连接池，按主机维护长连接
+ */
+@Configuration
+public class HttpClientConfig {
+    @Autowired
+    private HttpClientProperties httpClientProperties;
+
+    /**
+     * 连接池管理器
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager httpClientConnectionManager() {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+            httpClientProperties.getKeepAlive(), TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(httpClientProperties.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(httpClientProperties.getMaxPerRoute());
+        // 空闲超过1秒的连接在复用前先做校验，避免拿到已被服务端关闭的连接
+        connectionManager.setValidateAfterInactivity(1000);
+        return connectionManager;
+    }
+
+    /**
+     * 共享HTTP客户端
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient processHttpClient(PoolingHttpClientConnectionManager httpClientConnectionManager) {
+        RequestConfig requestConfig = RequestConfig.custom()
+            .setConnectTimeout(httpClientProperties.getConnectTimeout())
+            .setSocketTimeout(httpClientProperties.getReadTimeout())
+            .setConnectionRequestTimeout(httpClientProperties.getConnectionRequestTimeout())
+            .build();
+
+        // 优先使用服务端Keep-Alive头，未返回时使用配置的默认保活时间
+        ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) -> {
+            long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return keepAlive > 0 ? keepAlive : httpClientProperties.getKeepAlive();
+        };
+
+        return HttpClients.custom()
+            .setConnectionManager(httpClientConnectionManager)
+            .setDefaultRequestConfig(requestConfig)
+            .setKeepAliveStrategy(keepAliveStrategy)
+            .evictExpiredConnections()
+            .evictIdleConnections(httpClientProperties.getIdleTimeout(), TimeUnit.MILLISECONDS)
+            .build();
+    }
+}
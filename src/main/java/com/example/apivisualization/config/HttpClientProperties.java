@@ -0,0 +1,79 @@
+package com.example.apivisualization.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * API调用节点HTTP连接池配置
+ * 对应 application.yml 中的 process.http.*
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "process.http")
+public class HttpClientProperties {
+    /**
+     * 阻塞模式：API调用在执行线程中同步等待响应
+     */
+    public static final String CLIENT_MODE_BLOCKING = "BLOCKING";
+
+    /**
+     * 非阻塞模式：API调用异步发送，等待响应期间不占用线程
+     */
+    public static final String CLIENT_MODE_ASYNC = "ASYNC";
+
+    /**
+     * API调用模式：BLOCKING 或 ASYNC
+     */
+    private String clientMode = CLIENT_MODE_BLOCKING;
+
+    /**
+     * 连接池最大连接数
+     */
+    private int maxTotal = 200;
+
+    /**
+     * 每个路由(主机)最大连接数
+     */
+    private int maxPerRoute = 50;
+
+    /**
+     * 默认连接超时时间(毫秒)，节点未配置timeout时使用
+     */
+    private int connectTimeout = 5000;
+
+    /**
+     * 默认读取超时时间(毫秒)，节点未配置timeout时使用
+     */
+    private int readTimeout = 5000;
+
+    /**
+     * 从连接池获取连接的超时时间(毫秒)
+     */
+    private int connectionRequestTimeout = 1000;
+
+    /**
+     * 服务端未返回Keep-Alive头时的默认保活时间(毫秒)
+     */
+    private long keepAlive = 30000;
+
+    /**
+     * 空闲连接回收时间(毫秒)
+     */
+    private long idleTimeout = 60000;
+
+    /**
+     * 非阻塞模式下最多同时进行的请求数
+     */
+    private int asyncMaxInFlight = 2000;
+
+    /**
+     * 非阻塞模式下最多排队的请求数，超出后直接拒绝
+     */
+    private int asyncMaxPending = 10000;
+
+    /**
+     * 非阻塞模式下处理响应回调的线程数
+     */
+    private int asyncIoThreads = 4;
+}
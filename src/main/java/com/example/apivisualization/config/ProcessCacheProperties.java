@@ -0,0 +1,29 @@
+package com.example.apivisualization.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 流程定义缓存配置
+ * 对应 application.yml 中的 process.cache.*
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "process.cache")
+public class ProcessCacheProperties {
+    /**
+     * 是否启用流程节点缓存
+     */
+    private boolean enabled = true;
+
+    /**
+     * 最多缓存的流程定义数量，超出后淘汰最久未使用的流程
+     */
+    private int maxSize = 1000;
+
+    /**
+     * 缓存有效期(毫秒)，小于等于0表示不过期
+     */
+    private long ttl = 300000;
+}
@@ -0,0 +1,135 @@
+package com.example.apivisualization.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 流程执行线程池配置
+ * process.threads.mode为VIRTUAL时，节点执行、流程异步执行及HTTP请求均使用虚拟线程
+ */
+@Configuration
+public class ProcessExecutorConfig {
+    @Autowired
+    private ProcessExecutorProperties processExecutorProperties;
+
+    @Autowired
+    private ProcessRunProperties processRunProperties;
+
+    @Autowired
+    private ProcessThreadProperties processThreadProperties;
+
+    @Autowired
+    private ProcessRetryProperties processRetryProperties;
+
+    /**
+     * 流程节点并行执行线程池
+     * 同一流程中无依赖关系的分支在此线程池上并发执行
+     */
+    @Bean
+    public ThreadPoolTaskExecutor processNodeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(processExecutorProperties.getCorePoolSize());
+        executor.setMaxPoolSize(processExecutorProperties.getMaxPoolSize());
+        executor.setQueueCapacity(processExecutorProperties.getQueueCapacity());
+        executor.setThreadNamePrefix("process-node-");
+        // 队列满时由调度线程直接执行，保证流程不会因线程池饱和而中断
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        if (processThreadProperties.isVirtual()) {
+            useVirtualThreads(executor, "process-node-");
+        }
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 节点重试线程池
+     * 重试调度线程到期后将重试提交到此线程池；队列满时拒绝提交，重试直接失败，
+     * 不能像节点线程池那样由提交线程执行，否则阻塞的重试会占住调度线程
+     */
+    @Bean
+    public ThreadPoolTaskExecutor processRetryExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(processRetryProperties.getExecutorPoolSize());
+        executor.setMaxPoolSize(processRetryProperties.getExecutorPoolSize());
+        executor.setQueueCapacity(processRetryProperties.getExecutorQueueCapacity());
+        executor.setThreadNamePrefix("process-retry-exec-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        if (processThreadProperties.isVirtual()) {
+            useVirtualThreads(executor, "process-retry-exec-");
+        }
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 流程异步执行线程池
+     * 异步执行的流程在此线程池上运行，不占用Tomcat请求线程；队列满时拒绝提交
+     */
+    @Bean
+    public ThreadPoolTaskExecutor processRunExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(processRunProperties.getCorePoolSize());
+        executor.setMaxPoolSize(processRunProperties.getMaxPoolSize());
+        executor.setQueueCapacity(processRunProperties.getQueueCapacity());
+        executor.setThreadNamePrefix("process-run-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        if (processThreadProperties.isVirtual()) {
+            useVirtualThreads(executor, "process-run-");
+        }
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 流式输出线程池
+     * 批量执行和流式执行接口在此线程池上读取输入并输出结果；不排队，已满时拒绝请求
+     */
+    @Bean
+    public ThreadPoolTaskExecutor processStreamExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(processRunProperties.getStreamMaxConcurrency());
+        executor.setMaxPoolSize(processRunProperties.getStreamMaxConcurrency());
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("process-stream-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        if (processThreadProperties.isVirtual()) {
+            useVirtualThreads(executor, "process-stream-");
+        }
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 虚拟线程模式下Tomcat请求线程改为每个请求一个虚拟线程
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "process.threads", name = "mode", havingValue = ProcessThreadProperties.MODE_VIRTUAL)
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(VirtualThreads.newThreadPerTaskExecutor("http-vt-"));
+    }
+
+    /**
+     * 线程池改用虚拟线程：不再保留排队，并发数上限为virtualMaxConcurrency，空闲线程及时回收
+     */
+    private void useVirtualThreads(ThreadPoolTaskExecutor executor, String prefix) {
+        int maxConcurrency = processThreadProperties.getVirtualMaxConcurrency();
+        executor.setThreadFactory(VirtualThreads.factory(prefix));
+        executor.setCorePoolSize(maxConcurrency);
+        executor.setMaxPoolSize(maxConcurrency);
+        executor.setQueueCapacity(0);
+        executor.setKeepAliveSeconds(10);
+        executor.setAllowCoreThreadTimeOut(true);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.apivisualization.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 流程节点并行执行线程池配置
+ * 对应 application.yml 中的 process.executor.*
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "process.executor")
+public class ProcessExecutorProperties {
+    /**
+     * 核心线程数
+     */
+    private int corePoolSize = 16;
+
+    /**
+     * 最大线程数
+     */
+    private int maxPoolSize = 64;
+
+    /**
+     * 等待队列容量，队列满时由提交线程直接执行
+     */
+    private int queueCapacity = 1000;
+
+    /**
+     * 单次流程执行超时时间(毫秒)，超时后不再执行后续节点，小于等于0表示不限制
+     */
+    private long processTimeout = 60000;
+}
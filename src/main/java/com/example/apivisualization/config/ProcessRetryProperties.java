@@ -0,0 +1,69 @@
+package com.example.apivisualization.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 流程节点重试配置
+ * 对应 application.yml 中的 process.retry.*
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "process.retry")
+public class ProcessRetryProperties {
+    /**
+     * 单个节点的最大重试次数
+     */
+    private int maxRetryTimes = 3;
+
+    /**
+     * 首次重试的等待时间(毫秒)，之后按multiplier指数增长
+     */
+    private long retryInterval = 1000;
+
+    /**
+     * 重试等待时间上限(毫秒)
+     */
+    private long maxRetryInterval = 30000;
+
+    /**
+     * 重试等待时间的增长倍数
+     */
+    private double multiplier = 2.0;
+
+    /**
+     * 随机抖动比例(0~1)，实际等待时间在[(1-jitter)*delay, delay]之间随机
+     */
+    private double jitter = 0.5;
+
+    /**
+     * 每个流程定义的重试预算容量，预算耗尽后节点失败不再重试
+     */
+    private int budgetCapacity = 50;
+
+    /**
+     * 每个流程定义每秒恢复的重试预算
+     */
+    private double budgetRefillPerSecond = 5;
+
+    /**
+     * 全局等待中的重试数上限，超出后节点失败不再重试
+     */
+    private int maxPendingRetries = 1000;
+
+    /**
+     * 重试调度线程数，只负责计时，到期后的重试在重试线程池中执行
+     */
+    private int schedulerThreads = 1;
+
+    /**
+     * 重试线程池的线程数
+     */
+    private int executorPoolSize = 8;
+
+    /**
+     * 重试线程池的等待队列容量，队列满时本次重试直接失败
+     */
+    private int executorQueueCapacity = 100;
+}
@@ -0,0 +1,59 @@
+package com.example.apivisualization.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 流程异步执行配置
+ * 对应 application.yml 中的 process.run.*
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "process.run")
+public class ProcessRunProperties {
+    /**
+     * 流程执行线程池核心线程数
+     */
+    private int corePoolSize = 8;
+
+    /**
+     * 流程执行线程池最大线程数
+     */
+    private int maxPoolSize = 32;
+
+    /**
+     * 等待执行的流程队列容量，队列满时拒绝新的异步执行请求
+     */
+    private int queueCapacity = 500;
+
+    /**
+     * 最多保留的执行记录数
+     */
+    private int maxRetained = 10000;
+
+    /**
+     * 执行结束后记录保留时间(毫秒)
+     */
+    private long retention = 600000;
+
+    /**
+     * 批量执行默认并发数
+     */
+    private int batchParallelism = 8;
+
+    /**
+     * 批量执行最大并发数
+     */
+    private int batchMaxParallelism = 32;
+
+    /**
+     * 批量执行和流式执行接口的超时时间(毫秒)，不受spring.mvc.async.request-timeout限制，0表示不限制
+     */
+    private long streamTimeout = 1800000;
+
+    /**
+     * 同时进行的批量执行和流式执行请求数上限，超出时返回503
+     */
+    private int streamMaxConcurrency = 32;
+}
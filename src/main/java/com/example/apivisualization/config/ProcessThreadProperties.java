@@ -0,0 +1,41 @@
+package com.example.apivisualization.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 执行线程模式配置
+ * 对应 application.yml 中的 process.threads.*
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "process.threads")
+public class ProcessThreadProperties {
+    /**
+     * 平台线程模式
+     */
+    public static final String MODE_PLATFORM = "PLATFORM";
+
+    /**
+     * 虚拟线程模式，需要Java 21及以上运行时
+     */
+    public static final String MODE_VIRTUAL = "VIRTUAL";
+
+    /**
+     * 线程模式：PLATFORM(平台线程池) 或 VIRTUAL(HTTP请求、流程及节点执行使用虚拟线程)
+     */
+    private String mode = MODE_PLATFORM;
+
+    /**
+     * 虚拟线程模式下节点执行和流程异步执行的最大并发数，超出后按各线程池的拒绝策略处理
+     */
+    private int virtualMaxConcurrency = 10000;
+
+    /**
+     * 是否为虚拟线程模式
+     */
+    public boolean isVirtual() {
+        return MODE_VIRTUAL.equalsIgnoreCase(mode);
+    }
+}
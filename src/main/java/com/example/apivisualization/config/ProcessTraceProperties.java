@@ -0,0 +1,69 @@
+package com.example.apivisualization.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 流程执行跟踪配置
+ * 对应 application.yml 中的 process.trace.*
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "process.trace")
+public class ProcessTraceProperties {
+    /**
+     * 不记录节点参数和结果
+     */
+    public static final String PAYLOAD_MODE_NONE = "NONE";
+
+    /**
+     * 只记录失败节点的参数
+     */
+    public static final String PAYLOAD_MODE_FAILED = "FAILED";
+
+    /**
+     * 失败节点及每sampleRate次执行中的一次
+     */
+    public static final String PAYLOAD_MODE_SAMPLED = "SAMPLED";
+
+    /**
+     * 记录全部节点的参数和结果
+     */
+    public static final String PAYLOAD_MODE_ALL = "ALL";
+
+    /**
+     * 节点参数和结果的日志记录模式：NONE、FAILED、SAMPLED、ALL
+     */
+    private String payloadMode = PAYLOAD_MODE_FAILED;
+
+    /**
+     * SAMPLED模式的采样间隔，每N次流程执行记录一次
+     */
+    private int sampleRate = 100;
+
+    /**
+     * 单个参数或结果输出的最大字符数，超出部分截断
+     */
+    private int maxPayloadLength = 2000;
+
+    /**
+     * 是否在内存中保留最近的执行跟踪
+     */
+    private boolean storeEnabled = true;
+
+    /**
+     * 内存中保留的执行跟踪条数，超出后覆盖最旧的记录
+     */
+    private int storeCapacity = 1000;
+
+    /**
+     * 执行跟踪追加写入的本地文件路径，为空时不写文件
+     */
+    private String spillFile;
+
+    /**
+     * 等待写入文件的执行跟踪队列容量，队列满时丢弃
+     */
+    private int spillQueueCapacity = 10000;
+}
@@ -0,0 +1,34 @@
+package com.example.apivisualization.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 数据转换节点并行执行配置
+ * 对应 application.yml 中的 process.transform.*
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "process.transform")
+public class ProcessTransformProperties {
+    /**
+     * 是否对大列表并行转换
+     */
+    private boolean parallelEnabled = true;
+
+    /**
+     * 列表行数达到该值时才并行转换，较小的列表拆分开销大于收益
+     */
+    private int parallelThreshold = 10000;
+
+    /**
+     * 并行转换线程数，所有流程共享，0表示使用CPU核数
+     */
+    private int parallelism = 0;
+
+    /**
+     * 每个拆分任务的最小行数
+     */
+    private int minChunkSize = 2048;
+}
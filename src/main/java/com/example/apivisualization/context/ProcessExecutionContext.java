@@ -1,18 +1,34 @@
 package com.example.apivisualization.context;
 
+import com.example.apivisualization.engine.trace.NodeTrace;
+
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 流程执行上下文
  * 用于管理流程执行过程中的状态和参数传递
+ * 并行执行时节点结果和状态会被多个线程写入，使用同步Map保存
  */
 public class ProcessExecutionContext {
     private Object initialParameters;
     private Object currentParameters;
-    private Map<Long, Object> nodeResults = new HashMap<>();
+    private Map<Long, Object> nodeResults = Collections.synchronizedMap(new HashMap<>());
+    private Map<Long, String> nodeStatuses = Collections.synchronizedMap(new HashMap<>());
     private Long failedNodeId;
     private Exception exception;
+    private volatile Boolean traceSampled;
+    private Integer maxRetryTimes;
+    private final Map<Long, Integer> retryAttempts = new ConcurrentHashMap<>();
+    private final List<NodeTrace> nodeTraces = Collections.synchronizedList(new ArrayList<>());
+    private final long startNanos = System.nanoTime();
+    private volatile long timeoutNanos;
+    private volatile boolean cancelled;
 
     public ProcessExecutionContext(Object initialParameters) {
         this.initialParameters = initialParameters;
@@ -54,6 +70,31 @@ public class ProcessExecutionContext {
         return nodeResults.get(nodeId);
     }
 
+    /**
+     * 获取全部节点执行结果
+     */
+    public Map<Long, Object> getResults() {
+        synchronized (nodeResults) {
+            return new HashMap<>(nodeResults);
+        }
+    }
+
+    /**
+     * 设置节点执行状态
+     */
+    public void setNodeStatus(Long nodeId, String status) {
+        if (nodeId != null) {
+            nodeStatuses.put(nodeId, status);
+        }
+    }
+
+    /**
+     * 获取节点执行状态
+     */
+    public String getNodeStatus(Long nodeId) {
+        return nodeStatuses.get(nodeId);
+    }
+
     /**
      * 设置失败节点ID
      */
@@ -82,6 +123,102 @@ public class ProcessExecutionContext {
         return exception;
     }
 
+    /**
+     * 获取本次执行的跟踪采样结果，未判定时返回null
+     */
+    public Boolean getTraceSampled() {
+        return traceSampled;
+    }
+
+    /**
+     * 设置本次执行的跟踪采样结果
+     */
+    public void setTraceSampled(Boolean traceSampled) {
+        this.traceSampled = traceSampled;
+    }
+
+    /**
+     * 获取本次执行的单节点最大重试次数，未设置时返回null，使用process.retry.max-retry-times
+     */
+    public Integer getMaxRetryTimes() {
+        return maxRetryTimes;
+    }
+
+    /**
+     * 设置本次执行的单节点最大重试次数
+     */
+    public void setMaxRetryTimes(Integer maxRetryTimes) {
+        this.maxRetryTimes = maxRetryTimes;
+    }
+
+    /**
+     * 累加并返回节点的重试次数，从1开始
+     */
+    public int nextRetryAttempt(Long nodeId) {
+        return retryAttempts.merge(nodeId, 1, Integer::sum);
+    }
+
+    /**
+     * 获取执行开始时间(System.nanoTime)
+     */
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * 设置流程执行超时时间(毫秒)，从执行开始计时，小于等于0表示不限制
+     */
+    public void setTimeoutMillis(long timeoutMillis) {
+        this.timeoutNanos = timeoutMillis > 0 ? TimeUnit.MILLISECONDS.toNanos(timeoutMillis) : 0;
+    }
+
+    /**
+     * 获取距执行超时的剩余时间(纳秒)，未设置超时时返回Long.MAX_VALUE
+     */
+    public long getRemainingNanos() {
+        if (timeoutNanos <= 0) {
+            return Long.MAX_VALUE;
+        }
+        return timeoutNanos - (System.nanoTime() - startNanos);
+    }
+
+    /**
+     * 判断流程执行是否已超时
+     */
+    public boolean isTimeout() {
+        return getRemainingNanos() <= 0;
+    }
+
+    /**
+     * 取消执行：流程已失败或超时，尚未开始的节点及重试不再执行
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * 判断执行是否已取消
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * 添加节点执行跟踪
+     */
+    public void addNodeTrace(NodeTrace nodeTrace) {
+        nodeTraces.add(nodeTrace);
+    }
+
+    /**
+     * 获取节点执行跟踪，按节点完成顺序排列
+     */
+    public List<NodeTrace> getNodeTraces() {
+        synchronized (nodeTraces) {
+            return new ArrayList<>(nodeTraces);
+        }
+    }
+
     /**
      * 获取最终执行结果
      */
@@ -0,0 +1,62 @@
+package com.example.apivisualization.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 写入ResponseBodyEmitter的输出流
+ * 写入的字节先缓存在内存中，达到分块大小或flush、close时作为一个分块发送
+ */
+class EmitterOutputStream extends OutputStream {
+    private final ResponseBodyEmitter emitter;
+    private final MediaType contentType;
+    private final int chunkSize;
+    private final ByteArrayOutputStream buffer;
+
+    /**
+     * @param emitter 响应输出
+     * @param contentType 分块的内容类型
+     * @param chunkSize 分块大小(字节)
+     */
+    EmitterOutputStream(ResponseBodyEmitter emitter, MediaType contentType, int chunkSize) {
+        this.emitter = emitter;
+        this.contentType = contentType;
+        this.chunkSize = chunkSize;
+        this.buffer = new ByteArrayOutputStream(chunkSize);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        buffer.write(b);
+        if (buffer.size() >= chunkSize) {
+            flush();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        buffer.write(b, off, len);
+        if (buffer.size() >= chunkSize) {
+            flush();
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (buffer.size() == 0) {
+            return;
+        }
+        byte[] chunk = buffer.toByteArray();
+        buffer.reset();
+        emitter.send(chunk, contentType);
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+}
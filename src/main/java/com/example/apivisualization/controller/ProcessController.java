@@ -1,14 +1,51 @@
 package com.example.apivisualization.controller;
 
+import com.example.apivisualization.config.ProcessRunProperties;
+import com.example.apivisualization.context.ProcessExecutionContext;
+import com.example.apivisualization.dto.KeysetPage;
+import com.example.apivisualization.dto.ProcessDesign;
+import com.example.apivisualization.dto.ProcessDesignResult;
+import com.example.apivisualization.engine.BatchItemResult;
+import com.example.apivisualization.engine.ProcessBatchExecutor;
+import com.example.apivisualization.engine.ProcessRun;
+import com.example.apivisualization.engine.ProcessRunManager;
 import com.example.apivisualization.entity.ProcessDefinition;
+import com.example.apivisualization.entity.ProcessEdge;
 import com.example.apivisualization.entity.ProcessNode;
+import com.example.apivisualization.service.ProcessDesignConflictException;
 import com.example.apivisualization.service.ProcessService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.json.JSONArray;
+import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * 流程管理控制器
@@ -17,9 +54,29 @@ import java.util.List;
 @RequestMapping("/api/process")
 @Api(tags = "流程管理API")
 public class ProcessController {
+    /**
+     * 流式执行结果的分块大小(字节)，缓存的结果达到该大小时发送一次，避免每个元素单独写出
+     */
+    private static final int STREAM_CHUNK_SIZE = 8192;
+    
     @Autowired
     private ProcessService processService;
     
+    @Autowired
+    private ProcessRunManager processRunManager;
+    
+    @Autowired
+    private ProcessBatchExecutor processBatchExecutor;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private ProcessRunProperties processRunProperties;
+    
+    @Autowired
+    private ThreadPoolTaskExecutor processStreamExecutor;
+    
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
@@ -41,6 +98,20 @@ public class ProcessController {
         });
         return ResponseEntity.badRequest().body(errors);
     }
+    
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<Map<String, String>> handleTaskRejected(TaskRejectedException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("message", "流程执行队列已满，请稍后重试");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errors);
+    }
+
+    @ExceptionHandler(ProcessDesignConflictException.class)
+    public ResponseEntity<Map<String, String>> handleDesignConflict(ProcessDesignConflictException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errors);
+    }
 
     /**
      * 创建流程定义
@@ -74,6 +145,45 @@ public class ProcessController {
         processService.deleteProcessDefinition(id);
     }
 
+    /**
+     * 发布流程定义
+     * 当前节点和连线编译为新版本的执行计划，之后开始的执行使用新版本，进行中的执行不受影响
+     * @param id 流程定义ID
+     * @return 发布后的流程定义
+     */
+    @PostMapping("/definitions/{id}/publish")
+    @ApiOperation("发布流程定义")
+    public ProcessDefinition publishProcessDefinition(@PathVariable Long id) {
+        return processService.publishProcessDefinition(id);
+    }
+
+    /**
+     * 停用流程定义
+     * @param id 流程定义ID
+     * @return 停用后的流程定义
+     */
+    @PostMapping("/definitions/{id}/deprecate")
+    @ApiOperation("停用流程定义")
+    public ProcessDefinition deprecateProcessDefinition(@PathVariable Long id) {
+        return processService.deprecateProcessDefinition(id);
+    }
+
+    /**
+     * 分页获取流程定义列表
+     * 按ID游标分页，默认不返回描述字段
+     * @param cursor 上一页返回的游标，为空时从第一页开始
+     * @param limit 每页行数
+     * @param fields 额外返回的字段，逗号分隔，支持description
+     * @return 流程定义分页结果
+     */
+    @GetMapping("/definitions")
+    @ApiOperation("分页获取流程定义列表")
+    public KeysetPage<ProcessDefinition> pageProcessDefinitions(@RequestParam(required = false) String cursor,
+                                                                @RequestParam(defaultValue = "50") int limit,
+                                                                @RequestParam(required = false) String fields) {
+        return processService.pageProcessDefinitions(cursor, limit, hasField(fields, "description"));
+    }
+
     /**
      * 获取流程定义详情
      * @param id 流程定义ID
@@ -118,14 +228,77 @@ public class ProcessController {
     }
 
     /**
-     * 获取流程节点列表
-     * @param processDefinitionId 流程定义ID
-     * @return 流程节点列表
+     * 分页获取流程节点列表
+     * 指定流程定义时按(sort, id)游标分页，否则按ID游标分页；默认不返回配置字段
+     * @param processDefinitionId 流程定义ID，可选
+     * @param cursor 上一页返回的游标，为空时从第一页开始
+     * @param limit 每页行数
+     * @param fields 额外返回的字段，逗号分隔，支持config
+     * @return 流程节点分页结果
      */
     @GetMapping("/nodes")
-    @ApiOperation("获取流程节点列表")
-    public List<ProcessNode> listProcessNodes(@RequestParam Long processDefinitionId) {
-        return processService.listProcessNodes(processDefinitionId);
+    @ApiOperation("分页获取流程节点列表")
+    public KeysetPage<ProcessNode> pageProcessNodes(@RequestParam(required = false) Long processDefinitionId,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "50") int limit,
+                                                    @RequestParam(required = false) String fields) {
+        return processService.pageProcessNodes(processDefinitionId, cursor, limit, hasField(fields, "config"));
+    }
+
+    private static boolean hasField(String fields, String field) {
+        if (fields == null) {
+            return false;
+        }
+        for (String name : fields.split(",")) {
+            if (name.trim().equalsIgnoreCase(field)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 添加流程连线
+     * @param processEdge 流程连线实体
+     * @return 添加后的流程连线
+     */
+    @PostMapping("/edges")
+    @ApiOperation("添加流程连线")
+    public ProcessEdge addProcessEdge(@Valid @RequestBody ProcessEdge processEdge) {
+        return processService.addProcessEdge(processEdge);
+    }
+
+    /**
+     * 删除流程连线
+     * @param id 流程连线ID
+     */
+    @DeleteMapping("/edges/{id}")
+    @ApiOperation("删除流程连线")
+    public void deleteProcessEdge(@PathVariable Long id) {
+        processService.deleteProcessEdge(id);
+    }
+
+    /**
+     * 获取流程连线列表
+     * @param processDefinitionId 流程定义ID
+     * @return 流程连线列表
+     */
+    @GetMapping("/edges")
+    @ApiOperation("获取流程连线列表")
+    public List<ProcessEdge> listProcessEdges(@RequestParam Long processDefinitionId) {
+        return processService.listProcessEdges(processDefinitionId);
+    }
+
+    /**
+     * 批量保存流程设计
+     * 完整模式提交全部节点和连线，增量模式只提交变更；所有写入在同一事务中批量执行
+     * @param design 流程设计
+     * @return 发生变化的节点和连线ID
+     */
+    @PostMapping("/design")
+    @ApiOperation("批量保存流程设计")
+    public ProcessDesignResult saveProcessDesign(@RequestBody ProcessDesign design) {
+        return processService.saveProcessDesign(design);
     }
 
     /**
@@ -139,4 +312,203 @@ public class ProcessController {
     public Object executeProcess(@PathVariable Long processDefinitionId, @RequestBody Object parameters) {
         return processService.executeProcess(processDefinitionId, parameters);
     }
-}
\ No newline at end of file
+
+    /**
+     * 异步执行流程编排，立即返回执行ID
+     * @param processDefinitionId 流程定义ID
+     * @param parameters 执行参数
+     * @return 执行记录
+     */
+    @PostMapping("/execute/{processDefinitionId}/async")
+    @ApiOperation("异步执行流程编排")
+    public ResponseEntity<ProcessRun> executeProcessAsync(@PathVariable Long processDefinitionId, @RequestBody Object parameters) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+            .body(processRunManager.submit(processDefinitionId, parameters));
+    }
+
+    /**
+     * 执行流程编排，流程在独立线程池上执行，不占用请求线程
+     * @param processDefinitionId 流程定义ID
+     * @param parameters 执行参数
+     * @return 执行结果
+     */
+    @PostMapping("/execute/{processDefinitionId}/deferred")
+    @ApiOperation("执行流程编排(非阻塞请求线程)")
+    public CompletableFuture<Object> executeProcessDeferred(@PathVariable Long processDefinitionId, @RequestBody Object parameters) {
+        return processRunManager.submitForResult(processDefinitionId, parameters);
+    }
+
+    /**
+     * 批量执行流程编排
+     * 请求体为JSON数组或NDJSON(每行一个JSON)，每项作为一次执行的参数；
+     * 响应为NDJSON，每项执行完成后立即输出一行结果，输出顺序为完成顺序，通过index对应输入；
+     * 超过process.run.stream-timeout时停止执行，未完成的项不再输出
+     * @param processDefinitionId 流程定义ID
+     * @param parallelism 并发数
+     * @param request HTTP请求
+     * @return 流式执行结果
+     */
+    @PostMapping(value = "/execute/{processDefinitionId}/batch", produces = "application/x-ndjson")
+    @ApiOperation("批量执行流程编排")
+    public ResponseEntity<ResponseBodyEmitter> executeProcessBatch(@PathVariable Long processDefinitionId,
+                                                                   @RequestParam(required = false) Integer parallelism,
+                                                                   HttpServletRequest request) {
+        StreamingResponseBody body = out -> {
+            // 多个执行线程共用同一输出流；使用ReentrantLock而不是synchronized，虚拟线程写出时不占住载体线程
+            Lock writeLock = new ReentrantLock();
+            try (MappingIterator<Object> inputs = objectMapper.readerFor(Object.class).readValues(request.getInputStream())) {
+                processBatchExecutor.execute(processDefinitionId, inputs, parallelism,
+                    item -> writeNdjsonLine(out, writeLock, item));
+            } catch (RuntimeException e) {
+                // 输入格式错误等异常作为最后一行输出，已输出的结果不受影响
+                BatchItemResult error = new BatchItemResult();
+                error.setIndex(-1);
+                error.setStatus(ProcessRun.STATUS_FAILED);
+                error.setError(e.getMessage());
+                writeNdjsonLine(out, writeLock, error);
+            }
+        };
+        return stream(MediaType.parseMediaType("application/x-ndjson"), body);
+    }
+    
+    /**
+     * 多个执行线程共用同一输出流时输出一行NDJSON，序列化在加锁前完成
+     */
+    private void writeNdjsonLine(OutputStream out, Lock writeLock, Object value) {
+        try {
+            byte[] line = objectMapper.writeValueAsBytes(value);
+            writeLock.lock();
+            try {
+                out.write(line);
+                out.write('\n');
+                out.flush();
+            } finally {
+                writeLock.unlock();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 输出一行NDJSON，不逐行flush，由输出流按分块大小发送
+     */
+    private void writeNdjsonLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 流式执行流程编排，列表结果逐项输出；超过process.run.stream-timeout时停止执行
+     * @param processDefinitionId 流程定义ID
+     * @param format 输出格式：ndjson每行一个元素，json为分块输出的JSON数组
+     * @param parameters 执行参数
+     * @return 流式执行结果
+     */
+    @PostMapping(value = "/execute/{processDefinitionId}/stream", produces = {"application/x-ndjson", "application/json"})
+    @ApiOperation("流式执行流程编排")
+    public ResponseEntity<ResponseBodyEmitter> executeProcessStream(@PathVariable Long processDefinitionId,
+                                                                    @RequestParam(defaultValue = "ndjson") String format,
+                                                                    @RequestBody(required = false) Object parameters) {
+        boolean ndjson = !"json".equalsIgnoreCase(format);
+        StreamingResponseBody body = out -> {
+            boolean[] first = {true};
+            if (!ndjson) {
+                out.write('[');
+            }
+            ProcessExecutionContext context = processService.executeProcessStreaming(processDefinitionId, parameters,
+                element -> writeStreamElement(out, element, ndjson, first));
+            if (context.getException() != null) {
+                // 执行失败时追加一个失败元素，已输出的结果不受影响
+                Map<String, Object> error = new LinkedHashMap<>();
+                error.put("status", ProcessRun.STATUS_FAILED);
+                error.put("failedNodeId", context.getFailedNode());
+                error.put("error", context.getException().getMessage());
+                writeStreamElement(out, error, ndjson, first);
+            }
+            if (!ndjson) {
+                out.write(']');
+            }
+            out.flush();
+        };
+        MediaType contentType = ndjson ? MediaType.parseMediaType("application/x-ndjson") : MediaType.APPLICATION_JSON;
+        return stream(contentType, body);
+    }
+    
+    /**
+     * 在流式执行线程池上输出结果
+     * 超时时间为process.run.stream-timeout，不受spring.mvc.async.request-timeout限制；
+     * 超时或客户端断开时中断输出线程，批量执行随之取消未完成的执行项。线程池已满时返回503
+     */
+    private ResponseEntity<ResponseBodyEmitter> stream(MediaType contentType, StreamingResponseBody body) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(processRunProperties.getStreamTimeout());
+        Future<?> task = processStreamExecutor.submit(() -> {
+            try (OutputStream out = new EmitterOutputStream(emitter, contentType, STREAM_CHUNK_SIZE)) {
+                body.writeTo(out);
+            } catch (IOException | RuntimeException e) {
+                emitter.completeWithError(e);
+                return;
+            }
+            emitter.complete();
+        });
+        emitter.onTimeout(() -> task.cancel(true));
+        emitter.onError(error -> task.cancel(true));
+        return ResponseEntity.ok().contentType(contentType).body(emitter);
+    }
+    
+    /**
+     * 输出一个流式结果元素，JSON数组格式时元素间以逗号分隔
+     */
+    private void writeStreamElement(OutputStream out, Object element, boolean ndjson, boolean[] first) {
+        // org.json对象转换为Map/List后再由Jackson序列化
+        Object value = element instanceof JSONObject ? ((JSONObject) element).toMap()
+            : element instanceof JSONArray ? ((JSONArray) element).toList() : element;
+        if (ndjson) {
+            writeNdjsonLine(out, value);
+            return;
+        }
+        try {
+            if (!first[0]) {
+                out.write(',');
+            }
+            first[0] = false;
+            out.write(objectMapper.writeValueAsBytes(value));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 获取异步执行状态
+     * @param runId 执行ID
+     * @return 执行记录
+     */
+    @GetMapping("/runs/{runId}")
+    @ApiOperation("获取异步执行状态")
+    public ResponseEntity<ProcessRun> getProcessRun(@PathVariable String runId) {
+        ProcessRun run = processRunManager.getRun(runId);
+        return run != null ? ResponseEntity.ok(run) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * 获取异步执行结果，执行未结束时返回202
+     * @param runId 执行ID
+     * @return 执行结果
+     */
+    @GetMapping("/runs/{runId}/result")
+    @ApiOperation("获取异步执行结果")
+    public ResponseEntity<Object> getProcessRunResult(@PathVariable String runId) {
+        ProcessRun run = processRunManager.getRun(runId);
+        if (run == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!run.isFinished()) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(run);
+        }
+        return ResponseEntity.ok(run.getResult());
+    }
+}
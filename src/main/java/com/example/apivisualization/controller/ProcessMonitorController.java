@@ -0,0 +1,130 @@
+package com.example.apivisualization.controller;
+
+import com.example.apivisualization.engine.ProcessDefinitionCache;
+import com.example.apivisualization.engine.trace.ExecutionTrace;
+import com.example.apivisualization.engine.trace.ExecutionTraceStore;
+import com.example.apivisualization.engine.trace.NodeLatency;
+import com.example.apivisualization.http.ApiResponseCache;
+import com.example.apivisualization.http.DownstreamGuard;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 流程引擎运行状态监控控制器
+ */
+@RestController
+@RequestMapping("/api/process/monitor")
+@Api(tags = "流程引擎监控API")
+public class ProcessMonitorController {
+    @Autowired
+    private ProcessDefinitionCache processDefinitionCache;
+
+    @Autowired
+    private ExecutionTraceStore executionTraceStore;
+
+    @Autowired
+    private DownstreamGuard downstreamGuard;
+
+    @Autowired
+    private ApiResponseCache apiResponseCache;
+
+    /**
+     * 获取流程节点缓存统计
+     * @return 命中、未命中、淘汰次数及当前容量
+     */
+    @GetMapping("/node-cache")
+    @ApiOperation("获取流程节点缓存统计")
+    public ProcessDefinitionCache.CacheStats getNodeCacheStats() {
+        return processDefinitionCache.getStats();
+    }
+
+    /**
+     * 清空流程节点缓存
+     */
+    @DeleteMapping("/node-cache")
+    @ApiOperation("清空流程节点缓存")
+    public void clearNodeCache() {
+        processDefinitionCache.invalidateAll();
+    }
+
+    /**
+     * 获取API调用响应缓存统计
+     * @return 命中、未命中、合并调用、淘汰次数及当前条数
+     */
+    @GetMapping("/api-cache")
+    @ApiOperation("获取API调用响应缓存统计")
+    public ApiResponseCache.CacheStats getApiCacheStats() {
+        return apiResponseCache.getStats();
+    }
+
+    /**
+     * 清空API调用响应缓存
+     */
+    @DeleteMapping("/api-cache")
+    @ApiOperation("清空API调用响应缓存")
+    public void clearApiCache() {
+        apiResponseCache.invalidateAll();
+    }
+
+    /**
+     * 获取最近的执行跟踪，按时间倒序
+     * @param processDefinitionId 流程定义ID，为空时查询全部流程
+     * @param limit 最多返回条数
+     * @return 执行跟踪列表
+     */
+    @GetMapping("/traces")
+    @ApiOperation("获取最近的执行跟踪")
+    public List<ExecutionTrace> listTraces(@RequestParam(required = false) Long processDefinitionId,
+                                           @RequestParam(defaultValue = "20") int limit) {
+        return executionTraceStore.list(processDefinitionId, limit);
+    }
+
+    /**
+     * 获取单次执行跟踪
+     * @param traceId 执行ID
+     * @return 执行跟踪
+     */
+    @GetMapping("/traces/{traceId}")
+    @ApiOperation("获取单次执行跟踪")
+    public ResponseEntity<ExecutionTrace> getTrace(@PathVariable String traceId) {
+        ExecutionTrace trace = executionTraceStore.get(traceId);
+        return trace != null ? ResponseEntity.ok(trace) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * 获取流程各节点最近的耗时汇总，供流程设计器叠加显示
+     * @param processDefinitionId 流程定义ID
+     * @return 节点ID到耗时汇总的映射
+     */
+    @GetMapping("/traces/node-latency")
+    @ApiOperation("获取流程节点耗时汇总")
+    public Map<Long, NodeLatency> getNodeLatency(@RequestParam Long processDefinitionId) {
+        return executionTraceStore.nodeLatency(processDefinitionId);
+    }
+
+    /**
+     * 获取API调用下游主机的熔断和并发状态
+     * @return 各主机的熔断器状态、窗口失败率、进行中和被拒绝的调用数
+     */
+    @GetMapping("/circuit-breakers")
+    @ApiOperation("获取下游主机熔断状态")
+    public List<DownstreamGuard.HostStats> getCircuitBreakers() {
+        return downstreamGuard.getStats();
+    }
+
+    /**
+     * 手动恢复下游主机的熔断器
+     * @param host 主机(host:port)
+     */
+    @DeleteMapping("/circuit-breakers/{host}")
+    @ApiOperation("恢复下游主机熔断器")
+    public ResponseEntity<Void> resetCircuitBreaker(@PathVariable String host) {
+        return downstreamGuard.reset(host) ? ResponseEntity.ok().build() : ResponseEntity.notFound().build();
+    }
+}
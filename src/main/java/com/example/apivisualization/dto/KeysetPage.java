@@ -0,0 +1,27 @@
+package com.example.apivisualization.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 游标分页结果
+ * 按排序键从上一页最后一行之后继续查询，翻页代价与页码无关
+ */
+@Data
+public class KeysetPage<T> {
+    private List<T> items;
+
+    /**
+     * 下一页游标，没有更多数据时为null
+     */
+    private String nextCursor;
+
+    private boolean hasMore;
+
+    public KeysetPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+}
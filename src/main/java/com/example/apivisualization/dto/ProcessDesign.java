@@ -0,0 +1,83 @@
+package com.example.apivisualization.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 流程设计保存请求
+ * 节点ID为设计器中的ID：已保存的节点为数据库ID，新节点为设计器生成的临时ID；
+ * 连线通过source、target引用节点ID，同一对节点之间只保留一条连线
+ */
+@Data
+public class ProcessDesign {
+    /**
+     * 完整保存：请求包含全部节点和连线，未包含的节点和连线被删除
+     */
+    public static final String MODE_FULL = "FULL";
+
+    /**
+     * 增量保存：请求只包含新增或修改的节点和连线，删除项单独列出
+     */
+    public static final String MODE_DELTA = "DELTA";
+
+    /**
+     * 流程定义ID
+     */
+    private Long processId;
+
+    /**
+     * 保存模式：FULL 或 DELTA
+     */
+    private String mode = MODE_FULL;
+
+    /**
+     * 设计基于的流程修订号，与当前修订号不一致时拒绝保存；为空时不校验
+     */
+    private Integer baseRevision;
+
+    private List<Node> nodes;
+
+    private List<Edge> edges;
+
+    /**
+     * 增量保存时删除的节点ID，节点相关的连线同时删除
+     */
+    private List<Long> deletedNodeIds;
+
+    /**
+     * 增量保存时删除的连线ID
+     */
+    private List<Long> deletedEdgeIds;
+
+    /**
+     * 设计器节点，为空的字段保持不变
+     */
+    @Data
+    public static class Node {
+        private String id;
+
+        private String name;
+
+        private String type;
+
+        private String config;
+
+        private Integer sort;
+    }
+
+    /**
+     * 设计器连线
+     */
+    @Data
+    public static class Edge {
+        private String source;
+
+        private String target;
+
+        /**
+         * 连线条件，为空表示无条件
+         */
+        private String condition;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.apivisualization.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 流程设计保存结果，只包含发生变化的节点和连线
+ */
+@Data
+public class ProcessDesignResult {
+    private boolean success = true;
+
+    private Long processId;
+
+    /**
+     * 保存后的流程修订号，下次增量保存时作为baseRevision
+     */
+    private Integer revision;
+
+    /**
+     * 新增节点的设计器ID与数据库ID对应关系
+     */
+    private Map<String, Long> createdNodeIds = new LinkedHashMap<>();
+
+    private List<Long> updatedNodeIds = new ArrayList<>();
+
+    private List<Long> deletedNodeIds = new ArrayList<>();
+
+    private List<Long> createdEdgeIds = new ArrayList<>();
+
+    private List<Long> updatedEdgeIds = new ArrayList<>();
+
+    private List<Long> deletedEdgeIds = new ArrayList<>();
+}
@@ -0,0 +1,30 @@
+package com.example.apivisualization.engine;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+/**
+ * 批量执行单项结果
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+    /**
+     * 输入在批量请求中的序号，从0开始
+     */
+    private long index;
+
+    /**
+     * 执行状态：SUCCESS 或 FAILED
+     */
+    private String status;
+
+    private Object result;
+
+    private String error;
+
+    /**
+     * 耗时(毫秒)
+     */
+    private long costTime;
+}
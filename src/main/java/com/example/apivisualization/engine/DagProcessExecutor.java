@@ -0,0 +1,333 @@
+package com.example.apivisualization.engine;
+
+import com.example.apivisualization.context.ProcessExecutionContext;
+import com.example.apivisualization.entity.ProcessNode;
+import com.example.apivisualization.exception.ErrorCode;
+import com.example.apivisualization.exception.ProcessException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * 流程图并行执行器
+ * 按连线构建的依赖关系调度节点：所有前驱节点完成后节点才会执行，无依赖关系的分支在线程池上并发执行，
+ * 流程耗时趋近于关键路径耗时而不是所有节点耗时之和。
+ * <ul>
+ *     <li>无前驱的节点以流程初始参数作为输入</li>
+ *     <li>只有一条入线的节点以前驱节点结果作为输入</li>
+ *     <li>有多条入线的节点(如并行网关)以汇聚结果作为输入，key为前驱节点ID，value为前驱节点结果</li>
+ *     <li>连线条件不成立时不激活目标节点；排他网关只激活第一条条件成立的出线</li>
+ *     <li>所有入线均未激活的节点跳过执行</li>
+ * </ul>
+ * 调度状态只在调用线程中维护，节点在工作线程中执行后通过完成队列回传结果。
+ * 节点执行器返回CompletableFuture时(如非阻塞API调用)，节点在Future完成时才结束，等待期间不占用线程。
+ * 调用线程最多等待到执行上下文的超时时间；节点失败或超时后取消仍在执行的节点，不等待其完成
+ */
+@Component
+public class DagProcessExecutor {
+    @Autowired
+    private ThreadPoolTaskExecutor processNodeExecutor;
+
+    /**
+     * 节点执行器
+     */
+    @FunctionalInterface
+    public interface NodeRunner {
+        /**
+         * 执行节点
+         * @param node 流程节点
+         * @param parameters 节点输入参数
+         * @return 节点执行结果，可以是CompletableFuture
+         */
+        Object run(ProcessNode node, Object parameters);
+    }
+
+    /**
+     * 按流程图执行节点，节点结果、失败节点及异常写入执行上下文
+     * @param graph 流程图
+     * @param context 执行上下文
+     * @param runner 节点执行器
+     */
+    public void execute(ProcessGraph graph, ProcessExecutionContext context, NodeRunner runner) {
+        execute(graph, context, runner, node -> false);
+    }
+
+    /**
+     * 按流程图执行节点，节点结果、失败节点及异常写入执行上下文
+     * @param graph 流程图
+     * @param context 执行上下文
+     * @param runner 节点执行器
+     * @param nonBlocking 判断节点是否为非阻塞节点，非阻塞节点直接在调度线程中发起，不提交到线程池
+     */
+    public void execute(ProcessGraph graph, ProcessExecutionContext context, NodeRunner runner,
+                        Predicate<ProcessNode> nonBlocking) {
+        new Run(graph, context, runner, nonBlocking).execute();
+    }
+
+    /**
+     * 单次流程执行的调度状态
+     */
+    private class Run {
+        private static final int PENDING = 0;
+        private static final int COMPLETED = 1;
+        private static final int SKIPPED = 2;
+
+        private final ProcessGraph graph;
+        private final ProcessExecutionContext context;
+        private final NodeRunner runner;
+        private final Predicate<ProcessNode> nonBlocking;
+        private final int[] remaining;
+        private final int[] states;
+        private final Object[] results;
+        private final boolean[] activeEdges;
+        private final Deque<Integer> ready = new ArrayDeque<>();
+        private final BlockingQueue<NodeOutcome> completions = new LinkedBlockingQueue<>();
+        /**
+         * 已提交的节点任务及节点返回的Future，流程失败时取消
+         */
+        private final Queue<Future<?>> pending = new ConcurrentLinkedQueue<>();
+        private int finished;
+        private int inFlight;
+
+        Run(ProcessGraph graph, ProcessExecutionContext context, NodeRunner runner, Predicate<ProcessNode> nonBlocking) {
+            this.graph = graph;
+            this.context = context;
+            this.runner = runner;
+            this.nonBlocking = nonBlocking;
+            this.remaining = new int[graph.size()];
+            this.states = new int[graph.size()];
+            this.results = new Object[graph.size()];
+            this.activeEdges = new boolean[graph.getEdges().size()];
+            for (int i = 0; i < graph.size(); i++) {
+                remaining[i] = graph.incomingEdges(i).length;
+                if (remaining[i] == 0) {
+                    ready.add(i);
+                }
+            }
+        }
+
+        void execute() {
+            try {
+                while (finished < graph.size()) {
+                    if (!dispatchReady()) {
+                        cancelInFlight();
+                        return;
+                    }
+                    if (finished == graph.size()) {
+                        break;
+                    }
+                    NodeOutcome outcome = completions.poll(Math.max(context.getRemainingNanos(), 0), 
+                        TimeUnit.NANOSECONDS);
+                    if (outcome == null) {
+                        context.setException(new ProcessException(ErrorCode.PROCESS_TIMEOUT, "流程执行超时"));
+                        cancelInFlight();
+                        return;
+                    }
+                    inFlight--;
+                    if (!complete(outcome)) {
+                        cancelInFlight();
+                        return;
+                    }
+                }
+                context.setCurrentParameters(collectFinalResult());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                context.setException(e);
+                cancelInFlight();
+            }
+        }
+
+        /**
+         * 取消仍在执行的节点：标记上下文已取消，尚未开始的节点及重试不再执行，
+         * 执行中的工作线程被中断，其结果不再被处理
+         */
+        private void cancelInFlight() {
+            context.cancel();
+            for (Future<?> future = pending.poll(); future != null; future = pending.poll()) {
+                future.cancel(true);
+            }
+        }
+
+        /**
+         * 调度所有就绪节点，返回false表示流程已失败
+         */
+        private boolean dispatchReady() {
+            while (!ready.isEmpty()) {
+                int index = ready.poll();
+                ProcessNode node = graph.node(index);
+                int[] incoming = graph.incomingEdges(index);
+                Object input;
+                if (incoming.length == 0) {
+                    input = context.getInitialParameters();
+                } else if (incoming.length == 1) {
+                    if (!activeEdges[incoming[0]]) {
+                        skip(index);
+                        continue;
+                    }
+                    input = results[graph.edgeSource(incoming[0])];
+                } else {
+                    Map<String, Object> joined = joinInputs(incoming);
+                    if (joined.isEmpty()) {
+                        skip(index);
+                        continue;
+                    }
+                    input = joined;
+                }
+
+                if (nonBlocking.test(node) || (ready.isEmpty() && inFlight == 0)) {
+                    // 非阻塞节点或当前只有一个可执行节点时，直接在调度线程执行，省去线程切换
+                    NodeOutcome outcome = runNode(index, node, input);
+                    if (outcome == null) {
+                        inFlight++;
+                    } else if (!complete(outcome)) {
+                        return false;
+                    }
+                } else {
+                    Object nodeInput = input;
+                    try {
+                        pending.add(processNodeExecutor.submit(() -> {
+                            NodeOutcome outcome = runNode(index, node, nodeInput);
+                            if (outcome != null) {
+                                completions.add(outcome);
+                            }
+                        }));
+                    } catch (RejectedExecutionException e) {
+                        fail(node, e);
+                        return false;
+                    }
+                    inFlight++;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 执行节点，节点返回Future时注册完成回调并返回null
+         * 捕获Throwable：节点抛出Error时同样回传失败结果，否则调用线程会一直等待该节点
+         */
+        private NodeOutcome runNode(int index, ProcessNode node, Object input) {
+            try {
+                Object result = runner.run(node, input);
+                if (result instanceof CompletableFuture) {
+                    CompletableFuture<?> future = (CompletableFuture<?>) result;
+                    pending.add(future);
+                    future.whenComplete((value, error) ->
+                        completions.add(new NodeOutcome(index, value, error != null ? toException(error) : null)));
+                    return null;
+                }
+                return new NodeOutcome(index, result, null);
+            } catch (Throwable e) {
+                return new NodeOutcome(index, null, toException(e));
+            }
+        }
+
+        /**
+         * 处理节点执行结果并激活后继节点，返回false表示流程已失败
+         */
+        private boolean complete(NodeOutcome outcome) {
+            int index = outcome.index;
+            ProcessNode node = graph.node(index);
+            if (outcome.error != null) {
+                fail(node, outcome.error);
+                return false;
+            }
+            states[index] = COMPLETED;
+            results[index] = outcome.result;
+            context.putResult(node.getId(), outcome.result);
+            finished++;
+
+            boolean exclusive = graph.isExclusiveGateway(index);
+            boolean branchTaken = false;
+            for (int edge : graph.outgoingEdges(index)) {
+                boolean active;
+                try {
+                    active = !(exclusive && branchTaken) && graph.isEdgeActive(edge, outcome.result);
+                } catch (RuntimeException e) {
+                    fail(node, e);
+                    return false;
+                }
+                branchTaken |= active;
+                activeEdges[edge] = active;
+                release(graph.edgeTarget(edge));
+            }
+            return true;
+        }
+
+        private void skip(int index) {
+            states[index] = SKIPPED;
+            finished++;
+            for (int edge : graph.outgoingEdges(index)) {
+                release(graph.edgeTarget(edge));
+            }
+        }
+
+        private void release(int target) {
+            if (--remaining[target] == 0) {
+                ready.add(target);
+            }
+        }
+
+        private void fail(ProcessNode node, Exception e) {
+            context.setFailedNode(node.getId());
+            context.setException(e);
+        }
+
+        private Map<String, Object> joinInputs(int[] incoming) {
+            Map<String, Object> joined = new LinkedHashMap<>();
+            for (int edge : incoming) {
+                if (activeEdges[edge]) {
+                    int source = graph.edgeSource(edge);
+                    joined.put(String.valueOf(graph.node(source).getId()), results[source]);
+                }
+            }
+            return joined;
+        }
+
+        /**
+         * 汇总终止节点结果：只有一个终止节点执行时返回其结果，多个时返回汇聚结果
+         */
+        private Object collectFinalResult() {
+            Map<String, Object> finalResults = new LinkedHashMap<>();
+            Object lastResult = null;
+            for (int i = 0; i < graph.size(); i++) {
+                if (states[i] == COMPLETED && graph.outgoingEdges(i).length == 0) {
+                    lastResult = results[i];
+                    finalResults.put(String.valueOf(graph.node(i).getId()), results[i]);
+                }
+            }
+            return finalResults.size() == 1 ? lastResult : finalResults;
+        }
+    }
+
+    private static Exception toException(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof Exception ? (Exception) cause : new CompletionException(cause);
+    }
+
+    private static class NodeOutcome {
+        private final int index;
+        private final Object result;
+        private final Exception error;
+
+        NodeOutcome(int index, Object result, Exception error) {
+            this.index = index;
+            this.result = result;
+            this.error = error;
+        }
+    }
+}
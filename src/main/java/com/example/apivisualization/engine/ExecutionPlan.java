@@ -0,0 +1,33 @@
+package com.example.apivisualization.engine;
+
+/**
+ * 已发布流程的执行计划
+ * 由发布快照编译，节点配置均已编译，创建后不可变；
+ * 执行开始时取得的计划在整个执行期间不变，重新发布只影响之后开始的执行
+ */
+public final class ExecutionPlan {
+    private final Long processDefinitionId;
+    private final int version;
+    private final ProcessGraph graph;
+
+    public ExecutionPlan(Long processDefinitionId, int version, ProcessGraph graph) {
+        this.processDefinitionId = processDefinitionId;
+        this.version = version;
+        this.graph = graph;
+    }
+
+    public Long getProcessDefinitionId() {
+        return processDefinitionId;
+    }
+
+    /**
+     * 发布版本号
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    public ProcessGraph getGraph() {
+        return graph;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.apivisualization.engine;
+
+import com.example.apivisualization.config.ProcessRunProperties;
+import com.example.apivisualization.service.ProcessService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * 流程批量执行器
+ * 同一流程对多组输入参数执行：流程图只加载一次，各项按指定并发数在流程执行线程池上运行，
+ * 每项完成后立即回调。输入按需逐项读取，并发已满时暂停读取，不会一次性加载全部输入
+ */
+@Component
+public class ProcessBatchExecutor {
+    @Autowired
+    private ProcessService processService;
+
+    @Autowired
+    private ThreadPoolTaskExecutor processRunExecutor;
+
+    @Autowired
+    private ProcessRunProperties processRunProperties;
+
+    /**
+     * 批量执行流程
+     * 单项结果回调失败(如客户端断开连接)或调用线程被中断(如请求超时)时停止读取输入，取消尚未完成的执行项
+     * @param processDefinitionId 流程定义ID
+     * @param inputs 输入参数迭代器
+     * @param parallelism 并发数，为空时使用默认配置
+     * @param listener 单项结果回调，可能在多个线程中调用
+     * @return 执行项数
+     * @throws RuntimeException 单项结果回调抛出的异常
+     */
+    public long execute(Long processDefinitionId, Iterator<Object> inputs, Integer parallelism,
+                        Consumer<BatchItemResult> listener) {
+        ProcessGraph graph = processService.getProcessGraph(processDefinitionId);
+        int permits = resolveParallelism(parallelism);
+        Semaphore semaphore = new Semaphore(permits);
+        Set<Future<?>> outstanding = ConcurrentHashMap.newKeySet();
+        AtomicReference<RuntimeException> listenerFailure = new AtomicReference<>();
+
+        long index = 0;
+        try {
+            while (listenerFailure.get() == null && inputs.hasNext()) {
+                Object parameters = inputs.next();
+                long itemIndex = index++;
+                semaphore.acquire();
+                FutureTask<Void> task = new FutureTask<Void>(() -> {
+                    try {
+                        listener.accept(executeItem(processDefinitionId, graph, itemIndex, parameters));
+                    } catch (RuntimeException e) {
+                        // 结果无法输出时其余执行项的结果也无法输出
+                        if (listenerFailure.compareAndSet(null, e)) {
+                            cancelAll(outstanding);
+                        }
+                    }
+                }, null) {
+                    @Override
+                    protected void done() {
+                        // 正常完成或被取消时各调用一次，取消尚未运行的执行项也会归还许可
+                        outstanding.remove(this);
+                        semaphore.release();
+                    }
+                };
+                outstanding.add(task);
+                try {
+                    processRunExecutor.execute(task);
+                } catch (TaskRejectedException e) {
+                    // 流程执行线程池已满时在当前线程执行，自然降低输入读取速度
+                    task.run();
+                }
+            }
+            // 等待所有执行项完成
+            semaphore.acquire(permits);
+        } catch (InterruptedException e) {
+            cancelAll(outstanding);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("批量执行被中断", e);
+        }
+        if (listenerFailure.get() != null) {
+            throw listenerFailure.get();
+        }
+        return index;
+    }
+
+    private static void cancelAll(Set<Future<?>> outstanding) {
+        for (Future<?> future : outstanding) {
+            future.cancel(true);
+        }
+    }
+
+    private BatchItemResult executeItem(Long processDefinitionId, ProcessGraph graph, long index, Object parameters) {
+        BatchItemResult item = new BatchItemResult();
+        item.setIndex(index);
+        long startTime = System.currentTimeMillis();
+        try {
+            Object result = processService.executeProcess(processDefinitionId, graph, parameters);
+            // 节点执行失败时最终结果为异常对象
+            if (result instanceof Exception) {
+                item.setStatus(ProcessRun.STATUS_FAILED);
+                item.setError(((Exception) result).getMessage());
+            } else {
+                item.setStatus(ProcessRun.STATUS_SUCCESS);
+                item.setResult(result);
+            }
+        } catch (Exception e) {
+            item.setStatus(ProcessRun.STATUS_FAILED);
+            item.setError(e.getMessage());
+        }
+        item.setCostTime(System.currentTimeMillis() - startTime);
+        return item;
+    }
+
+    private int resolveParallelism(Integer parallelism) {
+        if (parallelism == null || parallelism <= 0) {
+            return processRunProperties.getBatchParallelism();
+        }
+        return Math.min(parallelism, processRunProperties.getBatchMaxParallelism());
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.apivisualization.engine;
+
+import com.example.apivisualization.config.ProcessCacheProperties;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 流程图读穿透缓存
+ * 按流程定义ID缓存编译后的流程图(排序后的节点列表及连线)，容量受限并按LRU淘汰，超过TTL后重新加载；
+ * 流程定义、节点或连线变更提交后由服务层调用invalidate失效
+ */
+@Component
+public class ProcessDefinitionCache {
+    @Autowired
+    private ProcessCacheProperties processCacheProperties;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * 失效版本号，加载期间发生失效时丢弃本次加载结果，避免旧数据回填缓存
+     */
+    private final AtomicLong invalidationVersion = new AtomicLong();
+
+    private final Map<Long, CacheEntry> entries = new LinkedHashMap<Long, CacheEntry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, CacheEntry> eldest) {
+            if (size() > processCacheProperties.getMaxSize()) {
+                evictionCount.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    /**
+     * 获取流程图，未命中时通过loader加载并缓存
+     * @param processDefinitionId 流程定义ID
+     * @param loader 流程图加载器
+     * @return 编译后的流程图
+     */
+    public ProcessGraph getGraph(Long processDefinitionId, Supplier<ProcessGraph> loader) {
+        if (!processCacheProperties.isEnabled()) {
+            return loader.get();
+        }
+        synchronized (entries) {
+            CacheEntry entry = entries.get(processDefinitionId);
+            if (entry != null) {
+                if (!entry.isExpired(processCacheProperties.getTtl())) {
+                    hitCount.incrementAndGet();
+                    return entry.graph;
+                }
+                entries.remove(processDefinitionId);
+                evictionCount.incrementAndGet();
+            }
+        }
+        missCount.incrementAndGet();
+
+        // 在锁外加载，避免数据库访问阻塞其他流程的缓存读取
+        long version = invalidationVersion.get();
+        ProcessGraph graph = loader.get();
+        synchronized (entries) {
+            if (invalidationVersion.get() == version) {
+                entries.put(processDefinitionId, new CacheEntry(graph));
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * 失效指定流程定义的节点缓存
+     * @param processDefinitionId 流程定义ID
+     */
+    public void invalidate(Long processDefinitionId) {
+        synchronized (entries) {
+            invalidationVersion.incrementAndGet();
+            entries.remove(processDefinitionId);
+        }
+    }
+
+    /**
+     * 清空全部缓存
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            invalidationVersion.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    /**
+     * 获取缓存统计信息
+     */
+    public CacheStats getStats() {
+        CacheStats stats = new CacheStats();
+        stats.setHitCount(hitCount.get());
+        stats.setMissCount(missCount.get());
+        stats.setEvictionCount(evictionCount.get());
+        synchronized (entries) {
+            stats.setSize(entries.size());
+        }
+        stats.setMaxSize(processCacheProperties.getMaxSize());
+        return stats;
+    }
+
+    private static class CacheEntry {
+        private final ProcessGraph graph;
+        private final long loadTime = System.currentTimeMillis();
+
+        CacheEntry(ProcessGraph graph) {
+            this.graph = graph;
+        }
+
+        boolean isExpired(long ttl) {
+            return ttl > 0 && System.currentTimeMillis() - loadTime > ttl;
+        }
+    }
+
+    /**
+     * 缓存统计信息
+     */
+    @Data
+    public static class CacheStats {
+        private long hitCount;
+        private long missCount;
+        private long evictionCount;
+        private int size;
+        private int maxSize;
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.apivisualization.engine;
+
+import com.example.apivisualization.engine.expression.CompiledExpression;
+import com.example.apivisualization.engine.expression.ExpressionCompiler;
+import com.example.apivisualization.engine.node.GatewayConfig;
+import com.example.apivisualization.entity.ProcessEdge;
+import com.example.apivisualization.entity.ProcessNode;
+import org.json.JSONObject;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 编译后的流程图
+ * 由按sort排序的节点列表和设计器保存的连线构建，不可变，可被并发执行的流程共享。
+ * 没有连线的流程按sort顺序串行执行，与原有行为保持一致
+ */
+public class ProcessGraph {
+    /**
+     * 网关节点类型
+     */
+    public static final String GATEWAY_NODE_TYPE = "GATEWAY";
+
+    private static final Pattern EDGE_VARIABLE = Pattern.compile("\\$\\{([A-Za-z_][A-Za-z0-9_]*)\\}");
+
+    private final List<ProcessNode> nodes;
+    private final List<ProcessEdge> edges;
+    private final int[][] outgoingEdges;
+    private final int[][] incomingEdges;
+    private final int[] edgeSources;
+    private final int[] edgeTargets;
+    private final CompiledExpression[] edgeConditions;
+    private final boolean[] exclusiveGateways;
+
+    private ProcessGraph(List<ProcessNode> nodes, List<ProcessEdge> edges) {
+        this.nodes = Collections.unmodifiableList(nodes);
+        this.edges = Collections.unmodifiableList(edges);
+
+        Map<Long, Integer> indexById = new HashMap<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            indexById.put(nodes.get(i).getId(), i);
+        }
+
+        List<List<Integer>> outgoing = new ArrayList<>();
+        List<List<Integer>> incoming = new ArrayList<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            outgoing.add(new ArrayList<>());
+            incoming.add(new ArrayList<>());
+        }
+        this.edgeSources = new int[edges.size()];
+        this.edgeTargets = new int[edges.size()];
+        this.edgeConditions = new CompiledExpression[edges.size()];
+        for (int e = 0; e < edges.size(); e++) {
+            ProcessEdge edge = edges.get(e);
+            Integer source = indexById.get(edge.getSourceNodeId());
+            Integer target = indexById.get(edge.getTargetNodeId());
+            if (source == null || target == null) {
+                // 连线端点已被删除
+                edgeSources[e] = -1;
+                edgeTargets[e] = -1;
+                continue;
+            }
+            outgoing.get(source).add(e);
+            incoming.get(target).add(e);
+            edgeSources[e] = source;
+            edgeTargets[e] = target;
+            edgeConditions[e] = compileEdgeCondition(edge.getCondition());
+        }
+
+        this.outgoingEdges = new int[nodes.size()][];
+        this.incomingEdges = new int[nodes.size()][];
+        this.exclusiveGateways = new boolean[nodes.size()];
+        for (int i = 0; i < nodes.size(); i++) {
+            outgoingEdges[i] = outgoing.get(i).stream().mapToInt(Integer::intValue).toArray();
+            incomingEdges[i] = incoming.get(i).stream().mapToInt(Integer::intValue).toArray();
+            exclusiveGateways[i] = isExclusiveGateway(nodes.get(i));
+        }
+        checkAcyclic();
+    }
+
+    /**
+     * 构建流程图
+     * @param nodes 按sort排序的节点列表
+     * @param edges 连线列表
+     * @return 流程图
+     * @throws IllegalArgumentException 连线存在循环或连线条件不合法
+     */
+    public static ProcessGraph build(List<ProcessNode> nodes, List<ProcessEdge> edges) {
+        return new ProcessGraph(new ArrayList<>(nodes), edges != null ? new ArrayList<>(edges) : new ArrayList<>());
+    }
+
+    /**
+     * 获取按sort排序的节点列表
+     */
+    public List<ProcessNode> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * 获取连线列表
+     */
+    public List<ProcessEdge> getEdges() {
+        return edges;
+    }
+
+    /**
+     * 是否按连线图执行，没有有效连线时按sort顺序串行执行
+     */
+    public boolean isGraph() {
+        for (int target : edgeTargets) {
+            if (target >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int size() {
+        return nodes.size();
+    }
+
+    ProcessNode node(int index) {
+        return nodes.get(index);
+    }
+
+    int[] outgoingEdges(int index) {
+        return outgoingEdges[index];
+    }
+
+    int[] incomingEdges(int index) {
+        return incomingEdges[index];
+    }
+
+    int edgeSource(int edgeIndex) {
+        return edgeSources[edgeIndex];
+    }
+
+    int edgeTarget(int edgeIndex) {
+        return edgeTargets[edgeIndex];
+    }
+
+    boolean isExclusiveGateway(int index) {
+        return exclusiveGateways[index];
+    }
+
+    /**
+     * 评估连线条件，源节点结果为Map时按字段绑定变量，否则绑定为value
+     */
+    boolean isEdgeActive(int edgeIndex, Object sourceResult) {
+        CompiledExpression condition = edgeConditions[edgeIndex];
+        if (condition == null) {
+            return true;
+        }
+        Map<String, Object> variables;
+        if (sourceResult instanceof Map) {
+            variables = (Map<String, Object>) sourceResult;
+        } else {
+            variables = Collections.singletonMap("value", sourceResult);
+        }
+        Object result = condition.evaluate(variables);
+        return Boolean.TRUE.equals(result);
+    }
+
+    private static CompiledExpression compileEdgeCondition(String condition) {
+        if (condition == null || condition.trim().isEmpty()) {
+            return null;
+        }
+        // 设计器中的 ${field} 转换为表达式引擎的 $field
+        return ExpressionCompiler.compile(EDGE_VARIABLE.matcher(condition).replaceAll("\\$$1"));
+    }
+
+    private static boolean isExclusiveGateway(ProcessNode node) {
+        if (!GATEWAY_NODE_TYPE.equals(node.getType())) {
+            return false;
+        }
+        if (node.getCompiledConfig() instanceof GatewayConfig) {
+            return ((GatewayConfig) node.getCompiledConfig()).isExclusive();
+        }
+        if (node.getConfig() == null) {
+            return false;
+        }
+        return "exclusive".equalsIgnoreCase(new JSONObject(node.getConfig()).optString("gatewayType"));
+    }
+
+    private void checkAcyclic() {
+        int[] remaining = new int[nodes.size()];
+        for (int i = 0; i < remaining.length; i++) {
+            remaining[i] = incomingEdges[i].length;
+        }
+        Deque<Integer> ready = new ArrayDeque<>();
+        for (int i = 0; i < remaining.length; i++) {
+            if (remaining[i] == 0) {
+                ready.add(i);
+            }
+        }
+        int visited = 0;
+        while (!ready.isEmpty()) {
+            int index = ready.poll();
+            visited++;
+            for (int edge : outgoingEdges[index]) {
+                if (--remaining[edgeTargets[edge]] == 0) {
+                    ready.add(edgeTargets[edge]);
+                }
+            }
+        }
+        if (visited != nodes.size()) {
+            throw new IllegalArgumentException("流程连线存在循环依赖");
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.apivisualization.engine;
+
+import com.example.apivisualization.engine.retry.RetryScheduler;
+import com.example.apivisualization.entity.ProcessNode;
+import com.example.apivisualization.http.AsyncApiClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 流程执行指标
+ * 节点耗时、重试次数和执行中数量通过Micrometer注册，由actuator的prometheus端点输出。
+ * 每个节点的计时器和计数器首次使用时创建并缓存，记录时只做一次Map查找，不构建标签也不经过日志
+ */
+@Component
+public class ProcessMetrics {
+    public static final String OUTCOME_SUCCESS = "SUCCESS";
+    public static final String OUTCOME_FAILED = "FAILED";
+    /**
+     * 融合执行的数据转换节点，记录的是所在融合段的整体耗时
+     */
+    public static final String OUTCOME_FUSED = "FUSED";
+
+    private static final String[] OUTCOMES = {OUTCOME_SUCCESS, OUTCOME_FAILED, OUTCOME_FUSED};
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AsyncApiClient asyncApiClient;
+
+    @Autowired
+    private RetryScheduler retryScheduler;
+
+    private final Map<Long, NodeMeters> nodeMeters = new ConcurrentHashMap<>();
+    private final Map<Long, Timer[]> processTimers = new ConcurrentHashMap<>();
+    private final AtomicInteger activeProcesses = new AtomicInteger();
+    private final AtomicInteger activeNodes = new AtomicInteger();
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("process.executions.active", activeProcesses, AtomicInteger::get)
+            .description("执行中的流程数")
+            .register(meterRegistry);
+        Gauge.builder("process.nodes.active", activeNodes, AtomicInteger::get)
+            .description("执行中的节点数")
+            .register(meterRegistry);
+        Gauge.builder("process.http.async.in.flight", asyncApiClient, AsyncApiClient::getInFlight)
+            .description("非阻塞API调用进行中的请求数")
+            .register(meterRegistry);
+        Gauge.builder("process.http.async.pending", asyncApiClient, AsyncApiClient::getPending)
+            .description("非阻塞API调用排队中的请求数")
+            .register(meterRegistry);
+        Gauge.builder("process.node.retries.pending", retryScheduler, RetryScheduler::getPendingRetries)
+            .description("等待退避时间到期的节点重试数")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 流程开始执行
+     */
+    public void processStarted() {
+        activeProcesses.incrementAndGet();
+    }
+
+    /**
+     * 流程执行结束
+     * @param processDefinitionId 流程定义ID
+     * @param success 是否成功
+     * @param durationNanos 耗时(纳秒)
+     */
+    public void processFinished(Long processDefinitionId, boolean success, long durationNanos) {
+        activeProcesses.decrementAndGet();
+        if (processDefinitionId == null) {
+            return;
+        }
+        Timer[] timers = processTimers.computeIfAbsent(processDefinitionId, id -> new Timer[]{
+            processTimer(id, OUTCOME_SUCCESS), processTimer(id, OUTCOME_FAILED)});
+        timers[success ? 0 : 1].record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 节点开始执行
+     */
+    public void nodeStarted() {
+        activeNodes.incrementAndGet();
+    }
+
+    /**
+     * 节点执行结束，与nodeStarted成对调用
+     * @param node 流程节点
+     * @param outcome 执行结果：SUCCESS、FAILED
+     * @param durationNanos 耗时(纳秒)
+     */
+    public void nodeFinished(ProcessNode node, String outcome, long durationNanos) {
+        activeNodes.decrementAndGet();
+        recordNode(node, outcome, durationNanos);
+    }
+
+    /**
+     * 记录节点耗时，不影响执行中节点数
+     * @param node 流程节点
+     * @param outcome 执行结果：SUCCESS、FAILED、FUSED
+     * @param durationNanos 耗时(纳秒)
+     */
+    public void recordNode(ProcessNode node, String outcome, long durationNanos) {
+        NodeMeters meters = getNodeMeters(node);
+        if (meters != null) {
+            meters.timer(outcome).record(durationNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 记录节点重试
+     * @param node 流程节点
+     */
+    public void recordRetry(ProcessNode node) {
+        NodeMeters meters = getNodeMeters(node);
+        if (meters != null) {
+            meters.retries.increment();
+        }
+    }
+
+    /**
+     * 清除节点指标，节点删除时调用
+     * @param nodeId 节点ID
+     */
+    public void evictNode(Long nodeId) {
+        NodeMeters meters = nodeId != null ? nodeMeters.remove(nodeId) : null;
+        if (meters != null) {
+            meters.remove(meterRegistry);
+        }
+    }
+
+    private NodeMeters getNodeMeters(ProcessNode node) {
+        if (node.getId() == null) {
+            return null;
+        }
+        NodeMeters meters = nodeMeters.get(node.getId());
+        if (meters != null && meters.matches(node)) {
+            return meters;
+        }
+        // 节点类型或所属流程变化后按新标签重新注册
+        NodeMeters created = new NodeMeters(node, meterRegistry);
+        NodeMeters previous = nodeMeters.put(node.getId(), created);
+        if (previous != null && previous != created && !previous.matches(node)) {
+            previous.remove(meterRegistry);
+        }
+        return created;
+    }
+
+    private Timer processTimer(Long processDefinitionId, String outcome) {
+        return Timer.builder("process.execution.duration")
+            .description("流程执行耗时")
+            .tags("definitionId", String.valueOf(processDefinitionId), "outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    /**
+     * 单个节点的计时器和重试计数器
+     */
+    private static final class NodeMeters {
+        private final Long processDefinitionId;
+        private final String nodeType;
+        private final Timer[] timers = new Timer[OUTCOMES.length];
+        private final Counter retries;
+
+        NodeMeters(ProcessNode node, MeterRegistry registry) {
+            this.processDefinitionId = node.getProcessDefinitionId();
+            this.nodeType = node.getType();
+            Tags tags = Tags.of("definitionId", String.valueOf(processDefinitionId),
+                "nodeId", String.valueOf(node.getId()), "nodeType", String.valueOf(nodeType));
+            for (int i = 0; i < OUTCOMES.length; i++) {
+                timers[i] = Timer.builder("process.node.duration")
+                    .description("流程节点执行耗时")
+                    .tags(tags)
+                    .tag("outcome", OUTCOMES[i])
+                    .register(registry);
+            }
+            this.retries = Counter.builder("process.node.retries")
+                .description("流程节点重试次数")
+                .tags(tags)
+                .register(registry);
+        }
+
+        boolean matches(ProcessNode node) {
+            return Objects.equals(processDefinitionId, node.getProcessDefinitionId())
+                && Objects.equals(nodeType, node.getType());
+        }
+
+        Timer timer(String outcome) {
+            for (int i = 0; i < OUTCOMES.length; i++) {
+                if (OUTCOMES[i].equals(outcome)) {
+                    return timers[i];
+                }
+            }
+            throw new IllegalArgumentException("不支持的节点执行结果: " + outcome);
+        }
+
+        void remove(MeterRegistry registry) {
+            for (Timer timer : timers) {
+                registry.remove(timer);
+            }
+            registry.remove(retries);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.apivisualization.engine;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * 流程异步执行记录
+ */
+@Data
+public class ProcessRun {
+    /**
+     * 执行状态：排队中
+     */
+    public static final String STATUS_QUEUED = "QUEUED";
+
+    /**
+     * 执行状态：执行中
+     */
+    public static final String STATUS_RUNNING = "RUNNING";
+
+    /**
+     * 执行状态：执行成功
+     */
+    public static final String STATUS_SUCCESS = "SUCCESS";
+
+    /**
+     * 执行状态：执行失败
+     */
+    public static final String STATUS_FAILED = "FAILED";
+
+    private String runId;
+
+    private Long processDefinitionId;
+
+    private volatile String status;
+
+    private Date submitTime;
+
+    private volatile Date startTime;
+
+    private volatile Date endTime;
+
+    private volatile String errorMessage;
+
+    /**
+     * 执行结果，通过结果查询接口单独获取
+     */
+    @JsonIgnore
+    private volatile Object result;
+
+    /**
+     * 是否已结束
+     */
+    @JsonIgnore
+    public boolean isFinished() {
+        return STATUS_SUCCESS.equals(status) || STATUS_FAILED.equals(status);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.apivisualization.engine;
+
+import com.example.apivisualization.config.ProcessRunProperties;
+import com.example.apivisualization.service.ProcessService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 流程异步执行管理
+ * 流程提交到独立的有界线程池执行，请求线程立即返回执行ID，通过执行ID查询状态和结果。
+ * 执行记录保存在内存中，按数量和保留时间淘汰已结束的记录
+ */
+@Component
+public class ProcessRunManager {
+    @Autowired
+    private ProcessService processService;
+
+    @Autowired
+    private ThreadPoolTaskExecutor processRunExecutor;
+
+    @Autowired
+    private ProcessRunProperties processRunProperties;
+
+    private final Map<String, ProcessRun> runs = new LinkedHashMap<>();
+
+    /**
+     * 异步执行流程
+     * @param processDefinitionId 流程定义ID
+     * @param parameters 执行参数
+     * @return 执行记录
+     * @throws TaskRejectedException 执行队列已满
+     */
+    public ProcessRun submit(Long processDefinitionId, Object parameters) {
+        ProcessRun run = new ProcessRun();
+        run.setRunId(UUID.randomUUID().toString().replace("-", ""));
+        run.setProcessDefinitionId(processDefinitionId);
+        run.setStatus(ProcessRun.STATUS_QUEUED);
+        run.setSubmitTime(new Date());
+
+        synchronized (runs) {
+            purge();
+            runs.put(run.getRunId(), run);
+        }
+        try {
+            processRunExecutor.execute(() -> execute(run, parameters));
+        } catch (TaskRejectedException e) {
+            synchronized (runs) {
+                runs.remove(run.getRunId());
+            }
+            throw e;
+        }
+        return run;
+    }
+
+    /**
+     * 异步执行流程并返回结果Future，用于Spring MVC异步请求
+     * @param processDefinitionId 流程定义ID
+     * @param parameters 执行参数
+     * @return 执行结果Future
+     */
+    public CompletableFuture<Object> submitForResult(Long processDefinitionId, Object parameters) {
+        return CompletableFuture.supplyAsync(
+            () -> processService.executeProcess(processDefinitionId, parameters), processRunExecutor);
+    }
+
+    /**
+     * 获取执行记录
+     * @param runId 执行ID
+     * @return 执行记录，不存在或已过期时返回null
+     */
+    public ProcessRun getRun(String runId) {
+        synchronized (runs) {
+            return runs.get(runId);
+        }
+    }
+
+    private void execute(ProcessRun run, Object parameters) {
+        run.setStartTime(new Date());
+        run.setStatus(ProcessRun.STATUS_RUNNING);
+        String status;
+        try {
+            Object result = processService.executeProcess(run.getProcessDefinitionId(), parameters);
+            run.setResult(result);
+            // 节点执行失败时最终结果为异常对象
+            if (result instanceof Exception) {
+                run.setErrorMessage(((Exception) result).getMessage());
+                status = ProcessRun.STATUS_FAILED;
+            } else {
+                status = ProcessRun.STATUS_SUCCESS;
+            }
+        } catch (Exception e) {
+            run.setErrorMessage(e.getMessage());
+            status = ProcessRun.STATUS_FAILED;
+        }
+        // 先设置结束时间再更新状态，保证已结束的记录一定有结束时间
+        run.setEndTime(new Date());
+        run.setStatus(status);
+    }
+
+    /**
+     * 淘汰过期或超出数量上限的已结束记录
+     */
+    private void purge() {
+        long expireBefore = System.currentTimeMillis() - processRunProperties.getRetention();
+        int overflow = runs.size() - processRunProperties.getMaxRetained();
+        Iterator<ProcessRun> iterator = runs.values().iterator();
+        while (iterator.hasNext()) {
+            ProcessRun run = iterator.next();
+            // 记录按提交顺序排列，提交时间晚于过期时间点的记录不可能已过期
+            if (overflow <= 0 && run.getSubmitTime().getTime() >= expireBefore) {
+                break;
+            }
+            if (!run.isFinished()) {
+                continue;
+            }
+            if (overflow > 0) {
+                iterator.remove();
+                overflow--;
+            } else if (run.getEndTime().getTime() < expireBefore) {
+                iterator.remove();
+            }
+        }
+    }
+}
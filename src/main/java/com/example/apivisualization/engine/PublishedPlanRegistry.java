@@ -0,0 +1,74 @@
+package com.example.apivisualization.engine;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 已发布流程的执行计划注册表
+ * 每个流程定义对应一个AtomicReference，发布时整体替换为新计划，执行时只读引用，不加锁也不访问数据库。
+ * 只接受更高版本的计划，延迟加载的旧快照不会覆盖并发发布的新版本；
+ * 移除计划时保留已移除的版本号，停用前开始加载的快照不会在停用后重新发布
+ */
+@Component
+public class PublishedPlanRegistry {
+    private final Map<Long, AtomicReference<Entry>> plans = new ConcurrentHashMap<>();
+
+    /**
+     * 获取流程当前的执行计划
+     * @param processDefinitionId 流程定义ID
+     * @return 执行计划，流程未发布、已移除或尚未加载时返回null
+     */
+    public ExecutionPlan get(Long processDefinitionId) {
+        AtomicReference<Entry> entry = plans.get(processDefinitionId);
+        return entry != null ? entry.get().plan : null;
+    }
+
+    /**
+     * 发布执行计划，已有相同或更高版本的计划，或该版本已被移除时保留已有状态
+     * @param plan 执行计划
+     * @return 发布后生效的执行计划，该版本已被移除时返回null
+     */
+    public ExecutionPlan publish(ExecutionPlan plan) {
+        return plans.computeIfAbsent(plan.getProcessDefinitionId(), id -> new AtomicReference<>(Entry.EMPTY))
+            .accumulateAndGet(new Entry(plan, plan.getVersion()), (current, next) ->
+                next.version > current.version ? next : current).plan;
+    }
+
+    /**
+     * 移除流程的执行计划，流程删除后调用，之后任何版本都不再发布；进行中的执行继续使用已取得的计划
+     * @param processDefinitionId 流程定义ID
+     */
+    public void remove(Long processDefinitionId) {
+        remove(processDefinitionId, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 移除流程的执行计划，流程停用后调用；不高于该版本号的计划之后不再发布，
+     * 停用后重新发布的更高版本不受影响
+     * @param processDefinitionId 流程定义ID
+     * @param version 停用时的发布版本号
+     */
+    public void remove(Long processDefinitionId, int version) {
+        plans.computeIfAbsent(processDefinitionId, id -> new AtomicReference<>(Entry.EMPTY))
+            .accumulateAndGet(new Entry(null, version), (current, next) ->
+                next.version >= current.version ? next : current);
+    }
+
+    /**
+     * 注册表条目：当前计划(已移除时为null)及已发布或已移除的最高版本号
+     */
+    private static final class Entry {
+        static final Entry EMPTY = new Entry(null, Integer.MIN_VALUE);
+
+        final ExecutionPlan plan;
+        final int version;
+
+        Entry(ExecutionPlan plan, int version) {
+            this.plan = plan;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.apivisualization.engine.condition;
+
+/**
+ * 预编译的CONDITIONAL节点配置
+ * 不可变，编译后可被并发执行的流程共享
+ */
+public class CompiledCondition {
+    private final ConditionPredicate predicate;
+    private final Object trueValue;
+    private final Object falseValue;
+
+    public CompiledCondition(ConditionPredicate predicate, Object trueValue, Object falseValue) {
+        this.predicate = predicate;
+        this.trueValue = trueValue;
+        this.falseValue = falseValue;
+    }
+
+    /**
+     * 评估条件
+     */
+    public boolean test(Object parameters) {
+        return predicate.test(parameters);
+    }
+
+    /**
+     * 评估条件并返回对应的trueValue/falseValue
+     */
+    public Object evaluate(Object parameters) {
+        return predicate.test(parameters) ? trueValue : falseValue;
+    }
+}
@@ -0,0 +1,294 @@
+package com.example.apivisualization.engine.condition;
+
+import com.example.apivisualization.engine.row.CompactRow;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * CONDITIONAL节点条件编译器
+ * 将条件配置一次性编译为不可变的谓词树：正则预编译为Pattern，范围边界预解析为数值，
+ * 脚本预编译为CompiledScript，执行时只做谓词求值，不再读取JSON配置
+ */
+public final class ConditionCompiler {
+    private static final ScriptEngineManager SCRIPT_ENGINE_MANAGER = new ScriptEngineManager();
+
+    /**
+     * 每个脚本条件最多保留的空闲Bindings数，脚本求值为CPU密集操作，并发数不会长期超过CPU核数
+     */
+    private static final int MAX_IDLE_BINDINGS = Runtime.getRuntime().availableProcessors();
+
+    private ConditionCompiler() {
+    }
+
+    /**
+     * 编译条件节点配置
+     * @param config 节点配置
+     * @return 预编译条件
+     * @throws IllegalArgumentException 配置不合法
+     */
+    public static CompiledCondition compile(String config) {
+        JSONObject conditionConfig = new JSONObject(config);
+        ConditionPredicate predicate;
+        if ("COMPOSITE".equals(conditionConfig.optString("type", "SIMPLE"))) {
+            predicate = compileComposite(conditionConfig);
+        } else {
+            predicate = compileCondition(conditionConfig);
+        }
+        return new CompiledCondition(predicate,
+            unwrap(conditionConfig.opt("trueValue")), unwrap(conditionConfig.opt("falseValue")));
+    }
+
+    /**
+     * 编译单个条件
+     */
+    private static ConditionPredicate compileCondition(JSONObject condition) {
+        String type = condition.optString("type", "SIMPLE");
+        switch (type) {
+            case "COMPLEX":
+                return compileComplex(condition);
+            case "RANGE":
+                return compileRange(condition);
+            case "REGEX":
+                return compileRegex(condition);
+            case "SCRIPT":
+                return compileScript(condition);
+            case "COMPOSITE":
+                return compileComposite(condition);
+            default:
+                return compileSimple(condition);
+        }
+    }
+
+    /**
+     * 编译复合条件，子条件可以是任意类型
+     */
+    private static ConditionPredicate compileComposite(JSONObject config) {
+        JSONArray conditions = config.optJSONArray("conditions");
+        if (conditions == null) {
+            throw new IllegalArgumentException("复合条件缺少conditions配置");
+        }
+        boolean or = "OR".equalsIgnoreCase(config.optString("operator", "AND"));
+        ConditionPredicate[] predicates = new ConditionPredicate[conditions.length()];
+        for (int i = 0; i < conditions.length(); i++) {
+            predicates[i] = compileCondition(conditions.getJSONObject(i));
+        }
+        return combine(predicates, or);
+    }
+
+    /**
+     * 编译复杂逻辑条件，子条件均为简单条件
+     */
+    private static ConditionPredicate compileComplex(JSONObject config) {
+        JSONArray conditions = config.optJSONArray("conditions");
+        if (conditions == null || conditions.isEmpty()) {
+            return parameters -> false;
+        }
+        boolean or = "OR".equalsIgnoreCase(config.optString("logic", "AND"));
+        ConditionPredicate[] predicates = new ConditionPredicate[conditions.length()];
+        for (int i = 0; i < conditions.length(); i++) {
+            predicates[i] = compileSimple(conditions.getJSONObject(i));
+        }
+        return combine(predicates, or);
+    }
+
+    private static ConditionPredicate combine(ConditionPredicate[] predicates, boolean or) {
+        if (or) {
+            return parameters -> {
+                for (ConditionPredicate predicate : predicates) {
+                    if (predicate.test(parameters)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        }
+        return parameters -> {
+            for (ConditionPredicate predicate : predicates) {
+                if (!predicate.test(parameters)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    /**
+     * 编译简单条件
+     * Map类型参数按field取值比较，默认操作符为EXISTS；值类型参数直接比较，默认操作符为EQUALS
+     */
+    private static ConditionPredicate compileSimple(JSONObject config) {
+        String field = config.optString("field", null);
+        String operator = config.optString("operator", null);
+        Object expectedValue = unwrap(config.opt("value"));
+        String mapOperator = operator != null ? operator : "EXISTS";
+        String valueOperator = operator != null ? operator : "EQUALS";
+
+        return parameters -> {
+            if (parameters instanceof Map) {
+                Map<?, ?> paramMap = (Map<?, ?>) parameters;
+                Object actualValue = paramMap.get(field);
+                if (actualValue == null) {
+                    return false;
+                }
+                return compare(mapOperator, actualValue, expectedValue, true);
+            }
+            if (parameters == null) {
+                return false;
+            }
+            return compare(valueOperator, parameters, expectedValue, false);
+        };
+    }
+
+    private static boolean compare(String operator, Object actualValue, Object expectedValue, boolean existsByDefault) {
+        switch (operator) {
+            case "EQUALS":
+                return actualValue.equals(expectedValue);
+            case "NOT_EQUALS":
+                return !actualValue.equals(expectedValue);
+            case "CONTAINS":
+                return expectedValue != null && actualValue.toString().contains(expectedValue.toString());
+            case "STARTS_WITH":
+                return expectedValue != null && actualValue.toString().startsWith(expectedValue.toString());
+            case "ENDS_WITH":
+                return expectedValue != null && actualValue.toString().endsWith(expectedValue.toString());
+            default:
+                // EXISTS
+                return existsByDefault;
+        }
+    }
+
+    /**
+     * 编译范围条件，边界在编译时解析为数值
+     */
+    private static ConditionPredicate compileRange(JSONObject config) {
+        String field = config.optString("field", null);
+        boolean includeMin = config.optBoolean("includeMin", true);
+        boolean includeMax = config.optBoolean("includeMax", true);
+        Object minValue = unwrap(config.opt("min"));
+        Object maxValue = unwrap(config.opt("max"));
+        double min;
+        double max;
+        try {
+            min = minValue != null ? Double.parseDouble(minValue.toString()) : Double.NEGATIVE_INFINITY;
+            max = maxValue != null ? Double.parseDouble(maxValue.toString()) : Double.POSITIVE_INFINITY;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("范围条件边界必须为数字: min=" + minValue + ", max=" + maxValue, e);
+        }
+
+        return parameters -> {
+            // 紧凑行的数值列直接按下标读取基本类型，不装箱
+            if (parameters instanceof CompactRow) {
+                CompactRow row = (CompactRow) parameters;
+                int fieldIndex = row.getSchema().indexOf(field);
+                if (fieldIndex >= 0 && row.isNumericAt(fieldIndex)) {
+                    return inRange(row.doubleAt(fieldIndex), min, max, includeMin, includeMax);
+                }
+            }
+            Object value = fieldValue(parameters, field);
+            if (value == null) {
+                return false;
+            }
+            double numValue;
+            if (value instanceof Number) {
+                numValue = ((Number) value).doubleValue();
+            } else {
+                try {
+                    numValue = Double.parseDouble(value.toString());
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+            return inRange(numValue, min, max, includeMin, includeMax);
+        };
+    }
+
+    private static boolean inRange(double value, double min, double max, boolean includeMin, boolean includeMax) {
+        if (includeMin ? value < min : value <= min) {
+            return false;
+        }
+        return !(includeMax ? value > max : value >= max);
+    }
+
+    /**
+     * 编译正则条件，Pattern在编译时生成
+     */
+    private static ConditionPredicate compileRegex(JSONObject config) {
+        String field = config.optString("field", null);
+        Pattern pattern;
+        try {
+            pattern = Pattern.compile(config.getString("pattern"));
+        } catch (PatternSyntaxException e) {
+            throw new IllegalArgumentException("正则表达式不合法: " + e.getMessage(), e);
+        }
+
+        return parameters -> {
+            Object value = fieldValue(parameters, field);
+            return value != null && pattern.matcher(value.toString()).matches();
+        };
+    }
+
+    /**
+     * 编译脚本条件，脚本在编译时预编译
+     * Nashorn每次createBindings都会新建一套全局对象，耗时远高于一次求值，因此Bindings在求值后清空并放回池中复用，
+     * 同一时刻每个Bindings只被一个求值使用，预编译脚本可在多个流程间共享；脚本中var声明的全局变量清空后仍会保留。
+     * 脚本引擎为Nashorn：Java 11内置，JDK 15起需引入nashorn-core(-P java21已包含)
+     */
+    private static ConditionPredicate compileScript(JSONObject config) {
+        String script = config.getString("script");
+        ScriptEngine engine = SCRIPT_ENGINE_MANAGER.getEngineByName("javascript");
+        if (!(engine instanceof Compilable)) {
+            throw new IllegalArgumentException("当前运行环境没有JavaScript脚本引擎，无法使用SCRIPT条件: Java "
+                + System.getProperty("java.specification.version")
+                + "不再内置Nashorn，请使用-P java21构建或引入org.openjdk.nashorn:nashorn-core");
+        }
+        CompiledScript compiledScript;
+        try {
+            compiledScript = ((Compilable) engine).compile(script);
+        } catch (ScriptException e) {
+            throw new IllegalArgumentException("脚本条件编译失败: " + e.getMessage(), e);
+        }
+
+        BlockingQueue<Bindings> idleBindings = new ArrayBlockingQueue<>(MAX_IDLE_BINDINGS);
+        return parameters -> {
+            Bindings pooled = idleBindings.poll();
+            Bindings bindings = pooled != null ? pooled : engine.createBindings();
+            try {
+                if (parameters instanceof Map) {
+                    ((Map<?, ?>) parameters).forEach((k, v) -> bindings.put(String.valueOf(k), v));
+                } else {
+                    bindings.put("value", parameters);
+                }
+                return Boolean.TRUE.equals(compiledScript.eval(bindings));
+            } catch (ScriptException e) {
+                throw new RuntimeException("脚本条件评估失败: " + e.getMessage(), e);
+            } finally {
+                // 清除本次的参数后归还，池已满时丢弃
+                bindings.clear();
+                idleBindings.offer(bindings);
+            }
+        };
+    }
+
+    private static Object fieldValue(Object parameters, String field) {
+        if (!(parameters instanceof Map)) {
+            return null;
+        }
+        return ((Map<?, ?>) parameters).get(field);
+    }
+
+    private static Object unwrap(Object value) {
+        return JSONObject.NULL.equals(value) ? null : value;
+    }
+}
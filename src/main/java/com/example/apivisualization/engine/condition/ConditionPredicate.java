@@ -0,0 +1,14 @@
+package com.example.apivisualization.engine.condition;
+
+/**
+ * 预编译条件谓词
+ */
+@FunctionalInterface
+public interface ConditionPredicate {
+    /**
+     * 评估条件
+     * @param parameters 当前节点参数
+     * @return 条件是否成立
+     */
+    boolean test(Object parameters);
+}
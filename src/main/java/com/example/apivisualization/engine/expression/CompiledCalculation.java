@@ -0,0 +1,68 @@
+package com.example.apivisualization.engine.expression;
+
+import com.example.apivisualization.engine.row.CompactRow;
+import com.example.apivisualization.engine.row.RowSchema;
+
+import java.util.Map;
+
+/**
+ * 预编译的CALCULATION转换规则
+ * 目标字段与表达式一一对应，按规则定义顺序计算；目标字段在编译时生成行结构，
+ * 计算结果按该结构输出为CompactRow
+ */
+public class CompiledCalculation {
+    private final RowSchema schema;
+    private final CompiledExpression[] expressions;
+
+    public CompiledCalculation(String[] targetFields, CompiledExpression[] expressions) {
+        this.schema = RowSchema.of(targetFields);
+        this.expressions = expressions;
+    }
+
+    /**
+     * 获取计算结果的行结构，字段顺序与规则定义顺序一致
+     */
+    public RowSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * 对单行数据应用全部计算规则
+     * @param input 输入字段
+     * @return 计算结果
+     */
+    public Map<String, Object> apply(Map<String, Object> input) {
+        Object[] values = new Object[expressions.length];
+        evaluate(input, values);
+        return CompactRow.of(schema, values);
+    }
+
+    /**
+     * 按原字段计算全部表达式，结果按结构下标写入values
+     * @param input 输入字段
+     * @param values 计算结果，长度不小于字段数
+     */
+    public void evaluate(Map<String, Object> input, Object[] values) {
+        for (int i = 0; i < expressions.length; i++) {
+            values[i] = expressions[i].evaluate(input);
+        }
+    }
+
+    /**
+     * 在已持有的行上应用计算规则：先按原字段计算全部表达式，再以计算结果替换行内容
+     * @param row 融合转换中间行，由调用方独占
+     * @return 计算结果，只读的CompactRow不能原地修改，返回新行
+     */
+    public Map<String, Object> applyInPlace(Map<String, Object> row) {
+        if (row instanceof CompactRow) {
+            return apply(row);
+        }
+        Object[] values = new Object[expressions.length];
+        evaluate(row, values);
+        row.clear();
+        for (int i = 0; i < values.length; i++) {
+            row.put(schema.field(i), values[i]);
+        }
+        return row;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.apivisualization.engine.expression;
+
+import java.util.Map;
+
+/**
+ * 预编译表达式
+ * 表达式只在编译时解析一次，执行时直接按字段名从输入中取值计算
+ */
+@FunctionalInterface
+public interface CompiledExpression {
+    /**
+     * 计算表达式
+     * @param variables 输入字段，$var 引用按字段名绑定
+     * @return 计算结果
+     */
+    Object evaluate(Map<String, Object> variables);
+}
@@ -0,0 +1,513 @@
+package com.example.apivisualization.engine.expression;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * 轻量级表达式编译器
+ * 用于CALCULATION转换规则中的expression，语法为JavaScript表达式的子集：
+ * <ul>
+ *     <li>字段引用：$price、$user_id</li>
+ *     <li>字面量：数字、'字符串'、"字符串"、true、false、null</li>
+ *     <li>运算符：+ - * / %、== != === !== &gt; &gt;= &lt; &lt;=、&amp;&amp; || !、三元表达式 ?:、括号</li>
+ *     <li>函数：abs、round、floor、ceil、min、max(可带Math.前缀)</li>
+ * </ul>
+ * 不支持赋值、变量声明、属性或下标访问、数组与对象字面量以及上述以外的函数，编译时报错。
+ * 与原ScriptEngine实现保持一致：数字字符串按数字参与运算，任一操作数为非数字字符串时 + 为字符串拼接；
+ * === !== 不做布尔与数字、数字与文本之间的转换，数字字符串仍视为数字
+ */
+public final class ExpressionCompiler {
+
+    private ExpressionCompiler() {
+    }
+
+    /**
+     * 编译表达式
+     * @param expression 表达式文本
+     * @return 预编译表达式
+     * @throws IllegalArgumentException 表达式语法错误
+     */
+    public static CompiledExpression compile(String expression) {
+        if (expression == null || expression.trim().isEmpty()) {
+            throw new IllegalArgumentException("表达式不能为空");
+        }
+        Parser parser = new Parser(expression);
+        CompiledExpression compiled = parser.parseExpression();
+        parser.skipWhitespace();
+        if (!parser.isEnd()) {
+            throw parser.error("无法识别的字符 '" + parser.peek() + "'");
+        }
+        return compiled;
+    }
+
+    /**
+     * 递归下降解析器，解析时直接生成求值树
+     */
+    private static final class Parser {
+        private final String source;
+        private int pos;
+
+        Parser(String source) {
+            this.source = source;
+        }
+
+        CompiledExpression parseExpression() {
+            return parseTernary();
+        }
+
+        private CompiledExpression parseTernary() {
+            CompiledExpression condition = parseOr();
+            if (match('?')) {
+                CompiledExpression whenTrue = parseTernary();
+                expect(':');
+                CompiledExpression whenFalse = parseTernary();
+                return vars -> truthy(condition.evaluate(vars)) ? whenTrue.evaluate(vars) : whenFalse.evaluate(vars);
+            }
+            return condition;
+        }
+
+        private CompiledExpression parseOr() {
+            CompiledExpression left = parseAnd();
+            while (match("||")) {
+                CompiledExpression l = left;
+                CompiledExpression r = parseAnd();
+                left = vars -> truthy(l.evaluate(vars)) || truthy(r.evaluate(vars));
+            }
+            return left;
+        }
+
+        private CompiledExpression parseAnd() {
+            CompiledExpression left = parseEquality();
+            while (match("&&")) {
+                CompiledExpression l = left;
+                CompiledExpression r = parseEquality();
+                left = vars -> truthy(l.evaluate(vars)) && truthy(r.evaluate(vars));
+            }
+            return left;
+        }
+
+        private CompiledExpression parseEquality() {
+            CompiledExpression left = parseComparison();
+            while (true) {
+                CompiledExpression l = left;
+                // 先匹配较长的 === !==，否则 == != 会留下多余的 =
+                if (match("===")) {
+                    CompiledExpression r = parseComparison();
+                    left = vars -> strictEquals(l.evaluate(vars), r.evaluate(vars));
+                } else if (match("!==")) {
+                    CompiledExpression r = parseComparison();
+                    left = vars -> !strictEquals(l.evaluate(vars), r.evaluate(vars));
+                } else if (match("==")) {
+                    CompiledExpression r = parseComparison();
+                    left = vars -> looseEquals(l.evaluate(vars), r.evaluate(vars));
+                } else if (match("!=")) {
+                    CompiledExpression r = parseComparison();
+                    left = vars -> !looseEquals(l.evaluate(vars), r.evaluate(vars));
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        private CompiledExpression parseComparison() {
+            CompiledExpression left = parseAdditive();
+            while (true) {
+                CompiledExpression l = left;
+                if (match(">=")) {
+                    CompiledExpression r = parseAdditive();
+                    left = vars -> compare(l.evaluate(vars), r.evaluate(vars)) >= 0;
+                } else if (match("<=")) {
+                    CompiledExpression r = parseAdditive();
+                    left = vars -> compare(l.evaluate(vars), r.evaluate(vars)) <= 0;
+                } else if (match('>')) {
+                    CompiledExpression r = parseAdditive();
+                    left = vars -> compare(l.evaluate(vars), r.evaluate(vars)) > 0;
+                } else if (match('<')) {
+                    CompiledExpression r = parseAdditive();
+                    left = vars -> compare(l.evaluate(vars), r.evaluate(vars)) < 0;
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        private CompiledExpression parseAdditive() {
+            CompiledExpression left = parseMultiplicative();
+            while (true) {
+                CompiledExpression l = left;
+                if (match('+')) {
+                    CompiledExpression r = parseMultiplicative();
+                    left = vars -> add(l.evaluate(vars), r.evaluate(vars));
+                } else if (match('-')) {
+                    CompiledExpression r = parseMultiplicative();
+                    left = vars -> arithmetic(l.evaluate(vars), r.evaluate(vars), '-');
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        private CompiledExpression parseMultiplicative() {
+            CompiledExpression left = parseUnary();
+            while (true) {
+                CompiledExpression l = left;
+                char op;
+                if (match('*')) {
+                    op = '*';
+                } else if (match('/')) {
+                    op = '/';
+                } else if (match('%')) {
+                    op = '%';
+                } else {
+                    return left;
+                }
+                CompiledExpression r = parseUnary();
+                left = vars -> arithmetic(l.evaluate(vars), r.evaluate(vars), op);
+            }
+        }
+
+        private CompiledExpression parseUnary() {
+            if (match('-')) {
+                CompiledExpression operand = parseUnary();
+                return vars -> {
+                    Double value = toNumber(operand.evaluate(vars));
+                    return value == null ? null : normalize(-value);
+                };
+            }
+            if (match('!')) {
+                CompiledExpression operand = parseUnary();
+                return vars -> !truthy(operand.evaluate(vars));
+            }
+            if (match('+')) {
+                CompiledExpression operand = parseUnary();
+                return vars -> {
+                    Double value = toNumber(operand.evaluate(vars));
+                    return value == null ? null : normalize(value);
+                };
+            }
+            return parsePrimary();
+        }
+
+        private CompiledExpression parsePrimary() {
+            skipWhitespace();
+            if (isEnd()) {
+                throw error("表达式不完整");
+            }
+            char c = peek();
+            if (c == '(') {
+                pos++;
+                CompiledExpression inner = parseExpression();
+                expect(')');
+                return inner;
+            }
+            if (c == '$') {
+                pos++;
+                String name = readIdentifier();
+                if (name.isEmpty()) {
+                    throw error("$ 后缺少字段名");
+                }
+                return vars -> vars.get(name);
+            }
+            if (c == '\'' || c == '"') {
+                String literal = readString(c);
+                return vars -> literal;
+            }
+            if (Character.isDigit(c) || c == '.') {
+                Object literal = normalize(readNumber());
+                return vars -> literal;
+            }
+            if (Character.isLetter(c) || c == '_') {
+                String identifier = readIdentifier();
+                switch (identifier) {
+                    case "true":
+                        return vars -> Boolean.TRUE;
+                    case "false":
+                        return vars -> Boolean.FALSE;
+                    case "null":
+                        return vars -> null;
+                    case "Math":
+                        expect('.');
+                        return parseFunction(readIdentifier());
+                    default:
+                        return parseFunction(identifier);
+                }
+            }
+            throw error("无法识别的字符 '" + c + "'");
+        }
+
+        private CompiledExpression parseFunction(String name) {
+            expect('(');
+            List<CompiledExpression> args = new ArrayList<>();
+            if (!match(')')) {
+                do {
+                    args.add(parseExpression());
+                } while (match(','));
+                expect(')');
+            }
+            CompiledExpression[] argArray = args.toArray(new CompiledExpression[0]);
+            switch (name) {
+                case "abs":
+                    checkArity(name, argArray, 1);
+                    return vars -> unary(argArray[0].evaluate(vars), Math::abs);
+                case "round":
+                    checkArity(name, argArray, 1);
+                    return vars -> unary(argArray[0].evaluate(vars), v -> (double) Math.round(v));
+                case "floor":
+                    checkArity(name, argArray, 1);
+                    return vars -> unary(argArray[0].evaluate(vars), Math::floor);
+                case "ceil":
+                    checkArity(name, argArray, 1);
+                    return vars -> unary(argArray[0].evaluate(vars), Math::ceil);
+                case "min":
+                case "max":
+                    if (argArray.length == 0) {
+                        throw error("函数 " + name + " 至少需要一个参数");
+                    }
+                    boolean isMin = "min".equals(name);
+                    return vars -> {
+                        double result = isMin ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+                        for (CompiledExpression arg : argArray) {
+                            Double value = toNumber(arg.evaluate(vars));
+                            if (value == null) {
+                                return null;
+                            }
+                            result = isMin ? Math.min(result, value) : Math.max(result, value);
+                        }
+                        return normalize(result);
+                    };
+                default:
+                    throw error("不支持的函数: " + name);
+            }
+        }
+
+        private void checkArity(String name, CompiledExpression[] args, int expected) {
+            if (args.length != expected) {
+                throw error("函数 " + name + " 需要 " + expected + " 个参数");
+            }
+        }
+
+        private String readIdentifier() {
+            int start = pos;
+            while (!isEnd() && (Character.isLetterOrDigit(peek()) || peek() == '_')) {
+                pos++;
+            }
+            return source.substring(start, pos);
+        }
+
+        private double readNumber() {
+            int start = pos;
+            while (!isEnd() && (Character.isDigit(peek()) || peek() == '.')) {
+                pos++;
+            }
+            if (!isEnd() && (peek() == 'e' || peek() == 'E')) {
+                pos++;
+                if (!isEnd() && (peek() == '+' || peek() == '-')) {
+                    pos++;
+                }
+                while (!isEnd() && Character.isDigit(peek())) {
+                    pos++;
+                }
+            }
+            try {
+                return Double.parseDouble(source.substring(start, pos));
+            } catch (NumberFormatException e) {
+                throw error("数字格式错误: " + source.substring(start, pos));
+            }
+        }
+
+        private String readString(char quote) {
+            pos++;
+            StringBuilder sb = new StringBuilder();
+            while (!isEnd() && peek() != quote) {
+                char c = source.charAt(pos++);
+                if (c == '\\' && !isEnd()) {
+                    c = source.charAt(pos++);
+                }
+                sb.append(c);
+            }
+            if (isEnd()) {
+                throw error("字符串未闭合");
+            }
+            pos++;
+            return sb.toString();
+        }
+
+        private boolean match(char expected) {
+            skipWhitespace();
+            if (!isEnd() && peek() == expected) {
+                // 避免把 == != >= <= && || 拆成单字符运算符
+                if ((expected == '!' || expected == '>' || expected == '<') && next() == '=') {
+                    return false;
+                }
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean match(String expected) {
+            skipWhitespace();
+            if (source.startsWith(expected, pos)) {
+                pos += expected.length();
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char expected) {
+            skipWhitespace();
+            if (isEnd() || peek() != expected) {
+                throw error("缺少 '" + expected + "'");
+            }
+            pos++;
+        }
+
+        void skipWhitespace() {
+            while (!isEnd() && Character.isWhitespace(peek())) {
+                pos++;
+            }
+        }
+
+        boolean isEnd() {
+            return pos >= source.length();
+        }
+
+        char peek() {
+            return source.charAt(pos);
+        }
+
+        private char next() {
+            return pos + 1 < source.length() ? source.charAt(pos + 1) : '\0';
+        }
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("表达式解析失败: " + message + ", 位置: " + pos + ", 表达式: " + source);
+        }
+    }
+
+    private static Object unary(Object value, DoubleUnaryOperator op) {
+        Double number = toNumber(value);
+        return number == null ? null : normalize(op.applyAsDouble(number));
+    }
+
+    private static Object add(Object left, Object right) {
+        if (isText(left) || isText(right)) {
+            return String.valueOf(left) + right;
+        }
+        return arithmetic(left, right, '+');
+    }
+
+    private static Object arithmetic(Object left, Object right, char op) {
+        Double l = toNumber(left);
+        Double r = toNumber(right);
+        if (l == null || r == null) {
+            return null;
+        }
+        switch (op) {
+            case '+':
+                return normalize(l + r);
+            case '-':
+                return normalize(l - r);
+            case '*':
+                return normalize(l * r);
+            case '/':
+                return normalize(l / r);
+            default:
+                return normalize(l % r);
+        }
+    }
+
+    private static int compare(Object left, Object right) {
+        Double l = toNumber(left);
+        Double r = toNumber(right);
+        if (l != null && r != null) {
+            return Double.compare(l, r);
+        }
+        return String.valueOf(left).compareTo(String.valueOf(right));
+    }
+
+    private static boolean looseEquals(Object left, Object right) {
+        if (left == null || right == null) {
+            return left == right;
+        }
+        Double l = toNumber(left);
+        Double r = toNumber(right);
+        if (l != null && r != null) {
+            return l.doubleValue() == r.doubleValue();
+        }
+        return left.toString().equals(right.toString());
+    }
+
+    private static boolean strictEquals(Object left, Object right) {
+        if (left == null || right == null) {
+            return left == right;
+        }
+        if (left instanceof Boolean || right instanceof Boolean) {
+            return left.equals(right);
+        }
+        Double l = toNumber(left);
+        Double r = toNumber(right);
+        if (l != null || r != null) {
+            return l != null && r != null && l.doubleValue() == r.doubleValue();
+        }
+        return left.toString().equals(right.toString());
+    }
+
+    private static boolean truthy(Object value) {
+        if (value == null) {
+            return false;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        if (value instanceof Number) {
+            double d = ((Number) value).doubleValue();
+            return d != 0 && !Double.isNaN(d);
+        }
+        return !value.toString().isEmpty();
+    }
+
+    /**
+     * 非数字字符串视为文本
+     */
+    private static boolean isText(Object value) {
+        return value instanceof String && toNumber(value) == null;
+    }
+
+    private static Double toNumber(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value ? 1d : 0d;
+        }
+        if (value instanceof String) {
+            String text = ((String) value).trim();
+            if (text.isEmpty()) {
+                return null;
+            }
+            try {
+                return Double.parseDouble(text);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 与ScriptEngine保持一致：整数结果返回Integer/Long，其余返回Double
+     */
+    private static Object normalize(double value) {
+        if (value == Math.rint(value) && !Double.isInfinite(value)) {
+            if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                return (int) value;
+            }
+            if (value >= Long.MIN_VALUE && value <= Long.MAX_VALUE) {
+                return (long) value;
+            }
+        }
+        return value;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.apivisualization.engine.node;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+
+/**
+ * API_CALL节点配置
+ * 请求头在编译时合并为只读的HttpHeaders，执行时直接使用。
+ * 只有幂等请求在下游故障时自动重试：GET、HEAD、OPTIONS、PUT、DELETE默认幂等，
+ * POST、PATCH需在配置中声明"idempotent": true
+ */
+public final class ApiCallConfig implements NodeConfig {
+    private final String apiUrl;
+    private final HttpMethod method;
+    private final int timeout;
+    private final HttpHeaders headers;
+    private final long cacheTtlMs;
+    private final int cacheMaxEntries;
+    private final boolean idempotent;
+
+    ApiCallConfig(String apiUrl, HttpMethod method, int timeout, HttpHeaders headers, long cacheTtlMs, 
+                  int cacheMaxEntries, boolean idempotent) {
+        this.apiUrl = apiUrl;
+        this.method = method;
+        this.timeout = timeout;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        this.cacheTtlMs = cacheTtlMs;
+        this.cacheMaxEntries = cacheMaxEntries;
+        this.idempotent = idempotent;
+    }
+
+    public String getApiUrl() {
+        return apiUrl;
+    }
+
+    public HttpMethod getMethod() {
+        return method;
+    }
+
+    /**
+     * 请求超时时间(毫秒)
+     */
+    public int getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * 请求头，包含默认的Content-Type和自定义请求头，只读
+     */
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    /**
+     * 是否缓存响应，配置了cache.ttlMs时启用
+     */
+    public boolean isCacheEnabled() {
+        return cacheTtlMs > 0;
+    }
+
+    public long getCacheTtlMs() {
+        return cacheTtlMs;
+    }
+
+    public int getCacheMaxEntries() {
+        return cacheMaxEntries;
+    }
+
+    /**
+     * 请求是否幂等，非幂等请求失败后不自动重试
+     */
+    public boolean isIdempotent() {
+        return idempotent;
+    }
+}
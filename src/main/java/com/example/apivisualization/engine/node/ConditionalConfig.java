@@ -0,0 +1,18 @@
+package com.example.apivisualization.engine.node;
+
+import com.example.apivisualization.engine.condition.CompiledCondition;
+
+/**
+ * CONDITIONAL节点配置，条件编译为谓词树
+ */
+public final class ConditionalConfig implements NodeConfig {
+    private final CompiledCondition condition;
+
+    ConditionalConfig(CompiledCondition condition) {
+        this.condition = condition;
+    }
+
+    public CompiledCondition getCondition() {
+        return condition;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.apivisualization.engine.node;
+
+/**
+ * GATEWAY节点配置
+ */
+public final class GatewayConfig implements NodeConfig {
+    private final boolean exclusive;
+
+    GatewayConfig(boolean exclusive) {
+        this.exclusive = exclusive;
+    }
+
+    /**
+     * 是否为排他网关(gatewayType为exclusive)，只选择第一条满足条件的出边
+     */
+    public boolean isExclusive() {
+        return exclusive;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.apivisualization.engine.node;
+
+/**
+ * 编译后的节点配置
+ * 节点保存时由NodeConfigCompiler校验并编译，加载流程图时直接生成；
+ * 实现类均不可变，可被并发执行的流程共享，执行时不再读取JSON配置
+ */
+public interface NodeConfig {
+}
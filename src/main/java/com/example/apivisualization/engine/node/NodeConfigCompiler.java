@@ -0,0 +1,172 @@
+package com.example.apivisualization.engine.node;
+
+import com.example.apivisualization.engine.ProcessGraph;
+import com.example.apivisualization.engine.condition.ConditionCompiler;
+import com.example.apivisualization.engine.expression.CompiledCalculation;
+import com.example.apivisualization.engine.expression.CompiledExpression;
+import com.example.apivisualization.engine.expression.ExpressionCompiler;
+import com.example.apivisualization.engine.transform.RowTransforms;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 节点配置编译器
+ * 按节点类型校验JSON配置并编译为不可变的NodeConfig。节点保存时编译一次，
+ * 配置不合法时拒绝保存；加载流程图时对已校验的配置直接编译，执行时不再解析JSON。
+ * 设计器中的start、end、task等非引擎节点及尚未填写配置的节点保存时不编译
+ */
+public final class NodeConfigCompiler {
+    private static final int DEFAULT_TIMEOUT = 5000;
+    private static final int DEFAULT_CACHE_MAX_ENTRIES = 1000;
+    private static final Set<HttpMethod> IDEMPOTENT_METHODS = EnumSet.of(
+        HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.PUT, HttpMethod.DELETE, HttpMethod.TRACE);
+
+    private NodeConfigCompiler() {
+    }
+
+    /**
+     * 编译节点配置
+     * @param type 节点类型
+     * @param config 节点JSON配置
+     * @return 编译后的节点配置
+     * @throws IllegalArgumentException 节点类型不支持或配置不合法
+     */
+    public static NodeConfig compile(String type, String config) {
+        if (type == null || type.isEmpty()) {
+            throw new IllegalArgumentException("节点类型不能为空");
+        }
+        if (config == null) {
+            throw new IllegalArgumentException("节点配置不能为空");
+        }
+        try {
+            switch (type) {
+                case "API_CALL":
+                    return compileApiCall(new JSONObject(config));
+                case "DATA_TRANSFORM":
+                    return compileTransform(new JSONObject(config));
+                case "CONDITIONAL":
+                    return new ConditionalConfig(ConditionCompiler.compile(config));
+                case ProcessGraph.GATEWAY_NODE_TYPE:
+                    return new GatewayConfig(
+                        "exclusive".equalsIgnoreCase(new JSONObject(config).optString("gatewayType")));
+                default:
+                    throw new IllegalArgumentException("不支持的节点类型: " + type);
+            }
+        } catch (JSONException e) {
+            throw new IllegalArgumentException("节点配置格式错误: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 保存节点时编译配置
+     * 非引擎节点类型或尚未填写配置时返回null，节点按原样保存，发布或执行到该节点时再报告错误
+     * @param type 节点类型
+     * @param config 节点JSON配置
+     * @return 编译后的节点配置，不需要编译时返回null
+     * @throws IllegalArgumentException 节点类型为空或引擎节点的配置不合法
+     */
+    public static NodeConfig compileIfPresent(String type, String config) {
+        if (type == null || type.isEmpty()) {
+            throw new IllegalArgumentException("节点类型不能为空");
+        }
+        if (!isEngineType(type) || config == null || config.trim().isEmpty()) {
+            return null;
+        }
+        return compile(type, config);
+    }
+
+    /**
+     * 判断是否为流程引擎可执行的节点类型
+     */
+    public static boolean isEngineType(String type) {
+        return "API_CALL".equals(type) || "DATA_TRANSFORM".equals(type) || "CONDITIONAL".equals(type)
+            || ProcessGraph.GATEWAY_NODE_TYPE.equals(type);
+    }
+
+    private static ApiCallConfig compileApiCall(JSONObject apiConfig) {
+        String apiUrl = apiConfig.optString("apiUrl");
+        if (apiUrl.isEmpty()) {
+            throw new IllegalArgumentException("API调用节点缺少apiUrl配置");
+        }
+        String methodName = apiConfig.optString("method", "GET");
+        HttpMethod method = HttpMethod.resolve(methodName.toUpperCase());
+        if (method == null) {
+            throw new IllegalArgumentException("不支持的HTTP方法: " + methodName);
+        }
+        int timeout = apiConfig.optInt("timeout", DEFAULT_TIMEOUT);
+        if (timeout <= 0) {
+            throw new IllegalArgumentException("API调用超时时间必须大于0: " + timeout);
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        JSONObject headerConfig = apiConfig.optJSONObject("headers");
+        if (headerConfig != null) {
+            for (String key : headerConfig.keySet()) {
+                headers.add(key, headerConfig.getString(key));
+            }
+        }
+
+        // 配置了cache.ttlMs的节点缓存响应
+        long cacheTtlMs = 0;
+        int cacheMaxEntries = DEFAULT_CACHE_MAX_ENTRIES;
+        JSONObject cacheConfig = apiConfig.optJSONObject("cache");
+        if (cacheConfig != null) {
+            cacheTtlMs = Math.max(0, cacheConfig.optLong("ttlMs", 0));
+            cacheMaxEntries = cacheConfig.optInt("maxEntries", DEFAULT_CACHE_MAX_ENTRIES);
+            if (cacheTtlMs > 0 && cacheMaxEntries <= 0) {
+                throw new IllegalArgumentException("API响应缓存容量必须大于0: " + cacheMaxEntries);
+            }
+        }
+        // 非幂等请求需显式声明idempotent才会在下游故障时重试
+        boolean idempotent = apiConfig.optBoolean("idempotent", IDEMPOTENT_METHODS.contains(method));
+        return new ApiCallConfig(apiUrl, method, timeout, headers, cacheTtlMs, cacheMaxEntries, idempotent);
+    }
+
+    private static TransformConfig compileTransform(JSONObject transformConfig) {
+        String transformType = transformConfig.optString("type", "MAPPING");
+        switch (transformType) {
+            case "MAPPING":
+                // 字段映射转换
+                return new TransformConfig(transformType,
+                    RowTransforms.mapping(requireRules(transformConfig, transformType)));
+
+            case "FILTER":
+                // 字段过滤转换
+                return new TransformConfig(transformType, RowTransforms.filter(
+                    transformConfig.optJSONArray("includeFields"), transformConfig.optJSONArray("excludeFields")));
+
+            case "CALCULATION":
+                // 计算字段转换，表达式编译一次，列表中每行不再重复解析
+                return new TransformConfig(transformType, RowTransforms.calculation(
+                    compileCalculation(requireRules(transformConfig, transformType))));
+
+            default:
+                throw new IllegalArgumentException("不支持的数据转换类型: " + transformType);
+        }
+    }
+
+    private static JSONObject requireRules(JSONObject transformConfig, String transformType) {
+        JSONObject rules = transformConfig.optJSONObject("rules");
+        if (rules == null) {
+            throw new IllegalArgumentException(transformType + "转换缺少rules配置");
+        }
+        return rules;
+    }
+
+    private static CompiledCalculation compileCalculation(JSONObject calculationRules) {
+        String[] targetFields = calculationRules.keySet().toArray(new String[0]);
+        CompiledExpression[] expressions = new CompiledExpression[targetFields.length];
+        for (int i = 0; i < targetFields.length; i++) {
+            JSONObject rule = calculationRules.getJSONObject(targetFields[i]);
+            expressions[i] = ExpressionCompiler.compile(rule.getString("expression"));
+        }
+        return new CompiledCalculation(targetFields, expressions);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.apivisualization.engine.node;
+
+import com.example.apivisualization.engine.transform.RowTransform;
+
+/**
+ * DATA_TRANSFORM节点配置，转换规则编译为行级转换
+ */
+public final class TransformConfig implements NodeConfig {
+    private final String transformType;
+    private final RowTransform transform;
+
+    TransformConfig(String transformType, RowTransform transform) {
+        this.transformType = transformType;
+        this.transform = transform;
+    }
+
+    /**
+     * 转换类型：MAPPING、FILTER或CALCULATION
+     */
+    public String getTransformType() {
+        return transformType;
+    }
+
+    public RowTransform getTransform() {
+        return transform;
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.apivisualization.engine.retry;
+
+import com.example.apivisualization.config.ProcessRetryProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 节点重试调度器
+ * 重试按指数退避加随机抖动延迟执行，调度器在等待期间不占用线程：调度线程只负责计时，
+ * 到期后重试在独立的重试线程池中执行，线程池饱和时本次重试直接失败。按流程图执行的流程中节点线程在等待期间释放；
+ * 串行流程(未配置连线)的执行线程同步等待重试结果，退避期间仍被占用。每个流程定义有独立的重试预算(令牌桶)，
+ * 预算耗尽或全局等待重试数达到上限时不再重试，避免对故障下游形成重试风暴
+ */
+@Component
+public class RetryScheduler {
+    @Autowired
+    private ProcessRetryProperties processRetryProperties;
+
+    @Autowired
+    private ThreadPoolTaskExecutor processRetryExecutor;
+
+    private ScheduledThreadPoolExecutor scheduler;
+    private final Map<Long, RetryBudget> budgets = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingRetries = new AtomicInteger();
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        scheduler = new ScheduledThreadPoolExecutor(Math.max(processRetryProperties.getSchedulerThreads(), 1), runnable -> {
+            Thread thread = new Thread(runnable, "process-retry-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * 是否为可重试的下游故障：连接或读取异常、下游5xx响应
+     * 响应解析失败(异常链中包含JsonProcessingException，即使被ResourceAccessException或
+     * UncheckedIOException包装)重试也不会成功，不属于可重试故障。
+     * 只判断异常类型，请求是否幂等由调用方判断
+     * @param error 节点异常
+     * @return 是否可重试
+     */
+    public boolean isRetryable(Throwable error) {
+        boolean transientFailure = false;
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof JsonProcessingException) {
+                return false;
+            }
+            if (cause instanceof ResourceAccessException || cause instanceof HttpServerErrorException
+                || cause instanceof IOException) {
+                transientFailure = true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return transientFailure;
+    }
+
+    /**
+     * 尝试安排一次重试
+     * @param processDefinitionId 流程定义ID，用于扣减重试预算
+     * @param attempt 第几次重试，从1开始
+     * @param action 重试执行的动作，可以返回CompletableFuture
+     * @return 重试结果Future；预算耗尽或等待重试数已满时返回null
+     */
+    public CompletableFuture<Object> schedule(Long processDefinitionId, int attempt, Supplier<Object> action) {
+        if (pendingRetries.incrementAndGet() > processRetryProperties.getMaxPendingRetries()) {
+            pendingRetries.decrementAndGet();
+            return null;
+        }
+        if (!budget(processDefinitionId).tryAcquire()) {
+            pendingRetries.decrementAndGet();
+            return null;
+        }
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        try {
+            scheduler.schedule(() -> {
+                pendingRetries.decrementAndGet();
+                try {
+                    processRetryExecutor.execute(() -> run(action, future));
+                } catch (RejectedExecutionException e) {
+                    future.completeExceptionally(e);
+                }
+            }, nextDelay(attempt), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // 调度器已关闭
+            pendingRetries.decrementAndGet();
+            return null;
+        }
+        return future;
+    }
+
+    /**
+     * 计算第attempt次重试的等待时间
+     * @param attempt 第几次重试，从1开始
+     * @return 等待时间(毫秒)
+     */
+    long nextDelay(int attempt) {
+        double delay = processRetryProperties.getRetryInterval()
+            * Math.pow(processRetryProperties.getMultiplier(), Math.max(attempt - 1, 0));
+        delay = Math.min(delay, processRetryProperties.getMaxRetryInterval());
+        double jitter = Math.min(Math.max(processRetryProperties.getJitter(), 0), 1);
+        return (long) (delay * (1 - jitter * ThreadLocalRandom.current().nextDouble()));
+    }
+
+    /**
+     * 默认的单节点最大重试次数
+     */
+    public int getMaxRetryTimes() {
+        return processRetryProperties.getMaxRetryTimes();
+    }
+
+    /**
+     * 当前等待中的重试数
+     */
+    public int getPendingRetries() {
+        return pendingRetries.get();
+    }
+
+    /**
+     * 流程定义当前剩余的重试预算
+     */
+    public double getRemainingBudget(Long processDefinitionId) {
+        return budget(processDefinitionId).available();
+    }
+
+    private RetryBudget budget(Long processDefinitionId) {
+        Long key = processDefinitionId != null ? processDefinitionId : 0L;
+        return budgets.computeIfAbsent(key, id -> new RetryBudget(
+            processRetryProperties.getBudgetCapacity(), processRetryProperties.getBudgetRefillPerSecond()));
+    }
+
+    private static void run(Supplier<Object> action, CompletableFuture<Object> future) {
+        try {
+            Object result = action.get();
+            if (result instanceof CompletableFuture) {
+                ((CompletableFuture<?>) result).whenComplete((value, error) -> {
+                    if (error == null) {
+                        future.complete(value);
+                    } else {
+                        future.completeExceptionally(
+                            error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+                    }
+                });
+            } else {
+                future.complete(result);
+            }
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * 令牌桶形式的重试预算
+     */
+    private static final class RetryBudget {
+        private final double capacity;
+        private final double refillPerNano;
+        private double tokens;
+        private long lastRefill = System.nanoTime();
+
+        RetryBudget(int capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerNano = refillPerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.tokens = capacity;
+        }
+
+        synchronized boolean tryAcquire() {
+            refill();
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+
+        synchronized double available() {
+            refill();
+            return tokens;
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+            lastRefill = now;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.apivisualization.engine.row;
+
+/**
+ * RowBatch的列存储
+ * 整列均为Integer、Long或Double时按基本类型数组保存，不再为每个值保留包装对象；
+ * 其他列按Object数组保存，缺失的字段用ABSENT标记，与值为null的字段区分
+ */
+public abstract class Column {
+    /**
+     * 缺失字段标记
+     */
+    public static final Object ABSENT = new Object();
+
+    /**
+     * 获取行的值
+     * @param row 行号
+     * @return 字段值，字段缺失时返回ABSENT
+     */
+    public abstract Object get(int row);
+
+    /**
+     * 是否为基本类型数值列
+     */
+    public boolean isNumeric() {
+        return false;
+    }
+
+    /**
+     * 读取数值列的值，不装箱
+     * @param row 行号
+     */
+    public double getDouble(int row) {
+        throw new UnsupportedOperationException("非数值列");
+    }
+
+    /**
+     * 由列值创建列，值类型一致的数值列转换为基本类型数组
+     * @param values 列值，缺失字段为ABSENT；Object列直接引用该数组
+     */
+    public static Column of(Object[] values) {
+        if (values.length == 0) {
+            return new ObjectColumn(values);
+        }
+        Class<?> type = values[0] != null ? values[0].getClass() : null;
+        if (type != Integer.class && type != Long.class && type != Double.class) {
+            return new ObjectColumn(values);
+        }
+        for (Object value : values) {
+            if (value == null || value.getClass() != type) {
+                return new ObjectColumn(values);
+            }
+        }
+        if (type == Integer.class) {
+            int[] ints = new int[values.length];
+            for (int i = 0; i < ints.length; i++) {
+                ints[i] = (Integer) values[i];
+            }
+            return new IntColumn(ints);
+        } else if (type == Long.class) {
+            long[] longs = new long[values.length];
+            for (int i = 0; i < longs.length; i++) {
+                longs[i] = (Long) values[i];
+            }
+            return new LongColumn(longs);
+        }
+        double[] doubles = new double[values.length];
+        for (int i = 0; i < doubles.length; i++) {
+            doubles[i] = (Double) values[i];
+        }
+        return new DoubleColumn(doubles);
+    }
+
+    /**
+     * 全部行都缺失该字段的列
+     */
+    public static Column absent() {
+        return AbsentColumn.INSTANCE;
+    }
+
+    private static final class ObjectColumn extends Column {
+        private final Object[] values;
+
+        ObjectColumn(Object[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Object get(int row) {
+            return values[row];
+        }
+    }
+
+    private static final class IntColumn extends Column {
+        private final int[] values;
+
+        IntColumn(int[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        public boolean isNumeric() {
+            return true;
+        }
+
+        @Override
+        public double getDouble(int row) {
+            return values[row];
+        }
+    }
+
+    private static final class LongColumn extends Column {
+        private final long[] values;
+
+        LongColumn(long[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        public boolean isNumeric() {
+            return true;
+        }
+
+        @Override
+        public double getDouble(int row) {
+            return values[row];
+        }
+    }
+
+    private static final class DoubleColumn extends Column {
+        private final double[] values;
+
+        DoubleColumn(double[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        public boolean isNumeric() {
+            return true;
+        }
+
+        @Override
+        public double getDouble(int row) {
+            return values[row];
+        }
+    }
+
+    private static final class AbsentColumn extends Column {
+        private static final AbsentColumn INSTANCE = new AbsentColumn();
+
+        @Override
+        public Object get(int row) {
+            return ABSENT;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.apivisualization.engine.row;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * 紧凑行：按RowSchema下标保存字段值的只读Map
+ * 字段名由结构共享，行本身只保存值数组(或指向RowBatch的某一行)，
+ * 取值按字段下标读取；对外仍是普通Map，序列化和表达式取值无需转换
+ */
+public abstract class CompactRow extends AbstractMap<String, Object> {
+    protected final RowSchema schema;
+
+    protected CompactRow(RowSchema schema) {
+        this.schema = schema;
+    }
+
+    /**
+     * 由值数组创建行
+     * @param schema 行结构
+     * @param values 按结构下标排列的值，缺失字段为Column.ABSENT；行直接引用该数组
+     */
+    public static CompactRow of(RowSchema schema, Object[] values) {
+        return new ArrayRow(schema, values);
+    }
+
+    /**
+     * 获取行结构
+     */
+    public RowSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * 按字段下标取值
+     * @return 字段值，字段缺失时返回Column.ABSENT
+     */
+    public abstract Object valueAt(int fieldIndex);
+
+    /**
+     * 字段是否为基本类型数值，为true时可以用doubleAt不装箱读取
+     */
+    public boolean isNumericAt(int fieldIndex) {
+        return false;
+    }
+
+    /**
+     * 按字段下标读取数值，仅isNumericAt为true时可用
+     */
+    public double doubleAt(int fieldIndex) {
+        throw new UnsupportedOperationException("非数值字段: " + schema.field(fieldIndex));
+    }
+
+    /**
+     * 按字段名取值
+     * @return 字段值，字段缺失时返回Column.ABSENT
+     */
+    public Object lookup(Object field) {
+        int fieldIndex = schema.indexOf(field);
+        return fieldIndex >= 0 ? valueAt(fieldIndex) : Column.ABSENT;
+    }
+
+    @Override
+    public Object get(Object key) {
+        Object value = lookup(key);
+        return value != Column.ABSENT ? value : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return lookup(key) != Column.ABSENT;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < schema.size(); i++) {
+            if (valueAt(i) != Column.ABSENT) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        return new AbstractSet<Map.Entry<String, Object>>() {
+            @Override
+            public Iterator<Map.Entry<String, Object>> iterator() {
+                return new Iterator<Map.Entry<String, Object>>() {
+                    private int next = advance(0);
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < schema.size();
+                    }
+
+                    @Override
+                    public Map.Entry<String, Object> next() {
+                        if (next >= schema.size()) {
+                            throw new NoSuchElementException();
+                        }
+                        Map.Entry<String, Object> entry =
+                            new SimpleImmutableEntry<>(schema.field(next), valueAt(next));
+                        next = advance(next + 1);
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return CompactRow.this.size();
+            }
+        };
+    }
+
+    private int advance(int from) {
+        int fieldIndex = from;
+        while (fieldIndex < schema.size() && valueAt(fieldIndex) == Column.ABSENT) {
+            fieldIndex++;
+        }
+        return fieldIndex;
+    }
+
+    /**
+     * 独立的行，值保存在数组中
+     */
+    private static final class ArrayRow extends CompactRow {
+        private final Object[] values;
+
+        ArrayRow(RowSchema schema, Object[] values) {
+            super(schema);
+            this.values = values;
+        }
+
+        @Override
+        public Object valueAt(int fieldIndex) {
+            return values[fieldIndex];
+        }
+    }
+
+    /**
+     * RowBatch中某一行的视图，不复制数据；游标可以移动行号，在逐行计算时复用同一实例
+     */
+    static final class BatchRow extends CompactRow {
+        private final Column[] columns;
+        private int row;
+
+        BatchRow(RowSchema schema, Column[] columns, int row) {
+            super(schema);
+            this.columns = columns;
+            this.row = row;
+        }
+
+        void moveTo(int row) {
+            this.row = row;
+        }
+
+        @Override
+        public Object valueAt(int fieldIndex) {
+            return columns[fieldIndex].get(row);
+        }
+
+        @Override
+        public boolean isNumericAt(int fieldIndex) {
+            return columns[fieldIndex].isNumeric();
+        }
+
+        @Override
+        public double doubleAt(int fieldIndex) {
+            return columns[fieldIndex].getDouble(row);
+        }
+    }
+}
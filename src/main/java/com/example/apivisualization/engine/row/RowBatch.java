@@ -0,0 +1,85 @@
+package com.example.apivisualization.engine.row;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * 按列保存的行列表
+ * 数据转换节点处理列表参数时输出RowBatch：字段名只在RowSchema中保存一份，
+ * 每个字段一列，数值列为基本类型数组。字段映射和过滤只重排列引用，不复制数据。
+ * 对外是只读的List，元素为CompactRow视图，序列化和逐项处理无需转换
+ */
+public final class RowBatch extends AbstractList<Object> implements RandomAccess {
+    private final RowSchema schema;
+    private final Column[] columns;
+    private final int size;
+
+    /**
+     * @param schema 行结构
+     * @param columns 与结构字段一一对应的列
+     * @param size 行数
+     */
+    public RowBatch(RowSchema schema, Column[] columns, int size) {
+        if (columns.length != schema.size()) {
+            throw new IllegalArgumentException("列数与字段数不一致: " + columns.length + " != " + schema.size());
+        }
+        this.schema = schema;
+        this.columns = columns;
+        this.size = size;
+    }
+
+    /**
+     * 获取行结构
+     */
+    public RowSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * 获取字段对应的列
+     * @param fieldIndex 字段下标
+     */
+    public Column column(int fieldIndex) {
+        return columns[fieldIndex];
+    }
+
+    /**
+     * 获取可移动的行游标，用于逐行计算时避免为每行创建视图
+     */
+    public Cursor cursor() {
+        return new Cursor(new CompactRow.BatchRow(schema, columns, 0));
+    }
+
+    @Override
+    public CompactRow get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return new CompactRow.BatchRow(schema, columns, index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 行游标，移动后返回的行视图指向新行，不能在移动后继续持有之前的行
+     */
+    public static final class Cursor {
+        private final CompactRow.BatchRow row;
+
+        private Cursor(CompactRow.BatchRow row) {
+            this.row = row;
+        }
+
+        /**
+         * 移动到指定行
+         * @return 指向该行的视图
+         */
+        public CompactRow moveTo(int index) {
+            row.moveTo(index);
+            return row;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.apivisualization.engine.row;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 行结构：字段名字典
+ * 同一组字段名只保存一份，所有CompactRow和RowBatch按下标引用字段；
+ * 相同字段序列的结构会被复用，不随行数增长
+ */
+public final class RowSchema {
+    /**
+     * 复用的结构数量上限，超出后新结构不再缓存
+     */
+    private static final int MAX_INTERNED = 10000;
+
+    private static final Map<String, RowSchema> INTERNED = new ConcurrentHashMap<>();
+
+    private final String[] fields;
+    private final Map<String, Integer> index;
+
+    private RowSchema(String[] fields) {
+        this.fields = fields;
+        this.index = new HashMap<>(fields.length * 2);
+        for (int i = 0; i < fields.length; i++) {
+            if (index.putIfAbsent(fields[i], i) != null) {
+                throw new IllegalArgumentException("字段名重复: " + fields[i]);
+            }
+        }
+    }
+
+    /**
+     * 获取字段序列对应的结构，相同字段序列返回同一实例
+     * @param fields 字段名，不能重复
+     */
+    public static RowSchema of(String... fields) {
+        String key = String.join("\u0000", fields);
+        RowSchema schema = INTERNED.get(key);
+        if (schema != null) {
+            return schema;
+        }
+        schema = new RowSchema(fields.clone());
+        if (INTERNED.size() < MAX_INTERNED) {
+            RowSchema existing = INTERNED.putIfAbsent(key, schema);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return schema;
+    }
+
+    /**
+     * 获取字段序列对应的结构
+     * @param fields 字段名，不能重复
+     */
+    public static RowSchema of(Collection<String> fields) {
+        return of(fields.toArray(new String[0]));
+    }
+
+    /**
+     * 字段数
+     */
+    public int size() {
+        return fields.length;
+    }
+
+    /**
+     * 获取下标对应的字段名
+     */
+    public String field(int fieldIndex) {
+        return fields[fieldIndex];
+    }
+
+    /**
+     * 获取字段下标
+     * @param field 字段名
+     * @return 字段下标，不存在时返回-1
+     */
+    public int indexOf(Object field) {
+        Integer fieldIndex = index.get(field);
+        return fieldIndex != null ? fieldIndex : -1;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(fields);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.apivisualization.engine.trace;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 一次流程执行的跟踪记录
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ExecutionTrace {
+    private String traceId;
+
+    private Long processDefinitionId;
+
+    /**
+     * 执行状态：SUCCESS 或 FAILED
+     */
+    private String status;
+
+    private Date startTime;
+
+    /**
+     * 耗时(毫秒)
+     */
+    private long costTime;
+
+    private Long failedNodeId;
+
+    private String error;
+
+    /**
+     * 按完成顺序排列的节点跟踪
+     */
+    private List<NodeTrace> nodes;
+}
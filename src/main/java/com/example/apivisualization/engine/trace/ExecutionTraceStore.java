@@ -0,0 +1,214 @@
+package com.example.apivisualization.engine.trace;
+
+import com.example.apivisualization.config.ProcessTraceProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 最近执行跟踪的环形缓冲区
+ * 只保留最近storeCapacity条记录，写满后覆盖最旧的记录；
+ * 配置spillFile时同时以JSON行追加写入本地文件，写文件在独立线程中进行，队列满时丢弃
+ */
+@Slf4j
+@Component
+public class ExecutionTraceStore {
+    @Autowired
+    private ProcessTraceProperties processTraceProperties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ExecutionTrace[] buffer;
+    private long written;
+
+    private ThreadPoolExecutor spillExecutor;
+    private BufferedWriter spillWriter;
+    private final AtomicLong spillDropped = new AtomicLong();
+
+    @PostConstruct
+    public void init() throws IOException {
+        buffer = new ExecutionTrace[Math.max(processTraceProperties.getStoreCapacity(), 1)];
+        if (!StringUtils.hasText(processTraceProperties.getSpillFile())) {
+            return;
+        }
+        Path spillPath = Paths.get(processTraceProperties.getSpillFile());
+        if (spillPath.getParent() != null) {
+            Files.createDirectories(spillPath.getParent());
+        }
+        spillWriter = Files.newBufferedWriter(spillPath, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        spillExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(processTraceProperties.getSpillQueueCapacity()),
+            runnable -> {
+                Thread thread = new Thread(runnable, "process-trace-spill");
+                thread.setDaemon(true);
+                return thread;
+            },
+            (runnable, executor) -> spillDropped.incrementAndGet());
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException, InterruptedException {
+        if (spillExecutor != null) {
+            spillExecutor.shutdown();
+            spillExecutor.awaitTermination(5, TimeUnit.SECONDS);
+            spillWriter.close();
+        }
+    }
+
+    /**
+     * 保存执行跟踪
+     * @param trace 执行跟踪
+     */
+    public void add(ExecutionTrace trace) {
+        synchronized (this) {
+            buffer[(int) (written % buffer.length)] = trace;
+            written++;
+        }
+        if (spillExecutor != null) {
+            spillExecutor.execute(() -> spill(trace));
+        }
+    }
+
+    /**
+     * 按执行ID查询跟踪
+     * @param traceId 执行ID
+     * @return 执行跟踪，已被覆盖时返回null
+     */
+    public ExecutionTrace get(String traceId) {
+        for (ExecutionTrace trace : snapshot()) {
+            if (trace.getTraceId().equals(traceId)) {
+                return trace;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 查询最近的执行跟踪，按时间倒序
+     * @param processDefinitionId 流程定义ID，为空时查询全部流程
+     * @param limit 最多返回条数
+     * @return 执行跟踪列表
+     */
+    public List<ExecutionTrace> list(Long processDefinitionId, int limit) {
+        List<ExecutionTrace> result = new ArrayList<>();
+        for (ExecutionTrace trace : snapshot()) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (processDefinitionId == null || processDefinitionId.equals(trace.getProcessDefinitionId())) {
+                result.add(trace);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 汇总流程最近执行中各节点的耗时
+     * @param processDefinitionId 流程定义ID
+     * @return 节点ID到耗时汇总的映射
+     */
+    public Map<Long, NodeLatency> nodeLatency(Long processDefinitionId) {
+        Map<Long, List<NodeTrace>> tracesByNode = new LinkedHashMap<>();
+        for (ExecutionTrace trace : list(processDefinitionId, Integer.MAX_VALUE)) {
+            for (NodeTrace nodeTrace : trace.getNodes()) {
+                if (nodeTrace.getCostTime() != null) {
+                    tracesByNode.computeIfAbsent(nodeTrace.getNodeId(), id -> new ArrayList<>()).add(nodeTrace);
+                }
+            }
+        }
+        Map<Long, NodeLatency> result = new HashMap<>();
+        tracesByNode.forEach((nodeId, nodeTraces) -> result.put(nodeId, summarize(nodeId, nodeTraces)));
+        return result;
+    }
+
+    /**
+     * 当前保留的跟踪数
+     */
+    public synchronized int size() {
+        return (int) Math.min(written, buffer.length);
+    }
+
+    /**
+     * 因写文件队列已满而未写入文件的跟踪数
+     */
+    public long getSpillDropped() {
+        return spillDropped.get();
+    }
+
+    /**
+     * 复制当前保留的跟踪，按时间倒序
+     */
+    private synchronized List<ExecutionTrace> snapshot() {
+        int size = (int) Math.min(written, buffer.length);
+        List<ExecutionTrace> result = new ArrayList<>(size);
+        for (long i = written - 1; i >= written - size; i--) {
+            result.add(buffer[(int) (i % buffer.length)]);
+        }
+        return result;
+    }
+
+    /**
+     * nodeTraces按时间倒序，第一条为最近一次执行
+     */
+    private static NodeLatency summarize(Long nodeId, List<NodeTrace> nodeTraces) {
+        long[] costTimes = new long[nodeTraces.size()];
+        long total = 0;
+        int failedCount = 0;
+        for (int i = 0; i < costTimes.length; i++) {
+            NodeTrace nodeTrace = nodeTraces.get(i);
+            costTimes[i] = nodeTrace.getCostTime();
+            total += costTimes[i];
+            if (Objects.equals(nodeTrace.getStatus(), "FAILED")) {
+                failedCount++;
+            }
+        }
+        Arrays.sort(costTimes);
+        NodeLatency latency = new NodeLatency();
+        latency.setNodeId(nodeId);
+        latency.setCount(costTimes.length);
+        latency.setFailedCount(failedCount);
+        latency.setAvgTime(total / costTimes.length);
+        latency.setP95Time(costTimes[(int) Math.ceil(costTimes.length * 0.95) - 1]);
+        latency.setMaxTime(costTimes[costTimes.length - 1]);
+        latency.setLastStatus(nodeTraces.get(0).getStatus());
+        return latency;
+    }
+
+    private void spill(ExecutionTrace trace) {
+        try {
+            spillWriter.write(objectMapper.writeValueAsString(trace));
+            spillWriter.newLine();
+            spillWriter.flush();
+        } catch (JsonProcessingException e) {
+            log.warn("执行跟踪序列化失败 - 执行ID: {}, 错误信息: {}", trace.getTraceId(), e.getMessage());
+        } catch (IOException e) {
+            log.warn("执行跟踪写入文件失败 - 执行ID: {}, 错误信息: {}", trace.getTraceId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.apivisualization.engine.trace;
+
+import com.example.apivisualization.config.ProcessTraceProperties;
+import com.example.apivisualization.context.ProcessExecutionContext;
+import com.example.apivisualization.entity.ProcessNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 流程节点执行跟踪
+ * 节点参数和结果只在按payloadMode采样命中或节点失败时才序列化，并按maxPayloadLength截断；
+ * 未采样的成功执行不做任何序列化。节点耗时和状态在流程结束时写入ExecutionTraceStore
+ */
+@Slf4j
+@Component
+public class ExecutionTracer {
+    @Autowired
+    private ProcessTraceProperties processTraceProperties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ExecutionTraceStore executionTraceStore;
+
+    private final AtomicLong runCounter = new AtomicLong();
+
+    /**
+     * 节点执行成功
+     * @param node 流程节点
+     * @param parameters 节点参数
+     * @param result 节点结果
+     * @param startNanos 节点开始时间(System.nanoTime)
+     * @param costNanos 耗时(纳秒)
+     * @param context 执行上下文
+     */
+    public void nodeCompleted(ProcessNode node, Object parameters, Object result, long startNanos, long costNanos,
+                              ProcessExecutionContext context) {
+        boolean sampled = isSampled(context);
+        long costTime = costNanos / 1_000_000;
+        int maxLength = processTraceProperties.getMaxPayloadLength();
+        if (log.isDebugEnabled()) {
+            if (sampled) {
+                log.debug("流程节点执行完成 - 节点ID: {}, 节点类型: {}, 耗时: {}ms, 参数: {}, 结果: {}",
+                    node.getId(), node.getType(), costTime,
+                    PayloadRenderer.lazy(objectMapper, parameters, maxLength),
+                    PayloadRenderer.lazy(objectMapper, result, maxLength));
+            } else {
+                log.debug("流程节点执行完成 - 节点ID: {}, 节点类型: {}, 耗时: {}ms", node.getId(), node.getType(), costTime);
+            }
+        }
+        if (processTraceProperties.isStoreEnabled()) {
+            NodeTrace nodeTrace = nodeTrace(node, "SUCCESS", startNanos, costNanos, context);
+            if (sampled) {
+                nodeTrace.setInput(PayloadRenderer.render(objectMapper, parameters, maxLength));
+                nodeTrace.setOutput(PayloadRenderer.render(objectMapper, result, maxLength));
+            }
+            context.addNodeTrace(nodeTrace);
+        }
+    }
+
+    /**
+     * 节点执行失败，除NONE模式外记录失败节点的参数
+     * @param node 流程节点
+     * @param parameters 节点参数
+     * @param e 异常
+     * @param startNanos 节点开始时间(System.nanoTime)
+     * @param costNanos 耗时(纳秒)
+     * @param context 执行上下文
+     */
+    public void nodeFailed(ProcessNode node, Object parameters, Exception e, long startNanos, long costNanos,
+                           ProcessExecutionContext context) {
+        long costTime = costNanos / 1_000_000;
+        boolean withPayload = !ProcessTraceProperties.PAYLOAD_MODE_NONE.equalsIgnoreCase(
+            processTraceProperties.getPayloadMode());
+        String input = withPayload
+            ? PayloadRenderer.render(objectMapper, parameters, processTraceProperties.getMaxPayloadLength()) : null;
+        if (withPayload) {
+            log.error("流程节点执行失败 - 节点ID: {}, 节点类型: {}, 耗时: {}ms, 参数: {}, 错误信息: {}",
+                node.getId(), node.getType(), costTime, input, e.getMessage(), e);
+        } else {
+            log.error("流程节点执行失败 - 节点ID: {}, 节点类型: {}, 耗时: {}ms, 错误信息: {}",
+                node.getId(), node.getType(), costTime, e.getMessage(), e);
+        }
+        if (processTraceProperties.isStoreEnabled()) {
+            NodeTrace nodeTrace = nodeTrace(node, "FAILED", startNanos, costNanos, context);
+            nodeTrace.setInput(input);
+            nodeTrace.setError(e.getMessage());
+            context.addNodeTrace(nodeTrace);
+        }
+    }
+
+    /**
+     * 连续的数据转换节点融合执行成功
+     * @param nodes 融合执行的节点
+     * @param startNanos 融合段开始时间(System.nanoTime)
+     * @param costNanos 融合段整体耗时(纳秒)
+     * @param context 执行上下文
+     */
+    public void nodesFused(List<ProcessNode> nodes, long startNanos, long costNanos, ProcessExecutionContext context) {
+        if (log.isDebugEnabled()) {
+            log.debug("数据转换节点融合执行完成 - 节点数: {}, 最后节点ID: {}, 耗时: {}ms",
+                nodes.size(), nodes.get(nodes.size() - 1).getId(), costNanos / 1_000_000);
+        }
+        if (processTraceProperties.isStoreEnabled()) {
+            for (ProcessNode node : nodes) {
+                NodeTrace nodeTrace = nodeTrace(node, "SUCCESS", startNanos, costNanos, context);
+                nodeTrace.setFused(Boolean.TRUE);
+                context.addNodeTrace(nodeTrace);
+            }
+        }
+    }
+
+    /**
+     * 流程执行结束，生成执行跟踪并保存
+     * @param processDefinitionId 流程定义ID
+     * @param nodes 流程的全部节点，未执行的节点记为SKIPPED
+     * @param context 执行上下文
+     */
+    public void processFinished(Long processDefinitionId, List<ProcessNode> nodes, ProcessExecutionContext context) {
+        if (!processTraceProperties.isStoreEnabled()) {
+            return;
+        }
+        long costTime = (System.nanoTime() - context.getStartNanos()) / 1_000_000;
+        List<NodeTrace> nodeTraces = context.getNodeTraces();
+        Set<Long> tracedNodeIds = new HashSet<>();
+        for (NodeTrace nodeTrace : nodeTraces) {
+            tracedNodeIds.add(nodeTrace.getNodeId());
+        }
+        for (ProcessNode node : nodes) {
+            if (!tracedNodeIds.contains(node.getId())) {
+                NodeTrace nodeTrace = new NodeTrace();
+                nodeTrace.setNodeId(node.getId());
+                nodeTrace.setNodeType(node.getType());
+                nodeTrace.setStatus("SKIPPED");
+                nodeTraces.add(nodeTrace);
+            }
+        }
+
+        ExecutionTrace trace = new ExecutionTrace();
+        trace.setTraceId(UUID.randomUUID().toString().replace("-", ""));
+        trace.setProcessDefinitionId(processDefinitionId);
+        trace.setStatus(context.getException() == null ? "SUCCESS" : "FAILED");
+        trace.setStartTime(new Date(System.currentTimeMillis() - costTime));
+        trace.setCostTime(costTime);
+        trace.setFailedNodeId(context.getFailedNode());
+        trace.setError(context.getException() != null ? context.getException().getMessage() : null);
+        trace.setNodes(nodeTraces);
+        executionTraceStore.add(trace);
+    }
+
+    private NodeTrace nodeTrace(ProcessNode node, String status, long startNanos, long costNanos,
+                                ProcessExecutionContext context) {
+        NodeTrace nodeTrace = new NodeTrace();
+        nodeTrace.setNodeId(node.getId());
+        nodeTrace.setNodeType(node.getType());
+        nodeTrace.setStatus(status);
+        nodeTrace.setStartOffset((startNanos - context.getStartNanos()) / 1_000_000);
+        nodeTrace.setCostTime(costNanos / 1_000_000);
+        return nodeTrace;
+    }
+
+    /**
+     * 本次流程执行是否采样，每次执行只判定一次
+     */
+    private boolean isSampled(ProcessExecutionContext context) {
+        Boolean sampled = context.getTraceSampled();
+        if (sampled == null) {
+            sampled = decideSampling();
+            context.setTraceSampled(sampled);
+        }
+        return sampled;
+    }
+
+    private boolean decideSampling() {
+        String payloadMode = processTraceProperties.getPayloadMode();
+        if (ProcessTraceProperties.PAYLOAD_MODE_ALL.equalsIgnoreCase(payloadMode)) {
+            return true;
+        }
+        if (ProcessTraceProperties.PAYLOAD_MODE_SAMPLED.equalsIgnoreCase(payloadMode)) {
+            int sampleRate = Math.max(processTraceProperties.getSampleRate(), 1);
+            return runCounter.getAndIncrement() % sampleRate == 0;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.apivisualization.engine.trace;
+
+import lombok.Data;
+
+/**
+ * 节点在最近执行中的耗时汇总，用于流程设计器叠加显示
+ */
+@Data
+public class NodeLatency {
+    private Long nodeId;
+
+    /**
+     * 参与统计的执行次数
+     */
+    private int count;
+
+    private int failedCount;
+
+    /**
+     * 平均耗时(毫秒)
+     */
+    private long avgTime;
+
+    /**
+     * 95分位耗时(毫秒)
+     */
+    private long p95Time;
+
+    private long maxTime;
+
+    /**
+     * 最近一次执行状态
+     */
+    private String lastStatus;
+}
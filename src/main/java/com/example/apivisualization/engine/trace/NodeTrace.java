@@ -0,0 +1,47 @@
+package com.example.apivisualization.engine.trace;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+/**
+ * 单个节点的执行跟踪
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class NodeTrace {
+    private Long nodeId;
+
+    private String nodeType;
+
+    /**
+     * 执行状态：SUCCESS、FAILED、SKIPPED(未执行的分支或失败后未执行的节点)
+     */
+    private String status;
+
+    /**
+     * 相对流程开始的时间偏移(毫秒)
+     */
+    private Long startOffset;
+
+    /**
+     * 耗时(毫秒)，融合执行的数据转换节点为所在融合段的整体耗时
+     */
+    private Long costTime;
+
+    /**
+     * 是否与相邻数据转换节点融合执行
+     */
+    private Boolean fused;
+
+    /**
+     * 截断后的节点参数，仅采样或失败时记录
+     */
+    private String input;
+
+    /**
+     * 截断后的节点结果，仅采样时记录
+     */
+    private String output;
+
+    private String error;
+}
@@ -0,0 +1,102 @@
+package com.example.apivisualization.engine.trace;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * 节点参数和结果的截断渲染
+ * 序列化写满最大长度后立即中止，超大结果不会被完整序列化
+ */
+public final class PayloadRenderer {
+    private static final String TRUNCATED_SUFFIX = "...(truncated)";
+
+    private PayloadRenderer() {
+    }
+
+    /**
+     * 渲染为截断后的JSON字符串
+     * @param objectMapper JSON序列化器
+     * @param value 参数或结果
+     * @param maxLength 最大字符数
+     * @return 渲染结果
+     */
+    public static String render(ObjectMapper objectMapper, Object value, int maxLength) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof JSONObject || value instanceof JSONArray) {
+            // org.json对象没有增量序列化，只能整体转换后截断
+            return truncate(value.toString(), maxLength);
+        }
+        BoundedWriter writer = new BoundedWriter(maxLength);
+        try {
+            objectMapper.writeValue(writer, value);
+        } catch (IOException e) {
+            if (!writer.isTruncated()) {
+                return String.valueOf(value);
+            }
+        }
+        return writer.isTruncated() ? writer.toString() + TRUNCATED_SUFFIX : writer.toString();
+    }
+
+    /**
+     * 创建延迟渲染的参数，只有在日志真正输出时才序列化
+     */
+    static Object lazy(ObjectMapper objectMapper, Object value, int maxLength) {
+        return new Object() {
+            @Override
+            public String toString() {
+                return render(objectMapper, value, maxLength);
+            }
+        };
+    }
+
+    static String truncate(String text, int maxLength) {
+        return text.length() <= maxLength ? text : text.substring(0, maxLength) + TRUNCATED_SUFFIX;
+    }
+
+    /**
+     * 写满后抛出异常中止序列化的Writer
+     */
+    private static final class BoundedWriter extends Writer {
+        private final StringBuilder buffer = new StringBuilder();
+        private final int maxLength;
+        private boolean truncated;
+
+        BoundedWriter(int maxLength) {
+            this.maxLength = maxLength;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            int remaining = maxLength - buffer.length();
+            if (length > remaining) {
+                buffer.append(chars, offset, Math.max(remaining, 0));
+                truncated = true;
+                throw new IOException("payload truncated");
+            }
+            buffer.append(chars, offset, length);
+        }
+
+        boolean isTruncated() {
+            return truncated;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return buffer.toString();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.apivisualization.engine.transform;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * 按顺序拼接多段转换结果的只读列表
+ * 并行转换的各段结果不再复制到一个新列表，按下标二分查找所在的段
+ */
+final class ChunkedList extends AbstractList<Object> implements RandomAccess {
+    private final List<List<Object>> chunks;
+    private final int[] offsets;
+    private final int size;
+
+    ChunkedList(List<List<Object>> chunks) {
+        this.chunks = new ArrayList<>(chunks);
+        this.offsets = new int[this.chunks.size()];
+        int total = 0;
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = total;
+            total += this.chunks.get(i).size();
+        }
+        this.size = total;
+    }
+
+    /**
+     * 追加一段结果，嵌套的ChunkedList展开为其中的各段
+     */
+    static void addChunks(List<List<Object>> target, List<Object> chunk) {
+        if (chunk instanceof ChunkedList) {
+            target.addAll(((ChunkedList) chunk).chunks);
+        } else if (!chunk.isEmpty()) {
+            target.add(chunk);
+        }
+    }
+
+    @Override
+    public Object get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        int chunk = Arrays.binarySearch(offsets, index);
+        if (chunk < 0) {
+            chunk = -chunk - 2;
+        }
+        return chunks.get(chunk).get(index - offsets[chunk]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
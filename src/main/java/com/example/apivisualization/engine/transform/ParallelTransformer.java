@@ -0,0 +1,120 @@
+package com.example.apivisualization.engine.transform;
+
+import com.example.apivisualization.config.ProcessTransformProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 数据转换并行执行器
+ * 行数达到阈值的列表按下标拆分到共享的ForkJoinPool上转换，各段结果按原顺序拼接；
+ * 所有流程共用一个线程池，并行度不随并发流程数增长，线程池已有积压时在当前线程顺序转换
+ */
+@Slf4j
+@Component
+public class ParallelTransformer {
+    @Autowired
+    private ProcessTransformProperties processTransformProperties;
+
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    public void init() {
+        int parallelism = processTransformProperties.getParallelism() > 0
+            ? processTransformProperties.getParallelism() : Runtime.getRuntime().availableProcessors();
+        pool = new ForkJoinPool(parallelism, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("process-transform-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 转换节点参数，大列表并行转换，其他参数与RowTransform.transform相同
+     * @param transform 行级转换
+     * @param parameters 节点参数
+     * @return 转换结果，列表结果与顺序转换的元素和顺序一致
+     */
+    public Object transform(RowTransform transform, Object parameters) {
+        if (!(parameters instanceof List) || !shouldSplit((List<?>) parameters)) {
+            return transform.transform(parameters);
+        }
+        // 只读视图，避免对元素类型未知的列表做unchecked转换
+        List<Object> rows = Collections.unmodifiableList((List<?>) parameters);
+        int chunkSize = Math.max(processTransformProperties.getMinChunkSize(),
+            rows.size() / (pool.getParallelism() * 4) + 1);
+        return pool.invoke(new TransformTask(transform, rows, 0, rows.size(), chunkSize));
+    }
+
+    /**
+     * 获取并行转换线程数
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    private boolean shouldSplit(List<?> rows) {
+        if (!processTransformProperties.isParallelEnabled()
+            || rows.size() < processTransformProperties.getParallelThreshold()
+            || !(rows instanceof RandomAccess)) {
+            return false;
+        }
+        // 其他流程的并行转换已占满线程池时不再排队，直接在当前线程转换
+        if (pool.getQueuedSubmissionCount() >= pool.getParallelism()) {
+            log.debug("并行转换线程池繁忙，顺序转换 - 行数: {}", rows.size());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 按下标区间二分拆分的转换任务
+     */
+    private static final class TransformTask extends RecursiveTask<List<Object>> {
+        private final RowTransform transform;
+        private final List<Object> rows;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        TransformTask(RowTransform transform, List<Object> rows, int from, int to, int chunkSize) {
+            this.transform = transform;
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected List<Object> compute() {
+            if (to - from <= chunkSize) {
+                return transform.applyList(rows.subList(from, to));
+            }
+            int mid = (from + to) >>> 1;
+            TransformTask right = new TransformTask(transform, rows, mid, to, chunkSize);
+            right.fork();
+            List<Object> left = new TransformTask(transform, rows, from, mid, chunkSize).compute();
+            List<List<Object>> chunks = new ArrayList<>();
+            ChunkedList.addChunks(chunks, left);
+            ChunkedList.addChunks(chunks, right.join());
+            return new ChunkedList(chunks);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.apivisualization.engine.transform;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 单行数据转换
+ * DATA_TRANSFORM节点的转换规则编译为行级转换后，可以整体作用于Map或List参数，
+ * 也可以在流式输出时逐行作用于列表元素
+ */
+@FunctionalInterface
+public interface RowTransform {
+    /**
+     * 转换单行数据
+     * @param row 输入行
+     * @return 转换后的新行
+     */
+    Map<String, Object> apply(Map<String, Object> row);
+
+    /**
+     * 在融合转换持有的中间行上转换，可以直接修改并返回传入的行
+     * 默认与apply相同，会分配新行
+     * @param row 中间行，由融合转换独占，不会被其他节点引用
+     * @return 转换后的行
+     */
+    default Map<String, Object> applyInPlace(Map<String, Object> row) {
+        return apply(row);
+    }
+
+    /**
+     * 转换单个元素，非Map元素原样返回
+     * @param item 列表元素
+     * @return 转换结果
+     */
+    default Object applyItem(Object item) {
+        if (item instanceof Map) {
+            return apply((Map<String, Object>) item);
+        }
+        return item;
+    }
+
+    /**
+     * 转换列表参数，默认逐项转换为新List
+     * @param rows 列表参数
+     * @return 转换结果
+     */
+    default List<Object> applyList(List<Object> rows) {
+        List<Object> result = new ArrayList<>(rows.size());
+        for (Object item : rows) {
+            result.add(applyItem(item));
+        }
+        return result;
+    }
+
+    /**
+     * 转换节点参数：Map参数转换为新Map，List参数转换为新List，简单类型参数原样返回
+     * @param parameters 节点参数
+     * @return 转换结果
+     */
+    default Object transform(Object parameters) {
+        if (parameters instanceof Map) {
+            return apply((Map<String, Object>) parameters);
+        } else if (parameters instanceof List) {
+            return applyList((List<Object>) parameters);
+        }
+        return parameters;
+    }
+}
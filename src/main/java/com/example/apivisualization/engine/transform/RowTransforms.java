@@ -0,0 +1,374 @@
+package com.example.apivisualization.engine.transform;
+
+import com.example.apivisualization.engine.expression.CompiledCalculation;
+import com.example.apivisualization.engine.row.Column;
+import com.example.apivisualization.engine.row.CompactRow;
+import com.example.apivisualization.engine.row.RowBatch;
+import com.example.apivisualization.engine.row.RowSchema;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * DATA_TRANSFORM节点行级转换工厂
+ * 转换规则在创建时解析为数组和行结构，逐行转换时不再读取JSON配置；
+ * 输出为CompactRow和按列保存的RowBatch，字段名不在每行重复保存
+ */
+public final class RowTransforms {
+
+    private RowTransforms() {
+    }
+
+    /**
+     * 字段映射：按rules将源字段重命名为目标字段，只保留映射的字段
+     * 目标字段在创建时生成行结构；列表参数按列输出，源为RowBatch时只重排列引用
+     * @param mappingRules 映射规则，key为源字段，value为目标字段
+     */
+    public static RowTransform mapping(JSONObject mappingRules) {
+        String[] sourceKeys = mappingRules.keySet().toArray(new String[0]);
+        // 多个源字段映射到同一目标字段时，后出现的已有字段覆盖前者
+        Map<String, Integer> targetIndex = new LinkedHashMap<>();
+        int[] targetSlots = new int[sourceKeys.length];
+        String[] targetKeys = new String[sourceKeys.length];
+        for (int i = 0; i < sourceKeys.length; i++) {
+            targetKeys[i] = mappingRules.getString(sourceKeys[i]);
+            Integer slot = targetIndex.get(targetKeys[i]);
+            if (slot == null) {
+                slot = targetIndex.size();
+                targetIndex.put(targetKeys[i], slot);
+            }
+            targetSlots[i] = slot;
+        }
+        RowSchema schema = RowSchema.of(targetIndex.keySet());
+        boolean uniqueTargets = schema.size() == sourceKeys.length;
+        return new CompactTransform() {
+            @Override
+            public Map<String, Object> apply(Map<String, Object> row) {
+                Object[] values = absentValues(schema.size());
+                for (int i = 0; i < sourceKeys.length; i++) {
+                    Object value = read(row, sourceKeys[i]);
+                    if (value != Column.ABSENT) {
+                        values[targetSlots[i]] = value;
+                    }
+                }
+                return CompactRow.of(schema, values);
+            }
+
+            @Override
+            public Map<String, Object> applyInPlace(Map<String, Object> row) {
+                if (row instanceof CompactRow) {
+                    return apply(row);
+                }
+                // 先读取全部源字段再清空，避免目标字段覆盖尚未读取的源字段
+                Object[] values = new Object[sourceKeys.length];
+                for (int i = 0; i < sourceKeys.length; i++) {
+                    values[i] = read(row, sourceKeys[i]);
+                }
+                row.clear();
+                for (int i = 0; i < sourceKeys.length; i++) {
+                    if (values[i] != Column.ABSENT) {
+                        row.put(targetKeys[i], values[i]);
+                    }
+                }
+                return row;
+            }
+
+            @Override
+            RowBatch applyBatch(RowBatch batch) {
+                if (!uniqueTargets) {
+                    return applyMaps(batch);
+                }
+                Column[] columns = new Column[schema.size()];
+                for (int i = 0; i < sourceKeys.length; i++) {
+                    int sourceIndex = batch.getSchema().indexOf(sourceKeys[i]);
+                    columns[targetSlots[i]] = sourceIndex >= 0 ? batch.column(sourceIndex) : Column.absent();
+                }
+                return new RowBatch(schema, columns, batch.size());
+            }
+
+            @Override
+            RowBatch applyMaps(List<Object> rows) {
+                Object[][] columns = absentColumns(schema.size(), rows.size());
+                int rowIndex = 0;
+                for (Object item : rows) {
+                    Map<String, Object> row = (Map<String, Object>) item;
+                    for (int i = 0; i < sourceKeys.length; i++) {
+                        Object value = read(row, sourceKeys[i]);
+                        if (value != Column.ABSENT) {
+                            columns[targetSlots[i]][rowIndex] = value;
+                        }
+                    }
+                    rowIndex++;
+                }
+                return batch(schema, columns, rowIndex);
+            }
+        };
+    }
+
+    /**
+     * 字段过滤：先按includeFields保留字段(未配置时保留全部)，再按excludeFields移除字段
+     * 列表参数按列输出，源为RowBatch时只挑选列引用
+     * @param includeFields 包含字段，可为空
+     * @param excludeFields 排除字段，可为空
+     */
+    public static RowTransform filter(JSONArray includeFields, JSONArray excludeFields) {
+        String[] includes = toArray(includeFields);
+        String[] excludes = toArray(excludeFields);
+        Set<String> includeSet = includes != null ? new HashSet<>(Arrays.asList(includes)) : null;
+        Set<String> excludeSet = excludes != null ? new HashSet<>(Arrays.asList(excludes)) : Collections.emptySet();
+        RowSchema includeSchema = null;
+        if (includes != null) {
+            Set<String> fields = new LinkedHashSet<>(Arrays.asList(includes));
+            fields.removeAll(excludeSet);
+            includeSchema = RowSchema.of(fields);
+        }
+        RowSchema fixedSchema = includeSchema;
+        return new CompactTransform() {
+            @Override
+            public Map<String, Object> apply(Map<String, Object> row) {
+                if (fixedSchema != null) {
+                    return select(row, fixedSchema);
+                }
+                if (row instanceof CompactRow) {
+                    return select(row, withoutExcludes(((CompactRow) row).getSchema()));
+                }
+                // 如果没有包含规则，默认包含所有字段
+                return applyInPlace(new HashMap<>(row));
+            }
+
+            @Override
+            public Map<String, Object> applyInPlace(Map<String, Object> row) {
+                if (row instanceof CompactRow) {
+                    return apply(row);
+                }
+                if (includeSet != null) {
+                    row.keySet().retainAll(includeSet);
+                }
+                if (excludes != null) {
+                    for (String field : excludes) {
+                        row.remove(field);
+                    }
+                }
+                return row;
+            }
+
+            @Override
+            RowBatch applyBatch(RowBatch batch) {
+                RowSchema schema = fixedSchema != null ? fixedSchema : withoutExcludes(batch.getSchema());
+                Column[] columns = new Column[schema.size()];
+                for (int i = 0; i < columns.length; i++) {
+                    int sourceIndex = batch.getSchema().indexOf(schema.field(i));
+                    columns[i] = sourceIndex >= 0 ? batch.column(sourceIndex) : Column.absent();
+                }
+                return new RowBatch(schema, columns, batch.size());
+            }
+
+            @Override
+            RowBatch applyMaps(List<Object> rows) {
+                RowSchema schema = fixedSchema;
+                if (schema == null) {
+                    // 未配置包含字段时输出各行字段的并集，行内缺失的字段标记为ABSENT
+                    Set<String> fields = new LinkedHashSet<>();
+                    for (Object row : rows) {
+                        fields.addAll(((Map<String, Object>) row).keySet());
+                    }
+                    fields.removeAll(excludeSet);
+                    schema = RowSchema.of(fields);
+                }
+                Object[][] columns = new Object[schema.size()][rows.size()];
+                int rowIndex = 0;
+                for (Object item : rows) {
+                    Map<String, Object> row = (Map<String, Object>) item;
+                    for (int i = 0; i < columns.length; i++) {
+                        columns[i][rowIndex] = read(row, schema.field(i));
+                    }
+                    rowIndex++;
+                }
+                return batch(schema, columns, rowIndex);
+            }
+
+            private RowSchema withoutExcludes(RowSchema schema) {
+                if (excludeSet.isEmpty()) {
+                    return schema;
+                }
+                List<String> fields = new ArrayList<>(schema.size());
+                for (int i = 0; i < schema.size(); i++) {
+                    if (!excludeSet.contains(schema.field(i))) {
+                        fields.add(schema.field(i));
+                    }
+                }
+                return fields.size() == schema.size() ? schema : RowSchema.of(fields);
+            }
+        };
+    }
+
+    /**
+     * 计算字段：按预编译的计算规则生成新行
+     * 列表参数逐行计算，结果按列输出，数值结果保存为基本类型数组
+     * @param calculation 预编译计算规则
+     */
+    public static RowTransform calculation(CompiledCalculation calculation) {
+        RowSchema schema = calculation.getSchema();
+        return new CompactTransform() {
+            @Override
+            public Map<String, Object> apply(Map<String, Object> row) {
+                return calculation.apply(row);
+            }
+
+            @Override
+            public Map<String, Object> applyInPlace(Map<String, Object> row) {
+                return calculation.applyInPlace(row);
+            }
+
+            @Override
+            RowBatch applyBatch(RowBatch batch) {
+                RowBatch.Cursor cursor = batch.cursor();
+                Object[][] columns = new Object[schema.size()][batch.size()];
+                Object[] values = new Object[schema.size()];
+                for (int rowIndex = 0; rowIndex < batch.size(); rowIndex++) {
+                    calculation.evaluate(cursor.moveTo(rowIndex), values);
+                    for (int i = 0; i < values.length; i++) {
+                        columns[i][rowIndex] = values[i];
+                    }
+                }
+                return batch(schema, columns, batch.size());
+            }
+
+            @Override
+            RowBatch applyMaps(List<Object> rows) {
+                Object[][] columns = new Object[schema.size()][rows.size()];
+                Object[] values = new Object[schema.size()];
+                int rowIndex = 0;
+                for (Object row : rows) {
+                    calculation.evaluate((Map<String, Object>) row, values);
+                    for (int i = 0; i < values.length; i++) {
+                        columns[i][rowIndex] = values[i];
+                    }
+                    rowIndex++;
+                }
+                return batch(schema, columns, rowIndex);
+            }
+        };
+    }
+
+    /**
+     * 融合多个连续的行级转换：单行参数第一步分配新行，后续步骤在该行上转换；
+     * 列表参数依次按列转换，映射和过滤只重排列引用，结果与逐个节点执行相同
+     * @param steps 按执行顺序排列的转换
+     */
+    public static RowTransform fuse(List<RowTransform> steps) {
+        if (steps.size() == 1) {
+            return steps.get(0);
+        }
+        RowTransform[] chain = steps.toArray(new RowTransform[0]);
+        return new RowTransform() {
+            @Override
+            public Map<String, Object> apply(Map<String, Object> row) {
+                Map<String, Object> result = chain[0].apply(row);
+                for (int i = 1; i < chain.length; i++) {
+                    result = chain[i].applyInPlace(result);
+                }
+                return result;
+            }
+
+            @Override
+            public List<Object> applyList(List<Object> rows) {
+                List<Object> result = rows;
+                for (RowTransform step : chain) {
+                    result = step.applyList(result);
+                }
+                return result;
+            }
+        };
+    }
+
+    /**
+     * 按字段名取值，字段缺失时返回Column.ABSENT
+     */
+    private static Object read(Map<String, Object> row, String field) {
+        if (row instanceof CompactRow) {
+            return ((CompactRow) row).lookup(field);
+        }
+        Object value = row.get(field);
+        return value != null || row.containsKey(field) ? value : Column.ABSENT;
+    }
+
+    private static CompactRow select(Map<String, Object> row, RowSchema schema) {
+        Object[] values = new Object[schema.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = read(row, schema.field(i));
+        }
+        return CompactRow.of(schema, values);
+    }
+
+    private static Object[] absentValues(int size) {
+        Object[] values = new Object[size];
+        Arrays.fill(values, Column.ABSENT);
+        return values;
+    }
+
+    private static Object[][] absentColumns(int columnCount, int rowCount) {
+        Object[][] columns = new Object[columnCount][];
+        for (int i = 0; i < columnCount; i++) {
+            columns[i] = absentValues(rowCount);
+        }
+        return columns;
+    }
+
+    private static RowBatch batch(RowSchema schema, Object[][] values, int size) {
+        Column[] columns = new Column[values.length];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = Column.of(values[i]);
+        }
+        return new RowBatch(schema, columns, size);
+    }
+
+    /**
+     * 输出紧凑行的转换：全部元素为Map的列表转换为RowBatch，含非Map元素的列表逐项转换
+     */
+    private abstract static class CompactTransform implements RowTransform {
+        /**
+         * 转换按列保存的列表
+         */
+        abstract RowBatch applyBatch(RowBatch batch);
+
+        /**
+         * 转换元素全部为Map的列表
+         */
+        abstract RowBatch applyMaps(List<Object> rows);
+
+        @Override
+        public List<Object> applyList(List<Object> rows) {
+            if (rows instanceof RowBatch) {
+                return applyBatch((RowBatch) rows);
+            }
+            for (Object row : rows) {
+                if (!(row instanceof Map)) {
+                    return RowTransform.super.applyList(rows);
+                }
+            }
+            return applyMaps(rows);
+        }
+    }
+
+    private static String[] toArray(JSONArray fields) {
+        if (fields == null) {
+            return null;
+        }
+        String[] result = new String[fields.length()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = fields.getString(i);
+        }
+        return result;
+    }
+}
@@ -11,6 +11,21 @@ import java.util.Date;
 @Data
 @TableName("process_definition")
 public class ProcessDefinition {
+    /**
+     * 草稿：执行时读取当前节点和连线
+     */
+    public static final String STATUS_DRAFT = "DRAFT";
+    
+    /**
+     * 已发布：执行时只读取最近一次发布的快照
+     */
+    public static final String STATUS_PUBLISHED = "PUBLISHED";
+    
+    /**
+     * 已停用：不再接受新的执行
+     */
+    public static final String STATUS_DEPRECATED = "DEPRECATED";
+    
     @TableId(type = IdType.AUTO)
     private Long id;
     
@@ -18,6 +33,24 @@ public class ProcessDefinition {
     
     private String description;
     
+    /**
+     * 设计修订号，每次保存流程设计时加1，用于检测并发修改；只能通过保存流程设计修改
+     */
+    @TableField(updateStrategy = FieldStrategy.NEVER)
+    private Integer revision;
+    
+    /**
+     * 已发布版本号，未发布时为0；只能通过发布修改
+     */
+    @TableField(updateStrategy = FieldStrategy.NEVER)
+    private Integer version;
+    
+    /**
+     * 发布状态：DRAFT、PUBLISHED或DEPRECATED；只能通过发布和停用修改
+     */
+    @TableField(updateStrategy = FieldStrategy.NEVER)
+    private String status;
+    
     @TableField(fill = FieldFill.INSERT)
     private Date createTime;
     
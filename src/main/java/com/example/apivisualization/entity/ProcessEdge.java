@@ -0,0 +1,37 @@
+package com.example.apivisualization.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * 流程连线实体类
+ */
+@Data
+@TableName("process_edge")
+public class ProcessEdge {
+    @TableId(type = IdType.AUTO)
+    private Long id;
+    
+    private Long processDefinitionId;
+    
+    private Long sourceNodeId;
+    
+    private Long targetNodeId;
+    
+    /**
+     * 连线条件，例如: ${amount} > 1000，为空表示无条件
+     */
+    @TableField("`condition`")
+    private String condition;
+    
+    @TableField(fill = FieldFill.INSERT)
+    private Date createTime;
+    
+    @TableField(fill = FieldFill.INSERT_UPDATE)
+    private Date updateTime;
+    
+    @TableLogic
+    private Integer deleted;
+}
@@ -1,7 +1,11 @@
 package com.example.apivisualization.entity;
 
 import com.baomidou.mybatisplus.annotation.*;
+import com.example.apivisualization.engine.node.NodeConfig;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.util.Date;
 
@@ -32,4 +36,13 @@ public class ProcessNode {
     
     @TableLogic
     private Integer deleted;
+    
+    /**
+     * 编译后的节点配置，保存节点或加载流程图时生成，不持久化
+     */
+    @TableField(exist = false)
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private NodeConfig compiledConfig;
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.example.apivisualization.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * 流程发布快照实体类
+ * 发布时保存节点和连线的JSON副本，发布后对草稿的修改不影响已发布版本
+ */
+@Data
+@TableName("process_snapshot")
+public class ProcessSnapshot {
+    @TableId(type = IdType.AUTO)
+    private Long id;
+    
+    private Long processDefinitionId;
+    
+    private Integer version;
+    
+    private String nodes;
+    
+    private String edges;
+    
+    @TableField(fill = FieldFill.INSERT)
+    private Date createTime;
+}
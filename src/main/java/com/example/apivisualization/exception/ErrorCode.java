@@ -0,0 +1,41 @@
+package com.example.apivisualization.exception;
+
+/**
+ * 流程执行错误码
+ */
+public enum ErrorCode {
+    /**
+     * 执行上下文无效
+     */
+    CONTEXT_INVALID,
+
+    /**
+     * 流程节点不存在
+     */
+    NODE_NOT_FOUND,
+
+    /**
+     * 节点类型无效
+     */
+    NODE_TYPE_INVALID,
+
+    /**
+     * 节点配置无效
+     */
+    NODE_CONFIG_INVALID,
+
+    /**
+     * 流程执行超时
+     */
+    PROCESS_TIMEOUT,
+
+    /**
+     * 流程执行已取消
+     */
+    PROCESS_CANCELLED,
+
+    /**
+     * 节点执行失败
+     */
+    NODE_EXECUTION_FAILED
+}
@@ -0,0 +1,30 @@
+package com.example.apivisualization.exception;
+
+/**
+ * 流程执行异常
+ * 携带错误码，便于调用方区分超时、配置错误及节点执行失败
+ */
+public class ProcessException extends RuntimeException {
+    private final ErrorCode errorCode;
+
+    public ProcessException(String message) {
+        this(ErrorCode.NODE_EXECUTION_FAILED, message);
+    }
+
+    public ProcessException(ErrorCode errorCode, String message) {
+        super(message);
+        this.errorCode = errorCode;
+    }
+
+    public ProcessException(ErrorCode errorCode, String message, Throwable cause) {
+        super(message, cause);
+        this.errorCode = errorCode;
+    }
+
+    /**
+     * 获取错误码
+     */
+    public ErrorCode getErrorCode() {
+        return errorCode;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.apivisualization.exception;
+
+/**
+ * 可重试异常
+ * 节点执行抛出该异常时按退避时间重试，不受异常类型判断的限制
+ */
+public class RetryableException extends RuntimeException {
+    private final int retryCount;
+
+    public RetryableException(String message, int retryCount) {
+        super(message);
+        this.retryCount = retryCount;
+    }
+
+    public RetryableException(String message, int retryCount, Throwable cause) {
+        super(message, cause);
+        this.retryCount = retryCount;
+    }
+
+    /**
+     * 获取抛出异常时已重试的次数
+     */
+    public int getRetryCount() {
+        return retryCount;
+    }
+}
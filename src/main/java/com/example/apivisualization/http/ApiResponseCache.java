@@ -0,0 +1,226 @@
+package com.example.apivisualization.http;
+
+import lombok.Data;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * API调用节点响应缓存
+ * 节点config中配置 cache.ttlMs 后启用，按请求方法、地址、请求头和请求体缓存解析后的响应，
+ * 每个节点最多保留 cache.maxEntries 条并按LRU淘汰。同一请求并发未命中时只发出一次调用，
+ * 其余调用等待同一结果。缓存的响应会被多次执行共享，下游节点不应原地修改
+ */
+@Component
+public class ApiResponseCache {
+    private final Map<Long, NodeCache> nodeCaches = new ConcurrentHashMap<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong collapsedCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * 生成缓存键
+     * @param method 请求方法
+     * @param url 请求地址
+     * @param headers 请求头
+     * @param body 请求体
+     * @return 缓存键
+     */
+    public static String key(String method, String url, HttpHeaders headers, Object body) {
+        return method.toUpperCase() + ' ' + url + '\n' + headers + '\n' + body;
+    }
+
+    /**
+     * 获取缓存的响应，未命中时通过loader调用并缓存，调用失败的结果不缓存
+     * @param nodeId 节点ID
+     * @param ttlMs 缓存有效期(毫秒)
+     * @param maxEntries 节点最多缓存条数
+     * @param key 缓存键
+     * @param async 是否为非阻塞调用，为true时loader返回CompletableFuture，本方法也返回Future
+     * @param loader 实际调用
+     * @return 响应结果，非阻塞调用时为Future
+     */
+    public Object get(Long nodeId, long ttlMs, int maxEntries, String key, boolean async, Supplier<Object> loader) {
+        NodeCache nodeCache = nodeCache(nodeId, ttlMs, maxEntries);
+        Object cached = nodeCache.get(key);
+        if (cached != null) {
+            hitCount.incrementAndGet();
+            return async ? CompletableFuture.completedFuture(cached) : cached;
+        }
+
+        // 同一请求已有调用进行中时等待其结果
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = nodeCache.inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            collapsedCount.incrementAndGet();
+            return async ? existing : join(existing);
+        }
+        missCount.incrementAndGet();
+
+        Object result;
+        try {
+            result = loader.get();
+        } catch (RuntimeException e) {
+            nodeCache.complete(key, flight, null, e);
+            throw e;
+        }
+        if (result instanceof CompletableFuture) {
+            ((CompletableFuture<?>) result).whenComplete((value, error) ->
+                nodeCache.complete(key, flight, value, error));
+            return flight;
+        }
+        nodeCache.complete(key, flight, result, null);
+        return result;
+    }
+
+    /**
+     * 清除节点的缓存，节点配置变更或删除时调用
+     * @param nodeId 节点ID
+     */
+    public void evict(Long nodeId) {
+        nodeCaches.remove(nodeId);
+    }
+
+    /**
+     * 清空全部缓存
+     */
+    public void invalidateAll() {
+        nodeCaches.clear();
+    }
+
+    /**
+     * 获取缓存统计信息
+     */
+    public CacheStats getStats() {
+        CacheStats stats = new CacheStats();
+        stats.setHitCount(hitCount.get());
+        stats.setMissCount(missCount.get());
+        stats.setCollapsedCount(collapsedCount.get());
+        stats.setEvictionCount(evictionCount.get());
+        stats.setNodeCount(nodeCaches.size());
+        int size = 0;
+        for (NodeCache nodeCache : nodeCaches.values()) {
+            size += nodeCache.size();
+        }
+        stats.setSize(size);
+        return stats;
+    }
+
+    private NodeCache nodeCache(Long nodeId, long ttlMs, int maxEntries) {
+        NodeCache nodeCache = nodeCaches.get(nodeId);
+        if (nodeCache != null && nodeCache.matches(ttlMs, maxEntries)) {
+            return nodeCache;
+        }
+        // 首次使用或缓存配置变更时原子地创建或替换，并发未命中的请求共用同一个NodeCache
+        return nodeCaches.compute(nodeId, (id, current) ->
+            current != null && current.matches(ttlMs, maxEntries) ? current : new NodeCache(ttlMs, maxEntries));
+    }
+
+    private static Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    private final class NodeCache {
+        private final long ttlMs;
+        private final int maxEntries;
+        private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+        private final Map<String, CacheEntry> entries;
+
+        NodeCache(long ttlMs, int maxEntries) {
+            this.ttlMs = ttlMs;
+            this.maxEntries = maxEntries;
+            this.entries = new LinkedHashMap<String, CacheEntry>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                    if (size() > NodeCache.this.maxEntries) {
+                        evictionCount.incrementAndGet();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        boolean matches(long ttlMs, int maxEntries) {
+            return this.ttlMs == ttlMs && this.maxEntries == maxEntries;
+        }
+
+        synchronized Object get(String key) {
+            CacheEntry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (System.currentTimeMillis() > entry.expireTime) {
+                entries.remove(key);
+                evictionCount.incrementAndGet();
+                return null;
+            }
+            return entry.value;
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+        void complete(String key, CompletableFuture<Object> flight, Object value, Throwable error) {
+            if (error == null && value != null) {
+                synchronized (this) {
+                    entries.put(key, new CacheEntry(value, System.currentTimeMillis() + ttlMs));
+                }
+            }
+            inFlight.remove(key, flight);
+            if (error == null) {
+                flight.complete(value);
+            } else {
+                flight.completeExceptionally(
+                    error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            }
+        }
+    }
+
+    private static class CacheEntry {
+        private final Object value;
+        private final long expireTime;
+
+        CacheEntry(Object value, long expireTime) {
+            this.value = value;
+            this.expireTime = expireTime;
+        }
+    }
+
+    /**
+     * 缓存统计信息
+     */
+    @Data
+    public static class CacheStats {
+        private long hitCount;
+        private long missCount;
+
+        /**
+         * 并发未命中时合并到进行中调用的次数
+         */
+        private long collapsedCount;
+
+        private long evictionCount;
+
+        /**
+         * 启用缓存的节点数
+         */
+        private int nodeCount;
+
+        private int size;
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.apivisualization.http;
+
+import com.example.apivisualization.config.HttpClientProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 非阻塞API调用客户端
+ * process.http.client-mode 为 ASYNC 时启用，基于JDK HttpClient异步发送请求，
+ * 等待响应期间不占用线程；进行中的请求数受 async-max-in-flight 限制，超出的请求排队等待，
+ * 排队数超过 async-max-pending 时直接拒绝
+ */
+@Component
+public class AsyncApiClient {
+    /**
+     * JDK HttpClient不允许手动设置的请求头
+     */
+    private static final Set<String> RESTRICTED_HEADERS = new HashSet<>(Arrays.asList(
+        "connection", "content-length", "expect", "host", "upgrade"));
+
+    @Autowired
+    private HttpClientProperties httpClientProperties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private HttpClient httpClient;
+
+    private ExecutorService callbackExecutor;
+
+    private InFlightLimiter inFlightLimiter;
+
+    @PostConstruct
+    public void init() {
+        if (!isEnabled()) {
+            return;
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        callbackExecutor = Executors.newFixedThreadPool(httpClientProperties.getAsyncIoThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "process-http-async-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(httpClientProperties.getConnectTimeout()))
+            .executor(callbackExecutor)
+            .build();
+        inFlightLimiter = new InFlightLimiter("异步API调用",
+            httpClientProperties.getAsyncMaxInFlight(), httpClientProperties.getAsyncMaxPending());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (callbackExecutor != null) {
+            callbackExecutor.shutdown();
+        }
+    }
+
+    /**
+     * 是否启用非阻塞API调用
+     */
+    public boolean isEnabled() {
+        return HttpClientProperties.CLIENT_MODE_ASYNC.equalsIgnoreCase(httpClientProperties.getClientMode());
+    }
+
+    /**
+     * 异步发送请求
+     * @param method 请求方法
+     * @param url 请求地址
+     * @param headers 请求头
+     * @param body 请求体，不为null时按请求方法原样发送，与RestTemplate一致
+     * @param timeout 超时时间(毫秒)
+     * @return 响应Future，响应体为原始字节，由调用方直接解析，不解码为String；取消时中止请求
+     */
+    public CompletableFuture<ResponseEntity<byte[]>> exchange(HttpMethod method, String url, HttpHeaders headers,
+                                                             Object body, int timeout) {
+        HttpRequest request = buildRequest(method, url, headers, body, timeout);
+        return inFlightLimiter.submit(() -> {
+            CompletableFuture<HttpResponse<byte[]>> response = 
+                httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+            CompletableFuture<ResponseEntity<byte[]>> entity = response.thenApply(AsyncApiClient::toResponseEntity);
+            // 取消thenApply得到的Future不会取消上游，需显式取消sendAsync的Future
+            entity.whenComplete((value, error) -> {
+                if (entity.isCancelled()) {
+                    response.cancel(true);
+                }
+            });
+            return entity;
+        });
+    }
+
+    /**
+     * 获取进行中的请求数
+     */
+    public int getInFlight() {
+        return inFlightLimiter != null ? inFlightLimiter.getInFlight() : 0;
+    }
+
+    /**
+     * 获取排队中的请求数
+     */
+    public int getPending() {
+        return inFlightLimiter != null ? inFlightLimiter.getPending() : 0;
+    }
+
+    private HttpRequest buildRequest(HttpMethod method, String url, HttpHeaders headers, Object body, int timeout) {
+        HttpRequest.BodyPublisher bodyPublisher = HttpRequest.BodyPublishers.noBody();
+        if (body != null) {
+            try {
+                bodyPublisher = HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("请求参数序列化失败: " + e.getMessage(), e);
+            }
+        }
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+            .timeout(Duration.ofMillis(timeout))
+            .method(method.name(), bodyPublisher);
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (RESTRICTED_HEADERS.contains(header.getKey().toLowerCase())) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                builder.header(header.getKey(), value);
+            }
+        }
+        return builder.build();
+    }
+
+    private static ResponseEntity<byte[]> toResponseEntity(HttpResponse<byte[]> response) {
+        HttpHeaders responseHeaders = new HttpHeaders();
+        response.headers().map().forEach(responseHeaders::addAll);
+        return ResponseEntity.status(response.statusCode()).headers(responseHeaders).body(response.body());
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.apivisualization.http;
+
+import com.example.apivisualization.config.CircuitBreakerProperties;
+import lombok.Data;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 单个下游主机的熔断器
+ * 按最近windowSize次调用的失败率和慢调用率判断：CLOSED状态下任一比例达到阈值即熔断(OPEN)，
+ * 熔断期间调用直接拒绝；openDuration到期后进入半开(HALF_OPEN)，放行halfOpenCalls次试探调用，
+ * 全部成功则恢复(CLOSED)，任一失败重新熔断
+ */
+public class CircuitBreaker {
+    public static final String STATE_CLOSED = "CLOSED";
+    public static final String STATE_OPEN = "OPEN";
+    public static final String STATE_HALF_OPEN = "HALF_OPEN";
+
+    private final CircuitBreakerProperties properties;
+    private final LongSupplier clock;
+    private final long slowCallNanos;
+
+    /**
+     * 滑动窗口，每个位置记录一次调用：bit0为失败，bit1为慢调用
+     */
+    private final byte[] window;
+    private int windowIndex;
+    private int windowCalls;
+    private int windowFailures;
+    private int windowSlowCalls;
+
+    private String state = STATE_CLOSED;
+    private long openedAt;
+    private int halfOpenPermitted;
+    private int halfOpenSucceeded;
+
+    private long successCalls;
+    private long failedCalls;
+    private long slowCalls;
+    private long rejectedCalls;
+
+    public CircuitBreaker(CircuitBreakerProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    CircuitBreaker(CircuitBreakerProperties properties, LongSupplier clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(properties.getSlowCallThreshold());
+        this.window = new byte[Math.max(properties.getWindowSize(), 1)];
+    }
+
+    /**
+     * 申请调用许可
+     * @return 是否允许调用，熔断或半开试探名额已满时返回false
+     */
+    public synchronized boolean tryAcquire() {
+        if (STATE_OPEN.equals(state)) {
+            if (clock.getAsLong() - openedAt < TimeUnit.MILLISECONDS.toNanos(properties.getOpenDuration())) {
+                rejectedCalls++;
+                return false;
+            }
+            state = STATE_HALF_OPEN;
+            halfOpenPermitted = 0;
+            halfOpenSucceeded = 0;
+        }
+        if (STATE_HALF_OPEN.equals(state)) {
+            if (halfOpenPermitted >= properties.getHalfOpenCalls()) {
+                rejectedCalls++;
+                return false;
+            }
+            halfOpenPermitted++;
+        }
+        return true;
+    }
+
+    /**
+     * 记录调用结果
+     * @param failed 是否失败
+     * @param durationNanos 调用耗时(纳秒)
+     */
+    public synchronized void record(boolean failed, long durationNanos) {
+        boolean slow = durationNanos >= slowCallNanos;
+        if (failed) {
+            failedCalls++;
+        } else {
+            successCalls++;
+        }
+        if (slow) {
+            slowCalls++;
+        }
+
+        if (STATE_HALF_OPEN.equals(state)) {
+            if (failed || slow) {
+                open();
+            } else if (++halfOpenSucceeded >= properties.getHalfOpenCalls()) {
+                close();
+            }
+            return;
+        }
+        if (STATE_OPEN.equals(state)) {
+            // 熔断前已放行的调用，结果不再计入窗口
+            return;
+        }
+
+        byte previous = window[windowIndex];
+        if (windowCalls == window.length) {
+            windowFailures -= previous & 1;
+            windowSlowCalls -= (previous >> 1) & 1;
+        } else {
+            windowCalls++;
+        }
+        window[windowIndex] = (byte) ((failed ? 1 : 0) | (slow ? 2 : 0));
+        windowIndex = (windowIndex + 1) % window.length;
+        windowFailures += failed ? 1 : 0;
+        windowSlowCalls += slow ? 1 : 0;
+
+        if (windowCalls >= properties.getMinimumCalls()
+            && (windowFailures * 100 >= properties.getFailureRateThreshold() * windowCalls
+                || windowSlowCalls * 100 >= properties.getSlowCallRateThreshold() * windowCalls)) {
+            open();
+        }
+    }
+
+    /**
+     * 获取当前状态：CLOSED、OPEN、HALF_OPEN
+     */
+    public synchronized String getState() {
+        return state;
+    }
+
+    /**
+     * 获取熔断器状态和计数快照
+     */
+    public synchronized Snapshot snapshot() {
+        Snapshot snapshot = new Snapshot();
+        snapshot.setState(state);
+        snapshot.setWindowCalls(windowCalls);
+        snapshot.setFailureRate(windowCalls == 0 ? 0 : windowFailures * 100.0 / windowCalls);
+        snapshot.setSlowCallRate(windowCalls == 0 ? 0 : windowSlowCalls * 100.0 / windowCalls);
+        snapshot.setSuccessCalls(successCalls);
+        snapshot.setFailedCalls(failedCalls);
+        snapshot.setSlowCalls(slowCalls);
+        snapshot.setRejectedCalls(rejectedCalls);
+        return snapshot;
+    }
+
+    /**
+     * 重置为CLOSED状态并清空窗口
+     */
+    public synchronized void reset() {
+        close();
+    }
+
+    private void open() {
+        state = STATE_OPEN;
+        openedAt = clock.getAsLong();
+    }
+
+    private void close() {
+        state = STATE_CLOSED;
+        windowIndex = 0;
+        windowCalls = 0;
+        windowFailures = 0;
+        windowSlowCalls = 0;
+        Arrays.fill(window, (byte) 0);
+    }
+
+    /**
+     * 熔断器状态快照
+     */
+    @Data
+    public static class Snapshot {
+        private String state;
+
+        /**
+         * 滑动窗口内的调用数
+         */
+        private int windowCalls;
+
+        /**
+         * 窗口内失败率(百分比)
+         */
+        private double failureRate;
+
+        /**
+         * 窗口内慢调用率(百分比)
+         */
+        private double slowCallRate;
+
+        private long successCalls;
+        private long failedCalls;
+        private long slowCalls;
+
+        /**
+         * 因熔断被拒绝的调用数
+         */
+        private long rejectedCalls;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.apivisualization.http;
+
+/**
+ * 下游主机处于熔断状态，调用被直接拒绝
+ */
+public class CircuitBreakerOpenException extends RuntimeException {
+    public CircuitBreakerOpenException(String host) {
+        super("下游主机已熔断: " + host);
+    }
+}
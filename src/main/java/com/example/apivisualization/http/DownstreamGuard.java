@@ -0,0 +1,207 @@
+package com.example.apivisualization.http;
+
+import com.example.apivisualization.config.CircuitBreakerProperties;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * API调用节点的下游主机保护
+ * 每个主机(host:port)有独立的熔断器和并发隔离：熔断时调用直接失败，不再占用线程等待超时；
+ * 阻塞模式下超出maxConcurrentCalls的调用直接拒绝，非阻塞模式下排队，排队也满时拒绝。
+ * 一个下游变慢只会耗尽它自己的并发名额，不影响调用其他主机的流程
+ */
+@Component
+public class DownstreamGuard {
+    @Autowired
+    private CircuitBreakerProperties circuitBreakerProperties;
+
+    private final Map<String, HostGuard> hostGuards = new ConcurrentHashMap<>();
+
+    /**
+     * 阻塞调用
+     * @param url 请求地址，按其主机隔离
+     * @param call 实际调用
+     * @return 调用结果
+     * @throws CircuitBreakerOpenException 主机已熔断
+     * @throws RejectedExecutionException 主机并发已满
+     */
+    public <T> T execute(String url, Supplier<T> call) {
+        if (!circuitBreakerProperties.isEnabled()) {
+            return call.get();
+        }
+        HostGuard guard = hostGuard(url);
+        if (!guard.bulkhead.tryAcquire()) {
+            guard.bulkheadRejected.incrementAndGet();
+            throw new RejectedExecutionException("下游主机并发已满: " + guard.host);
+        }
+        try {
+            acquire(guard);
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                T result = call.get();
+                failed = isFailure(result, null);
+                return result;
+            } catch (RuntimeException e) {
+                failed = isFailure(null, e);
+                throw e;
+            } finally {
+                guard.circuitBreaker.record(failed, System.nanoTime() - start);
+            }
+        } finally {
+            guard.bulkhead.release();
+        }
+    }
+
+    /**
+     * 非阻塞调用
+     * @param url 请求地址，按其主机隔离
+     * @param call 实际调用，返回调用完成的Future
+     * @return 调用结果Future，熔断或排队已满时以异常完成
+     */
+    public <T> CompletableFuture<T> executeAsync(String url, Supplier<CompletableFuture<T>> call) {
+        if (!circuitBreakerProperties.isEnabled()) {
+            return call.get();
+        }
+        HostGuard guard = hostGuard(url);
+        return guard.limiter.submit(() -> {
+            acquire(guard);
+            long start = System.nanoTime();
+            CompletableFuture<T> future;
+            try {
+                future = call.get();
+            } catch (RuntimeException e) {
+                // 请求未发出(如请求参数序列化失败)时同样记录结果，否则半开状态的试探名额不会归还
+                guard.circuitBreaker.record(isFailure(null, e), System.nanoTime() - start);
+                throw e;
+            }
+            CompletableFuture<T> recorded = future.whenComplete((value, error) ->
+                guard.circuitBreaker.record(isFailure(value, error), System.nanoTime() - start));
+            // 调用方取消时同时取消下游调用
+            recorded.whenComplete((value, error) -> {
+                if (recorded.isCancelled()) {
+                    future.cancel(true);
+                }
+            });
+            return recorded;
+        });
+    }
+
+    /**
+     * 获取各主机的熔断和并发状态
+     */
+    public List<HostStats> getStats() {
+        List<HostStats> stats = new ArrayList<>(hostGuards.size());
+        for (HostGuard guard : hostGuards.values()) {
+            HostStats hostStats = new HostStats();
+            hostStats.setHost(guard.host);
+            hostStats.setCircuitBreaker(guard.circuitBreaker.snapshot());
+            hostStats.setActiveCalls(circuitBreakerProperties.getMaxConcurrentCalls()
+                - guard.bulkhead.availablePermits() + guard.limiter.getInFlight());
+            hostStats.setPendingCalls(guard.limiter.getPending());
+            hostStats.setBulkheadRejected(guard.bulkheadRejected.get());
+            stats.add(hostStats);
+        }
+        return stats;
+    }
+
+    /**
+     * 重置主机的熔断器
+     * @param host 主机(host:port)
+     * @return 主机是否存在
+     */
+    public boolean reset(String host) {
+        HostGuard guard = hostGuards.get(host);
+        if (guard == null) {
+            return false;
+        }
+        guard.circuitBreaker.reset();
+        return true;
+    }
+
+    private void acquire(HostGuard guard) {
+        if (!guard.circuitBreaker.tryAcquire()) {
+            throw new CircuitBreakerOpenException(guard.host);
+        }
+    }
+
+    private HostGuard hostGuard(String url) {
+        return hostGuards.computeIfAbsent(hostOf(url), host -> new HostGuard(host, circuitBreakerProperties));
+    }
+
+    /**
+     * 调用异常和5xx响应计为失败；4xx是请求本身的问题，不代表下游故障
+     */
+    private static boolean isFailure(Object result, Throwable error) {
+        if (error != null) {
+            return !(error instanceof HttpClientErrorException || error.getCause() instanceof HttpClientErrorException);
+        }
+        return result instanceof ResponseEntity && ((ResponseEntity<?>) result).getStatusCode().is5xxServerError();
+    }
+
+    static String hostOf(String url) {
+        try {
+            URI uri = URI.create(url);
+            if (uri.getHost() != null) {
+                return uri.getPort() > 0 ? uri.getHost() + ":" + uri.getPort() : uri.getHost();
+            }
+        } catch (IllegalArgumentException e) {
+            // 非法地址交给实际调用报错，这里按原始地址隔离
+        }
+        return url;
+    }
+
+    private static final class HostGuard {
+        private final String host;
+        private final CircuitBreaker circuitBreaker;
+        private final Semaphore bulkhead;
+        private final InFlightLimiter limiter;
+        private final AtomicLong bulkheadRejected = new AtomicLong();
+
+        HostGuard(String host, CircuitBreakerProperties properties) {
+            this.host = host;
+            this.circuitBreaker = new CircuitBreaker(properties);
+            this.bulkhead = new Semaphore(properties.getMaxConcurrentCalls());
+            this.limiter = new InFlightLimiter("下游主机 " + host,
+                properties.getMaxConcurrentCalls(), properties.getMaxPendingCalls());
+        }
+    }
+
+    /**
+     * 下游主机的熔断和并发状态
+     */
+    @Data
+    public static class HostStats {
+        private String host;
+        private CircuitBreaker.Snapshot circuitBreaker;
+
+        /**
+         * 进行中的调用数
+         */
+        private int activeCalls;
+
+        /**
+         * 非阻塞模式下排队中的调用数
+         */
+        private int pendingCalls;
+
+        /**
+         * 阻塞模式下因并发已满被拒绝的调用数
+         */
+        private long bulkheadRejected;
+    }
+}
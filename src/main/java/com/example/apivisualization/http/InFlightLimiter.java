@@ -0,0 +1,132 @@
+package com.example.apivisualization.http;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * 非阻塞并发限制器
+ * 限制同时进行中的异步任务数量，超出时任务进入等待队列而不是阻塞线程；
+ * 等待队列也满时直接拒绝，对调用方形成背压。
+ * 调用方取消返回的Future时，等待中的任务移出队列，进行中的任务Future随之取消
+ */
+public class InFlightLimiter {
+    private final String name;
+    private final int maxInFlight;
+    private final int maxPending;
+    private final Deque<PendingTask> pending = new ArrayDeque<>();
+    private int inFlight;
+
+    /**
+     * @param name 限制器名称，用于拒绝时的错误信息
+     * @param maxInFlight 最大进行中任务数
+     * @param maxPending 最大等待任务数
+     */
+    public InFlightLimiter(String name, int maxInFlight, int maxPending) {
+        this.name = name;
+        this.maxInFlight = maxInFlight;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * 提交异步任务
+     * @param task 任务，返回任务完成的Future
+     * @return 任务结果Future，被拒绝时以RejectedExecutionException异常完成
+     */
+    public <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        synchronized (this) {
+            if (inFlight >= maxInFlight) {
+                if (pending.size() >= maxPending) {
+                    result.completeExceptionally(new RejectedExecutionException(
+                        name + "并发已满，进行中: " + inFlight + ", 等待中: " + pending.size()));
+                    return result;
+                }
+                PendingTask entry = new PendingTask(result, () -> start(task, result));
+                pending.add(entry);
+                // 等待中被取消的任务移出队列，不再占用等待名额
+                result.whenComplete((value, error) -> {
+                    if (result.isCancelled()) {
+                        removePending(entry);
+                    }
+                });
+                return result;
+            }
+            inFlight++;
+        }
+        start(task, result);
+        return result;
+    }
+
+    /**
+     * 获取进行中的任务数
+     */
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * 获取等待中的任务数
+     */
+    public synchronized int getPending() {
+        return pending.size();
+    }
+
+    private <T> void start(Supplier<CompletableFuture<T>> task, CompletableFuture<T> result) {
+        CompletableFuture<T> future;
+        try {
+            future = task.get();
+        } catch (RuntimeException e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        // 调用方取消结果时取消进行中的任务，任务结束后释放并发名额
+        CompletableFuture<T> running = future;
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                running.cancel(true);
+            }
+        });
+        running.whenComplete((value, error) -> {
+            release();
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+        });
+    }
+
+    private synchronized void removePending(PendingTask entry) {
+        pending.remove(entry);
+    }
+
+    /**
+     * 任务完成后启动下一个等待任务，跳过结果已完成(被取消)的任务，没有等待任务时释放并发名额
+     */
+    private void release() {
+        PendingTask next;
+        synchronized (this) {
+            do {
+                next = pending.poll();
+            } while (next != null && next.result.isDone());
+            if (next == null) {
+                inFlight--;
+                return;
+            }
+        }
+        next.start.run();
+    }
+
+    private static final class PendingTask {
+        private final CompletableFuture<?> result;
+        private final Runnable start;
+
+        PendingTask(CompletableFuture<?> result, Runnable start) {
+            this.result = result;
+            this.start = start;
+        }
+    }
+}
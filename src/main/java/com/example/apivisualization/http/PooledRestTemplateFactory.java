@@ -0,0 +1,56 @@
+package com.example.apivisualization.http;
+
+import com.example.apivisualization.config.HttpClientProperties;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 基于共享连接池的RestTemplate工厂
+ * 按超时时间缓存RestTemplate实例，不同超时的实例共用同一个HttpClient连接池，
+ * 节点级timeout配置无需重建客户端即可生效
+ */
+@Component
+public class PooledRestTemplateFactory {
+    @Autowired
+    private CloseableHttpClient processHttpClient;
+
+    @Autowired
+    private HttpClientProperties httpClientProperties;
+
+    private final Map<Integer, RestTemplate> restTemplates = new ConcurrentHashMap<>();
+
+    /**
+     * 获取默认超时的RestTemplate
+     */
+    public RestTemplate getRestTemplate() {
+        return getRestTemplate(null);
+    }
+
+    /**
+     * 获取指定超时的RestTemplate
+     * @param timeout 超时时间(毫秒)，为空时使用默认配置
+     * @return 共享连接池的RestTemplate
+     */
+    public RestTemplate getRestTemplate(Integer timeout) {
+        int connectTimeout = timeout != null ? timeout : httpClientProperties.getConnectTimeout();
+        int readTimeout = timeout != null ? timeout : httpClientProperties.getReadTimeout();
+        // 未配置超时的节点共用key为-1的默认实例
+        int key = timeout != null ? timeout : -1;
+        return restTemplates.computeIfAbsent(key, k -> createRestTemplate(connectTimeout, readTimeout));
+    }
+
+    private RestTemplate createRestTemplate(int connectTimeout, int readTimeout) {
+        // 注意：此请求工厂不注册为Spring Bean，避免容器销毁时关闭共享HttpClient
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(processHttpClient);
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(readTimeout);
+        requestFactory.setConnectionRequestTimeout(httpClientProperties.getConnectionRequestTimeout());
+        return new RestTemplate(requestFactory);
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.apivisualization.http;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * API调用响应解析
+ * JSON和XML响应直接从输入流解析为Map/List，不先读成String；
+ * 解析结果与数据转换、条件判断节点使用的数据结构一致。XML按元素名嵌套，
+ * 同名子元素合并为List，属性作为同级字段，混合内容的文本放在content字段
+ */
+@Component
+public class ResponseBodyParser {
+    private static final String XML_CONTENT_KEY = "content";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final XMLInputFactory xmlInputFactory = createXmlInputFactory();
+
+    /**
+     * 解析响应体
+     * @param body 响应体输入流
+     * @param contentType 响应内容类型
+     * @return JSON/XML响应解析为Map或List，其他类型返回文本，响应体为空时返回null
+     * @throws IOException 读取响应体失败
+     * @throws IllegalArgumentException 响应内容格式错误
+     */
+    public Object parse(InputStream body, MediaType contentType) throws IOException {
+        if (isJson(contentType)) {
+            return parseJson(body);
+        } else if (isXml(contentType)) {
+            return parseXml(body, charset(contentType));
+        }
+        return StreamUtils.copyToString(body, charset(contentType));
+    }
+
+    private Object parseJson(InputStream body) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() == null) {
+                return null;
+            }
+            return objectMapper.readValue(parser, Object.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("API响应JSON格式错误: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private Object parseXml(InputStream body, Charset charset) {
+        XMLStreamReader reader = null;
+        try {
+            reader = xmlInputFactory.createXMLStreamReader(body, charset.name());
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                    Map<String, Object> root = new LinkedHashMap<>();
+                    root.put(reader.getLocalName(), readElement(reader));
+                    return root;
+                }
+            }
+            return null;
+        } catch (XMLStreamException e) {
+            throw new IllegalArgumentException("API响应XML格式错误: " + e.getMessage(), e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    // 输入流由调用方关闭
+                }
+            }
+        }
+    }
+
+    /**
+     * 读取当前元素直到其结束标签，只有文本的元素返回文本值
+     */
+    private Object readElement(XMLStreamReader reader) throws XMLStreamException {
+        Map<String, Object> fields = null;
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            if (fields == null) {
+                fields = new LinkedHashMap<>();
+            }
+            fields.put(reader.getAttributeLocalName(i), toValue(reader.getAttributeValue(i)));
+        }
+        StringBuilder text = null;
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if (fields == null) {
+                    fields = new LinkedHashMap<>();
+                }
+                addField(fields, reader.getLocalName(), readElement(reader));
+            } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                if (!reader.isWhiteSpace()) {
+                    if (text == null) {
+                        text = new StringBuilder();
+                    }
+                    text.append(reader.getText());
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                break;
+            }
+        }
+        String content = text != null ? text.toString().trim() : "";
+        if (fields == null) {
+            return toValue(content);
+        }
+        if (!content.isEmpty()) {
+            addField(fields, XML_CONTENT_KEY, toValue(content));
+        }
+        return fields;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void addField(Map<String, Object> fields, String name, Object value) {
+        if (!fields.containsKey(name)) {
+            fields.put(name, value);
+            return;
+        }
+        // 元素值只会是Map或文本，已是List说明之前出现过同名元素
+        Object existing = fields.get(name);
+        if (existing instanceof List) {
+            ((List<Object>) existing).add(value);
+        } else {
+            List<Object> values = new ArrayList<>();
+            values.add(existing);
+            values.add(value);
+            fields.put(name, values);
+        }
+    }
+
+    /**
+     * 文本值转换为数字或布尔值，以0开头的多位数字保留为文本(如编号)
+     */
+    static Object toValue(String text) {
+        if (text.isEmpty()) {
+            return text;
+        }
+        if ("true".equalsIgnoreCase(text) || "false".equalsIgnoreCase(text)) {
+            return Boolean.valueOf(text);
+        }
+        char first = text.charAt(0);
+        if ((first < '0' || first > '9') && first != '-') {
+            return text;
+        }
+        String digits = first == '-' ? text.substring(1) : text;
+        if (digits.isEmpty() || (digits.length() > 1 && digits.charAt(0) == '0' && digits.charAt(1) != '.')) {
+            return text;
+        }
+        try {
+            if (digits.indexOf('.') < 0 && digits.indexOf('e') < 0 && digits.indexOf('E') < 0) {
+                long value = Long.parseLong(text);
+                return value == (int) value ? (Object) (int) value : (Object) value;
+            }
+            return Double.valueOf(text);
+        } catch (NumberFormatException e) {
+            return text;
+        }
+    }
+
+    private static boolean isJson(MediaType contentType) {
+        return contentType != null && ("json".equalsIgnoreCase(contentType.getSubtype())
+            || contentType.getSubtype().toLowerCase().endsWith("+json"));
+    }
+
+    private static boolean isXml(MediaType contentType) {
+        return contentType != null && ("xml".equalsIgnoreCase(contentType.getSubtype())
+            || contentType.getSubtype().toLowerCase().endsWith("+xml"));
+    }
+
+    private static Charset charset(MediaType contentType) {
+        return contentType != null && contentType.getCharset() != null
+            ? contentType.getCharset() : StandardCharsets.UTF_8;
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        // 禁止DTD和外部实体，防止XXE
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+}
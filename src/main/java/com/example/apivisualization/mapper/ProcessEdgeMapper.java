@@ -0,0 +1,12 @@
+package com.example.apivisualization.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.example.apivisualization.entity.ProcessEdge;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 流程连线Mapper接口
+ */
+@Mapper
+public interface ProcessEdgeMapper extends BaseMapper<ProcessEdge> {
+}
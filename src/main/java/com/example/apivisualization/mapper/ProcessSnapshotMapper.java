@@ -0,0 +1,12 @@
+package com.example.apivisualization.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.example.apivisualization.entity.ProcessSnapshot;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 流程发布快照Mapper接口
+ */
+@Mapper
+public interface ProcessSnapshotMapper extends BaseMapper<ProcessSnapshot> {
+}
@@ -0,0 +1,12 @@
+package com.example.apivisualization.service;
+
+/**
+ * 流程设计并发修改异常
+ * 保存时的基准修订号与当前修订号不一致，说明设计已被其他人修改
+ */
+public class ProcessDesignConflictException extends RuntimeException {
+    public ProcessDesignConflictException(Long processId, Integer baseRevision, int currentRevision) {
+        super("流程设计已被修改，请刷新后重试 - 流程定义ID: " + processId
+            + ", 基准修订号: " + baseRevision + ", 当前修订号: " + currentRevision);
+    }
+}
@@ -1,8 +1,15 @@
 package com.example.apivisualization.service;
 
+import com.example.apivisualization.context.ProcessExecutionContext;
+import com.example.apivisualization.dto.KeysetPage;
+import com.example.apivisualization.dto.ProcessDesign;
+import com.example.apivisualization.dto.ProcessDesignResult;
+import com.example.apivisualization.engine.ProcessGraph;
 import com.example.apivisualization.entity.ProcessDefinition;
+import com.example.apivisualization.entity.ProcessEdge;
 import com.example.apivisualization.entity.ProcessNode;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * 流程管理服务接口
@@ -35,6 +42,30 @@ public interface ProcessService {
      */
     ProcessDefinition getProcessDefinition(Long id);
 
+    /**
+     * 发布流程定义
+     * 编译当前节点和连线并保存为新版本快照，提交后替换执行计划；进行中的执行继续使用原版本
+     * @param id 流程定义ID
+     * @return 发布后的流程定义
+     */
+    ProcessDefinition publishProcessDefinition(Long id);
+
+    /**
+     * 停用流程定义，停用后不再接受新的执行
+     * @param id 流程定义ID
+     * @return 停用后的流程定义
+     */
+    ProcessDefinition deprecateProcessDefinition(Long id);
+
+    /**
+     * 分页查询流程定义，按ID升序
+     * @param cursor 上一页返回的游标，为空时查询第一页
+     * @param limit 每页行数
+     * @param withDescription 是否查询description字段
+     * @return 流程定义分页
+     */
+    KeysetPage<ProcessDefinition> pageProcessDefinitions(String cursor, int limit, boolean withDescription);
+
     /**
      * 添加流程节点
      * @param processNode 流程节点实体
@@ -62,6 +93,43 @@ public interface ProcessService {
      */
     List<ProcessNode> listProcessNodes(Long processDefinitionId);
 
+    /**
+     * 分页查询流程节点，指定流程定义时按(sort, id)升序，否则按ID升序
+     * @param processDefinitionId 流程定义ID，可为空
+     * @param cursor 上一页返回的游标，为空时查询第一页
+     * @param limit 每页行数
+     * @param withConfig 是否查询config字段
+     * @return 流程节点分页
+     */
+    KeysetPage<ProcessNode> pageProcessNodes(Long processDefinitionId, String cursor, int limit, boolean withConfig);
+
+    /**
+     * 添加流程连线
+     * @param processEdge 流程连线实体
+     * @return 添加后的流程连线
+     */
+    ProcessEdge addProcessEdge(ProcessEdge processEdge);
+
+    /**
+     * 删除流程连线
+     * @param id 流程连线ID
+     */
+    void deleteProcessEdge(Long id);
+
+    /**
+     * 获取流程连线列表
+     * @param processDefinitionId 流程定义ID
+     * @return 流程连线列表
+     */
+    List<ProcessEdge> listProcessEdges(Long processDefinitionId);
+
+    /**
+     * 批量保存流程设计，节点和连线在同一事务中批量写入
+     * @param design 完整或增量的节点和连线
+     * @return 发生变化的节点和连线ID
+     */
+    ProcessDesignResult saveProcessDesign(ProcessDesign design);
+
     /**
      * 执行流程编排
      * @param processDefinitionId 流程定义ID
@@ -69,4 +137,32 @@ public interface ProcessService {
      * @return 执行结果
      */
     Object executeProcess(Long processDefinitionId, Object parameters);
+
+    /**
+     * 获取编译后的流程图
+     * @param processDefinitionId 流程定义ID
+     * @return 流程图
+     */
+    ProcessGraph getProcessGraph(Long processDefinitionId);
+
+    /**
+     * 使用已加载的流程图执行流程编排，批量执行时流程图只加载一次
+     * @param processDefinitionId 流程定义ID
+     * @param graph 流程图
+     * @param parameters 执行参数
+     * @return 执行结果
+     */
+    Object executeProcess(Long processDefinitionId, ProcessGraph graph, Object parameters);
+
+    /**
+     * 流式执行流程编排
+     * 列表结果逐项输出；串行流程末尾连续的数据转换节点在输出时逐项执行，完整结果不会同时存在于内存中
+     * @param processDefinitionId 流程定义ID
+     * @param parameters 执行参数
+     * @param elementConsumer 结果元素消费者，非列表结果作为单个元素输出
+     * @return 执行上下文，执行失败时包含失败节点和异常
+     * @throws RuntimeException 结果元素消费者抛出的异常，输出中止，不记为节点失败
+     */
+    ProcessExecutionContext executeProcessStreaming(Long processDefinitionId, Object parameters, 
+                                                    Consumer<Object> elementConsumer);
 }
\ No newline at end of file
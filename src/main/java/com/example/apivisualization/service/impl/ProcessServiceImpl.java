@@ -1,31 +1,161 @@
 package com.example.apivisualization.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.baomidou.mybatisplus.extension.toolkit.Db;
+import com.example.apivisualization.config.ProcessExecutorProperties;
+import com.example.apivisualization.context.ProcessExecutionContext;
+import com.example.apivisualization.dto.KeysetPage;
+import com.example.apivisualization.dto.ProcessDesign;
+import com.example.apivisualization.dto.ProcessDesignResult;
+import com.example.apivisualization.engine.DagProcessExecutor;
+import com.example.apivisualization.engine.ExecutionPlan;
+import com.example.apivisualization.engine.ProcessDefinitionCache;
+import com.example.apivisualization.engine.ProcessGraph;
+import com.example.apivisualization.engine.ProcessMetrics;
+import com.example.apivisualization.engine.PublishedPlanRegistry;
+import com.example.apivisualization.engine.node.ApiCallConfig;
+import com.example.apivisualization.engine.node.ConditionalConfig;
+import com.example.apivisualization.engine.node.NodeConfig;
+import com.example.apivisualization.engine.node.NodeConfigCompiler;
+import com.example.apivisualization.engine.node.TransformConfig;
+import com.example.apivisualization.engine.retry.RetryScheduler;
+import com.example.apivisualization.engine.trace.ExecutionTracer;
+import com.example.apivisualization.engine.transform.ParallelTransformer;
+import com.example.apivisualization.engine.transform.RowTransform;
+import com.example.apivisualization.engine.transform.RowTransforms;
 import com.example.apivisualization.entity.ProcessDefinition;
+import com.example.apivisualization.entity.ProcessEdge;
 import com.example.apivisualization.entity.ProcessNode;
+import com.example.apivisualization.entity.ProcessSnapshot;
+import com.example.apivisualization.exception.ErrorCode;
+import com.example.apivisualization.exception.ProcessException;
+import com.example.apivisualization.exception.RetryableException;
+import com.example.apivisualization.http.ApiResponseCache;
+import com.example.apivisualization.http.AsyncApiClient;
+import com.example.apivisualization.http.DownstreamGuard;
+import com.example.apivisualization.http.PooledRestTemplateFactory;
+import com.example.apivisualization.http.ResponseBodyParser;
 import com.example.apivisualization.mapper.ProcessDefinitionMapper;
+import com.example.apivisualization.mapper.ProcessEdgeMapper;
 import com.example.apivisualization.mapper.ProcessNodeMapper;
+import com.example.apivisualization.mapper.ProcessSnapshotMapper;
+import com.example.apivisualization.service.ProcessDesignConflictException;
 import com.example.apivisualization.service.ProcessService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * 流程管理服务实现类
  */
+@Slf4j
 @Service
 public class ProcessServiceImpl implements ProcessService {
+    /**
+     * 保存流程设计时每批写入的行数
+     */
+    private static final int DESIGN_BATCH_SIZE = 500;
+
+    /**
+     * 分页查询每页最大行数
+     */
+    private static final int MAX_PAGE_SIZE = 500;
+
     @Autowired
     private ProcessDefinitionMapper processDefinitionMapper;
     
     @Autowired
     private ProcessNodeMapper processNodeMapper;
+    
+    @Autowired
+    private ProcessEdgeMapper processEdgeMapper;
+    
+    @Autowired
+    private PooledRestTemplateFactory pooledRestTemplateFactory;
+    
+    @Autowired
+    private AsyncApiClient asyncApiClient;
+    
+    @Autowired
+    private ProcessDefinitionCache processDefinitionCache;
+    
+    @Autowired
+    private PublishedPlanRegistry publishedPlanRegistry;
+    
+    @Autowired
+    private ProcessSnapshotMapper processSnapshotMapper;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private DagProcessExecutor dagProcessExecutor;
+    
+    @Autowired
+    private ProcessMetrics processMetrics;
+    
+    @Autowired
+    private ExecutionTracer executionTracer;
+    
+    @Autowired
+    private RetryScheduler retryScheduler;
+    
+    @Autowired
+    private DownstreamGuard downstreamGuard;
+    
+    @Autowired
+    private ApiResponseCache apiResponseCache;
+    
+    @Autowired
+    private ResponseBodyParser responseBodyParser;
+
+    @Autowired
+    private ParallelTransformer parallelTransformer;
+
+    @Autowired
+    private ProcessExecutorProperties processExecutorProperties;
 
     @Override
     @Transactional
     public ProcessDefinition createProcessDefinition(ProcessDefinition processDefinition) {
+        processDefinition.setVersion(0);
+        processDefinition.setStatus(ProcessDefinition.STATUS_DRAFT);
         processDefinitionMapper.insert(processDefinition);
         return processDefinition;
     }
@@ -34,6 +164,7 @@ public class ProcessServiceImpl implements ProcessService {
     @Transactional
     public ProcessDefinition updateProcessDefinition(ProcessDefinition processDefinition) {
         processDefinitionMapper.updateById(processDefinition);
+        invalidateNodeCacheAfterCommit(processDefinition.getId());
         return processDefinition;
     }
 
@@ -46,6 +177,12 @@ public class ProcessServiceImpl implements ProcessService {
         LambdaQueryWrapper<ProcessNode> wrapper = new LambdaQueryWrapper<>();
         wrapper.eq(ProcessNode::getProcessDefinitionId, id);
         processNodeMapper.delete(wrapper);
+        // 删除关联的流程连线
+        LambdaQueryWrapper<ProcessEdge> edgeWrapper = new LambdaQueryWrapper<>();
+        edgeWrapper.eq(ProcessEdge::getProcessDefinitionId, id);
+        processEdgeMapper.delete(edgeWrapper);
+        invalidateNodeCacheAfterCommit(id);
+        runAfterCommit(() -> publishedPlanRegistry.remove(id));
     }
 
     @Override
@@ -53,24 +190,177 @@ public class ProcessServiceImpl implements ProcessService {
         return processDefinitionMapper.selectById(id);
     }
 
+    @Override
+    @Transactional
+    public ProcessDefinition publishProcessDefinition(Long id) {
+        ProcessDefinition definition = processDefinitionMapper.selectById(id);
+        if (definition == null) {
+            throw new IllegalArgumentException("流程定义不存在: " + id);
+        }
+        
+        // 1. 编译当前节点和连线，节点配置、连线条件不合法或存在循环时拒绝发布
+        List<ProcessNode> nodes = listProcessNodes(id);
+        List<ProcessEdge> edges = listProcessEdges(id);
+        for (ProcessNode node : nodes) {
+            node.setCompiledConfig(NodeConfigCompiler.compile(node.getType(), node.getConfig()));
+        }
+        ProcessGraph graph = ProcessGraph.build(nodes, edges);
+        
+        // 2. 递增版本号，版本号作为乐观锁，同一流程并发发布时只有一个成功
+        int current = definition.getVersion() != null ? definition.getVersion() : 0;
+        int version = current + 1;
+        LambdaUpdateWrapper<ProcessDefinition> wrapper = new LambdaUpdateWrapper<>();
+        wrapper.eq(ProcessDefinition::getId, id)
+               .eq(ProcessDefinition::getVersion, current)
+               .set(ProcessDefinition::getVersion, version)
+               .set(ProcessDefinition::getStatus, ProcessDefinition.STATUS_PUBLISHED);
+        if (processDefinitionMapper.update(null, wrapper) == 0) {
+            throw new IllegalStateException("流程正在被其他请求发布，请刷新后重试 - 流程定义ID: " + id);
+        }
+        
+        // 3. 保存快照，重启后按快照恢复执行计划，不读取之后修改的草稿
+        ProcessSnapshot snapshot = new ProcessSnapshot();
+        snapshot.setProcessDefinitionId(id);
+        snapshot.setVersion(version);
+        try {
+            snapshot.setNodes(objectMapper.writeValueAsString(nodes));
+            snapshot.setEdges(objectMapper.writeValueAsString(edges));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("流程发布快照序列化失败: " + e.getMessage(), e);
+        }
+        processSnapshotMapper.insert(snapshot);
+        
+        // 4. 提交后替换执行计划
+        ExecutionPlan plan = new ExecutionPlan(id, version, graph);
+        runAfterCommit(() -> publishedPlanRegistry.publish(plan));
+        log.info("流程发布完成 - 流程定义ID: {}, 版本号: {}", id, version);
+        
+        definition.setVersion(version);
+        definition.setStatus(ProcessDefinition.STATUS_PUBLISHED);
+        return definition;
+    }
+
+    @Override
+    @Transactional
+    public ProcessDefinition deprecateProcessDefinition(Long id) {
+        LambdaUpdateWrapper<ProcessDefinition> wrapper = new LambdaUpdateWrapper<>();
+        wrapper.eq(ProcessDefinition::getId, id)
+               .set(ProcessDefinition::getStatus, ProcessDefinition.STATUS_DEPRECATED);
+        if (processDefinitionMapper.update(null, wrapper) == 0) {
+            throw new IllegalArgumentException("流程定义不存在: " + id);
+        }
+        // 更新后行已锁定，读取的版本号即停用的版本；停用前开始加载的该版本快照不会再发布
+        ProcessDefinition definition = processDefinitionMapper.selectById(id);
+        int version = definition.getVersion() != null ? definition.getVersion() : 0;
+        runAfterCommit(() -> publishedPlanRegistry.remove(id, version));
+        invalidateNodeCacheAfterCommit(id);
+        return definition;
+    }
+
+    @Override
+    public KeysetPage<ProcessDefinition> pageProcessDefinitions(String cursor, int limit, boolean withDescription) {
+        int pageSize = pageSize(limit);
+        LambdaQueryWrapper<ProcessDefinition> wrapper = new LambdaQueryWrapper<>();
+        if (withDescription) {
+            wrapper.select(ProcessDefinition::getId, ProcessDefinition::getName, ProcessDefinition::getDescription,
+                ProcessDefinition::getRevision, ProcessDefinition::getVersion, ProcessDefinition::getStatus, 
+                ProcessDefinition::getCreateTime, ProcessDefinition::getUpdateTime);
+        } else {
+            wrapper.select(ProcessDefinition::getId, ProcessDefinition::getName, ProcessDefinition::getRevision, 
+                ProcessDefinition::getVersion, ProcessDefinition::getStatus, 
+                ProcessDefinition::getCreateTime, ProcessDefinition::getUpdateTime);
+        }
+        if (cursor != null && !cursor.isEmpty()) {
+            wrapper.gt(ProcessDefinition::getId, parseCursorId(cursor));
+        }
+        // 多查一行判断是否还有下一页
+        wrapper.orderByAsc(ProcessDefinition::getId).last("LIMIT " + (pageSize + 1));
+        return keysetPage(processDefinitionMapper.selectList(wrapper), pageSize,
+            definition -> String.valueOf(definition.getId()));
+    }
+
     @Override
     @Transactional
     public ProcessNode addProcessNode(ProcessNode processNode) {
+        compileNodeConfig(processNode, null);
         processNodeMapper.insert(processNode);
+        invalidateNodeCacheAfterCommit(processNode.getProcessDefinitionId());
         return processNode;
     }
 
     @Override
     @Transactional
     public ProcessNode updateProcessNode(ProcessNode processNode) {
+        ProcessNode existing = processNode.getId() != null ? processNodeMapper.selectById(processNode.getId()) : null;
+        Long processDefinitionId = existing != null ? existing.getProcessDefinitionId() : null;
+        compileNodeConfig(processNode, existing);
         processNodeMapper.updateById(processNode);
+        apiResponseCache.evict(processNode.getId());
+        invalidateNodeCacheAfterCommit(processDefinitionId);
+        // 节点移动到其他流程时同时失效目标流程
+        if (processNode.getProcessDefinitionId() != null 
+                && !processNode.getProcessDefinitionId().equals(processDefinitionId)) {
+            invalidateNodeCacheAfterCommit(processNode.getProcessDefinitionId());
+        }
         return processNode;
     }
 
     @Override
     @Transactional
     public void deleteProcessNode(Long id) {
+        Long processDefinitionId = resolveProcessDefinitionId(id);
         processNodeMapper.deleteById(id);
+        apiResponseCache.evict(id);
+        processMetrics.evictNode(id);
+        invalidateNodeCacheAfterCommit(processDefinitionId);
+    }
+    
+    /**
+     * 查询节点当前所属的流程定义ID
+     */
+    private Long resolveProcessDefinitionId(Long nodeId) {
+        if (nodeId == null) {
+            return null;
+        }
+        ProcessNode existing = processNodeMapper.selectById(nodeId);
+        return existing != null ? existing.getProcessDefinitionId() : null;
+    }
+    
+    /**
+     * 事务提交后失效流程节点缓存，避免并发执行在提交前把旧数据重新加载进缓存
+     */
+    private void invalidateNodeCacheAfterCommit(Long processDefinitionId) {
+        if (processDefinitionId == null) {
+            return;
+        }
+        runAfterCommit(() -> processDefinitionCache.invalidate(processDefinitionId));
+    }
+    
+    /**
+     * 在当前事务提交后执行，没有事务时立即执行；事务回滚时不执行
+     */
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 节点保存前按类型校验并编译配置，配置不合法时抛出IllegalArgumentException，节点不会保存
+     * 更新时未提交的类型或配置沿用已保存的值；非引擎节点及未填写配置的节点不编译
+     */
+    private void compileNodeConfig(ProcessNode processNode, ProcessNode existing) {
+        String type = processNode.getType() == null && existing != null ? existing.getType() : processNode.getType();
+        String config = processNode.getConfig() == null && existing != null 
+            ? existing.getConfig() : processNode.getConfig();
+        processNode.setCompiledConfig(NodeConfigCompiler.compileIfPresent(type, config));
     }
 
     @Override
@@ -80,46 +370,641 @@ public class ProcessServiceImpl implements ProcessService {
                .orderByAsc(ProcessNode::getSort);
         return processNodeMapper.selectList(wrapper);
     }
-
-    @Override
-    public Object executeProcess(Long processDefinitionId, Object parameters) {
-        // 1. 获取流程节点列表
-        List<ProcessNode> nodes = listProcessNodes(processDefinitionId);
-        
-        // 2. 创建执行上下文
-        ProcessExecutionContext context = new ProcessExecutionContext(parameters);
-        
-        // 3. 按顺序执行节点
-        for (ProcessNode node : nodes) {
+
+    @Override
+    public KeysetPage<ProcessNode> pageProcessNodes(Long processDefinitionId, String cursor, int limit, 
+                                                    boolean withConfig) {
+        int pageSize = pageSize(limit);
+        LambdaQueryWrapper<ProcessNode> wrapper = new LambdaQueryWrapper<>();
+        if (withConfig) {
+            wrapper.select(ProcessNode::getId, ProcessNode::getProcessDefinitionId, ProcessNode::getName,
+                ProcessNode::getType, ProcessNode::getConfig, ProcessNode::getSort, 
+                ProcessNode::getCreateTime, ProcessNode::getUpdateTime);
+        } else {
+            wrapper.select(ProcessNode::getId, ProcessNode::getProcessDefinitionId, ProcessNode::getName,
+                ProcessNode::getType, ProcessNode::getSort, ProcessNode::getCreateTime, ProcessNode::getUpdateTime);
+        }
+        boolean hasCursor = cursor != null && !cursor.isEmpty();
+        if (processDefinitionId == null) {
+            if (hasCursor) {
+                wrapper.gt(ProcessNode::getId, parseCursorId(cursor));
+            }
+            wrapper.orderByAsc(ProcessNode::getId).last("LIMIT " + (pageSize + 1));
+            return keysetPage(processNodeMapper.selectList(wrapper), pageSize, node -> String.valueOf(node.getId()));
+        }
+        
+        // 游标为"sort:id"，sort为空时为":id"；MySQL升序排序时sort为空的行在最前
+        wrapper.eq(ProcessNode::getProcessDefinitionId, processDefinitionId);
+        if (hasCursor) {
+            int separator = cursor.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("无效的分页游标: " + cursor);
+            }
+            Long lastId = parseCursorId(cursor.substring(separator + 1));
+            if (separator == 0) {
+                wrapper.and(w -> w.isNotNull(ProcessNode::getSort)
+                    .or(q -> q.isNull(ProcessNode::getSort).gt(ProcessNode::getId, lastId)));
+            } else {
+                Integer lastSort = parseCursorId(cursor.substring(0, separator)).intValue();
+                wrapper.and(w -> w.gt(ProcessNode::getSort, lastSort)
+                    .or(q -> q.eq(ProcessNode::getSort, lastSort).gt(ProcessNode::getId, lastId)));
+            }
+        }
+        wrapper.orderByAsc(ProcessNode::getSort, ProcessNode::getId).last("LIMIT " + (pageSize + 1));
+        return keysetPage(processNodeMapper.selectList(wrapper), pageSize,
+            node -> (node.getSort() != null ? node.getSort() : "") + ":" + node.getId());
+    }
+
+    /**
+     * 每页行数限制在[1, MAX_PAGE_SIZE]之间
+     */
+    private static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    private static Long parseCursorId(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("无效的分页游标: " + value, e);
+        }
+    }
+
+    /**
+     * 查询结果多于每页行数时截取一页，并以最后一行的排序键作为下一页游标
+     */
+    private static <T> KeysetPage<T> keysetPage(List<T> rows, int pageSize, Function<T, String> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = new ArrayList<>(rows.subList(0, pageSize));
+        return new KeysetPage<>(items, cursorOf.apply(items.get(pageSize - 1)));
+    }
+
+    @Override
+    @Transactional
+    public ProcessEdge addProcessEdge(ProcessEdge processEdge) {
+        processEdgeMapper.insert(processEdge);
+        invalidateNodeCacheAfterCommit(processEdge.getProcessDefinitionId());
+        return processEdge;
+    }
+
+    @Override
+    @Transactional
+    public void deleteProcessEdge(Long id) {
+        ProcessEdge existing = processEdgeMapper.selectById(id);
+        processEdgeMapper.deleteById(id);
+        if (existing != null) {
+            invalidateNodeCacheAfterCommit(existing.getProcessDefinitionId());
+        }
+    }
+
+    @Override
+    public List<ProcessEdge> listProcessEdges(Long processDefinitionId) {
+        LambdaQueryWrapper<ProcessEdge> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(ProcessEdge::getProcessDefinitionId, processDefinitionId)
+               .orderByAsc(ProcessEdge::getId);
+        return processEdgeMapper.selectList(wrapper);
+    }
+
+    @Override
+    @Transactional
+    public ProcessDesignResult saveProcessDesign(ProcessDesign design) {
+        Long processId = design.getProcessId();
+        if (processId == null) {
+            throw new IllegalArgumentException("缺少流程定义ID");
+        }
+        boolean full = !ProcessDesign.MODE_DELTA.equalsIgnoreCase(design.getMode());
+        ProcessDesignResult result = new ProcessDesignResult();
+        result.setProcessId(processId);
+        // 先更新修订号：同时锁定流程定义行，同一流程的设计保存串行执行
+        result.setRevision(advanceRevision(processId, design.getBaseRevision()));
+
+        // 1. 节点：已保存的节点按数据库ID匹配，只写入有变化的字段
+        Map<Long, ProcessNode> existingNodes = new HashMap<>();
+        for (ProcessNode node : listProcessNodes(processId)) {
+            existingNodes.put(node.getId(), node);
+        }
+        Map<String, Long> nodeIds = new HashMap<>();
+        existingNodes.keySet().forEach(id -> nodeIds.put(String.valueOf(id), id));
+        List<ProcessNode> createdNodes = new ArrayList<>();
+        List<String> createdKeys = new ArrayList<>();
+        List<ProcessNode> updatedNodes = new ArrayList<>();
+        Set<Long> keptNodeIds = new HashSet<>();
+        for (ProcessDesign.Node designNode : nullToEmpty(design.getNodes())) {
+            ProcessNode existing = existingNodes.get(parseId(designNode.getId()));
+            if (existing == null) {
+                createdNodes.add(toProcessNode(designNode, processId, null));
+                createdKeys.add(designNode.getId());
+            } else {
+                keptNodeIds.add(existing.getId());
+                if (isNodeChanged(existing, designNode)) {
+                    updatedNodes.add(toProcessNode(designNode, processId, existing));
+                }
+            }
+        }
+        Set<Long> deletedNodeIds = new HashSet<>(full ? existingNodes.keySet() : nullToEmpty(design.getDeletedNodeIds()));
+        deletedNodeIds.retainAll(existingNodes.keySet());
+        deletedNodeIds.removeAll(keptNodeIds);
+
+        if (!createdNodes.isEmpty()) {
+            Db.saveBatch(createdNodes, DESIGN_BATCH_SIZE);
+            for (int i = 0; i < createdNodes.size(); i++) {
+                nodeIds.put(createdKeys.get(i), createdNodes.get(i).getId());
+                result.getCreatedNodeIds().put(createdKeys.get(i), createdNodes.get(i).getId());
+            }
+        }
+        if (!updatedNodes.isEmpty()) {
+            Db.updateBatchById(updatedNodes, DESIGN_BATCH_SIZE);
+            updatedNodes.forEach(node -> result.getUpdatedNodeIds().add(node.getId()));
+        }
+        if (!deletedNodeIds.isEmpty()) {
+            Db.removeByIds(deletedNodeIds, ProcessNode.class);
+            result.getDeletedNodeIds().addAll(deletedNodeIds);
+        }
+
+        // 2. 连线：按起止节点匹配已保存的连线，只更新条件有变化的连线
+        Map<String, ProcessEdge> existingEdges = new HashMap<>();
+        for (ProcessEdge edge : listProcessEdges(processId)) {
+            existingEdges.put(edge.getSourceNodeId() + "->" + edge.getTargetNodeId(), edge);
+        }
+        List<ProcessEdge> createdEdges = new ArrayList<>();
+        List<ProcessEdge> updatedEdges = new ArrayList<>();
+        Set<Long> keptEdgeIds = new HashSet<>();
+        for (ProcessDesign.Edge designEdge : nullToEmpty(design.getEdges())) {
+            Long sourceId = nodeIds.get(designEdge.getSource());
+            Long targetId = nodeIds.get(designEdge.getTarget());
+            if (sourceId == null || targetId == null
+                    || deletedNodeIds.contains(sourceId) || deletedNodeIds.contains(targetId)) {
+                throw new IllegalArgumentException("连线引用的节点不存在: " 
+                    + designEdge.getSource() + " -> " + designEdge.getTarget());
+            }
+            String condition = designEdge.getCondition() == null || designEdge.getCondition().trim().isEmpty()
+                ? null : designEdge.getCondition();
+            ProcessEdge existing = existingEdges.get(sourceId + "->" + targetId);
+            if (existing == null) {
+                ProcessEdge edge = new ProcessEdge();
+                edge.setProcessDefinitionId(processId);
+                edge.setSourceNodeId(sourceId);
+                edge.setTargetNodeId(targetId);
+                edge.setCondition(condition);
+                createdEdges.add(edge);
+            } else if (keptEdgeIds.add(existing.getId()) && !Objects.equals(existing.getCondition(), condition)) {
+                ProcessEdge edge = new ProcessEdge();
+                edge.setId(existing.getId());
+                edge.setCondition(condition);
+                updatedEdges.add(edge);
+            }
+        }
+        Set<Long> deletedEdgeIds = new HashSet<>();
+        for (ProcessEdge edge : existingEdges.values()) {
+            boolean removed = full ? !keptEdgeIds.contains(edge.getId())
+                : nullToEmpty(design.getDeletedEdgeIds()).contains(edge.getId());
+            if (removed || deletedNodeIds.contains(edge.getSourceNodeId()) 
+                    || deletedNodeIds.contains(edge.getTargetNodeId())) {
+                deletedEdgeIds.add(edge.getId());
+            }
+        }
+
+        if (!createdEdges.isEmpty()) {
+            Db.saveBatch(createdEdges, DESIGN_BATCH_SIZE);
+            createdEdges.forEach(edge -> result.getCreatedEdgeIds().add(edge.getId()));
+        }
+        if (!updatedEdges.isEmpty()) {
+            // 条件清空时也需要写入null，不能使用忽略null字段的updateById
+            for (ProcessEdge edge : updatedEdges) {
+                LambdaUpdateWrapper<ProcessEdge> wrapper = new LambdaUpdateWrapper<>();
+                wrapper.eq(ProcessEdge::getId, edge.getId()).set(ProcessEdge::getCondition, edge.getCondition());
+                processEdgeMapper.update(null, wrapper);
+                result.getUpdatedEdgeIds().add(edge.getId());
+            }
+        }
+        if (!deletedEdgeIds.isEmpty()) {
+            Db.removeByIds(deletedEdgeIds, ProcessEdge.class);
+            result.getDeletedEdgeIds().addAll(deletedEdgeIds);
+        }
+
+        // 3. 响应缓存和流程节点缓存
+        for (ProcessNode node : updatedNodes) {
+            apiResponseCache.evict(node.getId());
+        }
+        for (Long id : deletedNodeIds) {
+            apiResponseCache.evict(id);
+            processMetrics.evictNode(id);
+        }
+        invalidateNodeCacheAfterCommit(processId);
+        return result;
+    }
+
+    /**
+     * 校验并递增流程修订号
+     * @return 递增后的修订号
+     */
+    private int advanceRevision(Long processId, Integer baseRevision) {
+        ProcessDefinition definition = processDefinitionMapper.selectById(processId);
+        if (definition == null) {
+            throw new IllegalArgumentException("流程定义不存在: " + processId);
+        }
+        int current = definition.getRevision() != null ? definition.getRevision() : 0;
+        if (baseRevision != null && baseRevision != current) {
+            throw new ProcessDesignConflictException(processId, baseRevision, current);
+        }
+        LambdaUpdateWrapper<ProcessDefinition> wrapper = new LambdaUpdateWrapper<>();
+        wrapper.eq(ProcessDefinition::getId, processId)
+               .set(ProcessDefinition::getRevision, current + 1);
+        if (definition.getRevision() == null) {
+            wrapper.isNull(ProcessDefinition::getRevision);
+        } else {
+            wrapper.eq(ProcessDefinition::getRevision, current);
+        }
+        // 读取后其他事务已保存时更新行数为0
+        if (processDefinitionMapper.update(null, wrapper) == 0) {
+            throw new ProcessDesignConflictException(processId, current, current + 1);
+        }
+        return current + 1;
+    }
+
+    /**
+     * 设计器节点转换为节点实体，更新时只保留有变化的字段
+     */
+    private ProcessNode toProcessNode(ProcessDesign.Node designNode, Long processId, ProcessNode existing) {
+        ProcessNode node = new ProcessNode();
+        if (existing != null) {
+            node.setId(existing.getId());
+            // 类型和配置用于校验编译，未修改时沿用原值
+            node.setType(designNode.getType() != null ? designNode.getType() : existing.getType());
+            node.setConfig(designNode.getConfig() != null ? designNode.getConfig() : existing.getConfig());
+        } else {
+            node.setProcessDefinitionId(processId);
+            node.setType(designNode.getType());
+            node.setConfig(designNode.getConfig());
+        }
+        node.setName(designNode.getName());
+        node.setSort(designNode.getSort());
+        // 写入前编译，任一节点配置不合法时整个设计不保存；设计器拖入的start、end等节点及未配置的节点原样保存
+        node.setCompiledConfig(NodeConfigCompiler.compileIfPresent(node.getType(), node.getConfig()));
+        return node;
+    }
+
+    private static boolean isNodeChanged(ProcessNode existing, ProcessDesign.Node designNode) {
+        return (designNode.getName() != null && !designNode.getName().equals(existing.getName()))
+            || (designNode.getType() != null && !designNode.getType().equals(existing.getType()))
+            || (designNode.getConfig() != null && !designNode.getConfig().equals(existing.getConfig()))
+            || (designNode.getSort() != null && !designNode.getSort().equals(existing.getSort()));
+    }
+
+    /**
+     * 解析已保存节点的数据库ID，设计器临时ID返回null
+     */
+    private static Long parseId(String id) {
+        if (id == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static <T> List<T> nullToEmpty(List<T> list) {
+        return list != null ? list : Collections.emptyList();
+    }
+
+    @Override
+    public Object executeProcess(Long processDefinitionId, Object parameters) {
+        // 1. 获取编译后的流程图(优先读取缓存)
+        return executeProcess(processDefinitionId, getProcessGraph(processDefinitionId), parameters);
+    }
+
+    @Override
+    public ProcessGraph getProcessGraph(Long processDefinitionId) {
+        // 已发布的流程直接读取执行计划，不加锁也不访问数据库
+        ExecutionPlan plan = publishedPlanRegistry.get(processDefinitionId);
+        if (plan != null) {
+            return plan.getGraph();
+        }
+        return processDefinitionCache.getGraph(processDefinitionId, () -> loadProcessGraph(processDefinitionId));
+    }
+    
+    /**
+     * 加载流程图：已发布的流程按最近一次发布的快照恢复执行计划，草稿读取当前节点和连线
+     */
+    private ProcessGraph loadProcessGraph(Long processDefinitionId) {
+        ProcessDefinition definition = processDefinitionMapper.selectById(processDefinitionId);
+        String status = definition != null ? definition.getStatus() : null;
+        if (ProcessDefinition.STATUS_DEPRECATED.equals(status)) {
+            throw new IllegalArgumentException("流程已停用: " + processDefinitionId);
+        }
+        if (ProcessDefinition.STATUS_PUBLISHED.equals(status)) {
+            ExecutionPlan plan = publishedPlanRegistry.publish(loadExecutionPlan(definition));
+            if (plan == null) {
+                // 加载期间流程被停用或删除
+                throw new IllegalArgumentException("流程已停用: " + processDefinitionId);
+            }
+            return plan.getGraph();
+        }
+        return ProcessGraph.build(
+            compileNodeConfigs(listProcessNodes(processDefinitionId)), listProcessEdges(processDefinitionId));
+    }
+    
+    /**
+     * 由发布快照编译执行计划，用于重启后或计划被移除后首次执行
+     */
+    private ExecutionPlan loadExecutionPlan(ProcessDefinition definition) {
+        LambdaQueryWrapper<ProcessSnapshot> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(ProcessSnapshot::getProcessDefinitionId, definition.getId())
+               .eq(ProcessSnapshot::getVersion, definition.getVersion());
+        ProcessSnapshot snapshot = processSnapshotMapper.selectOne(wrapper);
+        if (snapshot == null) {
+            throw new IllegalStateException("流程发布快照不存在 - 流程定义ID: " + definition.getId() 
+                + ", 版本号: " + definition.getVersion());
+        }
+        try {
+            List<ProcessNode> nodes = objectMapper.readValue(snapshot.getNodes(), 
+                new TypeReference<List<ProcessNode>>() { });
+            List<ProcessEdge> edges = objectMapper.readValue(snapshot.getEdges(), 
+                new TypeReference<List<ProcessEdge>>() { });
+            return new ExecutionPlan(definition.getId(), snapshot.getVersion(), 
+                ProcessGraph.build(compileNodeConfigs(nodes), edges));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("流程发布快照解析失败: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * 加载流程图时编译节点配置，配置已在保存时校验；
+     * 非引擎节点、未配置的节点及仍无法编译的历史数据保留为空，执行到该节点时报告配置错误
+     */
+    private List<ProcessNode> compileNodeConfigs(List<ProcessNode> nodes) {
+        for (ProcessNode node : nodes) {
+            try {
+                node.setCompiledConfig(NodeConfigCompiler.compileIfPresent(node.getType(), node.getConfig()));
+            } catch (IllegalArgumentException e) {
+                log.warn("流程节点配置编译失败 - 节点ID: {}, 错误信息: {}", node.getId(), e.getMessage());
+            }
+        }
+        return nodes;
+    }
+    
+    /**
+     * 获取节点的编译配置，直接构建的流程图(未经过加载)在首次执行时编译
+     */
+    private NodeConfig resolveNodeConfig(ProcessNode node) {
+        NodeConfig config = node.getCompiledConfig();
+        if (config == null) {
+            // 编译结果不可变，并发执行重复编译时任一结果均可使用
+            config = NodeConfigCompiler.compile(node.getType(), node.getConfig());
+            node.setCompiledConfig(config);
+        }
+        return config;
+    }
+
+    @Override
+    public Object executeProcess(Long processDefinitionId, ProcessGraph graph, Object parameters) {
+        // 2. 创建执行上下文
+        ProcessExecutionContext context = new ProcessExecutionContext(parameters);
+        context.setTimeoutMillis(processExecutorProperties.getProcessTimeout());
+        long startTime = System.nanoTime();
+        processMetrics.processStarted();
+        
+        // 3. 存在连线时按流程图并行执行，否则按sort顺序执行
+        try {
+            if (graph.isGraph()) {
+                executeGraph(graph, context);
+            } else {
+                executeSequential(processDefinitionId, graph.getNodes(), context);
+            }
+        } finally {
+            processMetrics.processFinished(processDefinitionId, context.getException() == null, 
+                System.nanoTime() - startTime);
+            executionTracer.processFinished(processDefinitionId, graph.getNodes(), context);
+        }
+        
+        return completeProcess(processDefinitionId, context);
+    }
+
+    @Override
+    public ProcessExecutionContext executeProcessStreaming(Long processDefinitionId, Object parameters, 
+                                                           Consumer<Object> elementConsumer) {
+        ProcessGraph graph = getProcessGraph(processDefinitionId);
+        ProcessExecutionContext context = new ProcessExecutionContext(parameters);
+        context.setTimeoutMillis(processExecutorProperties.getProcessTimeout());
+        long startTime = System.nanoTime();
+        processMetrics.processStarted();
+        try {
+            executeStreaming(processDefinitionId, graph, context, elementConsumer);
+        } finally {
+            processMetrics.processFinished(processDefinitionId, context.getException() == null, 
+                System.nanoTime() - startTime);
+            executionTracer.processFinished(processDefinitionId, graph.getNodes(), context);
+        }
+        completeProcess(processDefinitionId, context);
+        return context;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void executeStreaming(Long processDefinitionId, ProcessGraph graph, ProcessExecutionContext context, 
+                                  Consumer<Object> elementConsumer) {
+        List<ProcessNode> nodes = graph.getNodes();
+        
+        // 1. 串行流程末尾连续的数据转换节点不整体执行，改为输出时逐项转换
+        int tailStart = nodes.size();
+        if (graph.isGraph()) {
+            executeGraph(graph, context);
+        } else {
+            while (tailStart > 0 && "DATA_TRANSFORM".equals(nodes.get(tailStart - 1).getType())) {
+                tailStart--;
+            }
+            executeSequential(processDefinitionId, nodes.subList(0, tailStart), context);
+        }
+        if (context.getException() != null) {
+            return;
+        }
+        
+        // 2. 逐项转换并输出，完整的转换结果不会同时存在于内存中
+        List<ProcessNode> tailNodes = nodes.subList(tailStart, nodes.size());
+        Object result = context.getCurrentParameters();
+        if (!(result instanceof List) || tailNodes.isEmpty()) {
+            executeSequential(processDefinitionId, tailNodes, context);
+            if (context.getException() == null) {
+                emitElements(context.getCurrentParameters(), elementConsumer, context);
+            }
+        } else {
+            streamTransforms(tailNodes, (List<Object>) result, context, elementConsumer);
+        }
+    }
+    
+    /**
+     * 对列表逐项应用末尾的数据转换节点并输出
+     */
+    private void streamTransforms(List<ProcessNode> tailNodes, List<Object> items, ProcessExecutionContext context, 
+                                  Consumer<Object> elementConsumer) {
+        List<RowTransform> steps = new ArrayList<>(tailNodes.size());
+        for (ProcessNode node : tailNodes) {
+            try {
+                steps.add(compileRowTransform(node));
+            } catch (RuntimeException e) {
+                // 配置错误时不输出任何元素，记录失败节点
+                context.setNodeStatus(node.getId(), "FAILED");
+                context.setFailedNode(node.getId());
+                context.setException(e);
+                return;
+            }
+        }
+        RowTransform transform = RowTransforms.fuse(steps);
+        long startTime = System.nanoTime();
+        for (Object item : items) {
+            Object output;
+            try {
+                output = transform.applyItem(item);
+            } catch (RuntimeException e) {
+                // 已输出的元素无法撤回，失败记录在末尾转换节点上
+                ProcessNode failedNode = tailNodes.get(tailNodes.size() - 1);
+                executionTracer.nodeFailed(failedNode, item, e, startTime, System.nanoTime() - startTime, context);
+                context.setNodeStatus(failedNode.getId(), "FAILED");
+                context.setFailedNode(failedNode.getId());
+                context.setException(e);
+                return;
+            }
+            emitElement(output, elementConsumer, context);
+        }
+        long costNanos = System.nanoTime() - startTime;
+        for (ProcessNode node : tailNodes) {
+            context.setNodeStatus(node.getId(), "SUCCESS");
+            processMetrics.recordNode(node, ProcessMetrics.OUTCOME_FUSED, costNanos);
+        }
+        executionTracer.nodesFused(tailNodes, startTime, costNanos, context);
+    }
+    
+    /**
+     * 输出执行结果，列表结果逐项输出
+     */
+    @SuppressWarnings("unchecked")
+    private void emitElements(Object result, Consumer<Object> elementConsumer, ProcessExecutionContext context) {
+        if (result instanceof List) {
+            for (Object item : (List<Object>) result) {
+                emitElement(item, elementConsumer, context);
+            }
+        } else {
+            emitElement(result, elementConsumer, context);
+        }
+    }
+    
+    /**
+     * 输出一个元素
+     * 输出失败(如客户端断开连接)不属于节点失败，不记录失败节点及节点指标，
+     * 取消执行后将异常抛给调用方，流程按失败结束
+     */
+    private void emitElement(Object element, Consumer<Object> elementConsumer, ProcessExecutionContext context) {
+        try {
+            elementConsumer.accept(element);
+        } catch (RuntimeException e) {
+            context.cancel();
+            context.setException(e);
+            throw e;
+        }
+    }
+    
+    /**
+     * 按流程图并行执行节点
+     */
+    private void executeGraph(ProcessGraph graph, ProcessExecutionContext context) {
+        dagProcessExecutor.execute(graph, context, (node, nodeParameters) -> executeNode(node, nodeParameters, context),
+            node -> "API_CALL".equals(node.getType()) && asyncApiClient.isEnabled());
+    }
+    
+    /**
+     * 按sort顺序串行执行节点，节点失败时中断
+     */
+    private void executeSequential(Long processDefinitionId, List<ProcessNode> nodes, ProcessExecutionContext context) {
+        for (int i = 0; i < nodes.size(); i++) {
+            // 连续的数据转换节点融合为单次遍历执行
+            int runEnd = transformRunEnd(nodes, i);
+            if (runEnd - i > 1 && executeFusedTransforms(processDefinitionId, nodes.subList(i, runEnd), context)) {
+                i = runEnd - 1;
+                continue;
+            }
+            ProcessNode node = nodes.get(i);
             try {
                 // 执行当前节点
-                Object result = executeNode(node, context);
+                Object result = awaitNodeResult(executeNode(node, context), context);
                 
                 // 将结果存入上下文
                 context.putResult(node.getId(), result);
                 
                 // 传递参数给下一个节点
                 context.setCurrentParameters(result);
-                
-                // 记录节点执行成功日志
-                log.info("流程节点执行成功 - 节点ID: {}, 节点类型: {}, 流程定义ID: {}", 
-                    node.getId(), node.getType(), processDefinitionId);
             } catch (Exception e) {
-                // 记录节点执行失败日志
-                log.error("流程节点执行失败 - 节点ID: {}, 节点类型: {}, 流程定义ID: {}, 错误信息: {}", 
-                    node.getId(), node.getType(), processDefinitionId, e.getMessage(), e);
-                
-                // 处理节点执行异常
+                // 节点日志已在executeNode中记录，这里只处理节点执行异常
                 context.setFailedNode(node.getId());
                 context.setException(e);
                 break;
             }
         }
+    }
+    
+    /**
+     * 从start开始连续数据转换节点的结束位置(不含)
+     */
+    private int transformRunEnd(List<ProcessNode> nodes, int start) {
+        int end = start;
+        while (end < nodes.size() && "DATA_TRANSFORM".equals(nodes.get(end).getType())) {
+            end++;
+        }
+        return end;
+    }
+    
+    /**
+     * 融合执行连续的数据转换节点，每行只遍历和分配一次
+     * 中间节点的结果不再单独保存；融合执行失败时返回false，由调用方逐个节点重新执行以定位失败节点
+     */
+    private boolean executeFusedTransforms(Long processDefinitionId, List<ProcessNode> transformNodes, 
+                                           ProcessExecutionContext context) {
+        if (context.isTimeout()) {
+            return false;
+        }
+        long startTime = System.nanoTime();
+        Object result;
+        try {
+            result = parallelTransformer.transform(compileFusedTransform(transformNodes), context.getCurrentParameters());
+        } catch (RuntimeException e) {
+            log.warn("数据转换融合执行失败，改为逐个节点执行 - 流程定义ID: {}, 错误信息: {}", 
+                processDefinitionId, e.getMessage());
+            return false;
+        }
         
+        long costNanos = System.nanoTime() - startTime;
+        for (ProcessNode node : transformNodes) {
+            context.setNodeStatus(node.getId(), "SUCCESS");
+            processMetrics.recordNode(node, ProcessMetrics.OUTCOME_FUSED, costNanos);
+        }
+        executionTracer.nodesFused(transformNodes, startTime, costNanos, context);
+        ProcessNode lastNode = transformNodes.get(transformNodes.size() - 1);
+        context.putResult(lastNode.getId(), result);
+        context.setCurrentParameters(result);
+        return true;
+    }
+    
+    /**
+     * 将连续的数据转换节点编译为一个融合转换
+     */
+    private RowTransform compileFusedTransform(List<ProcessNode> transformNodes) {
+        List<RowTransform> steps = new ArrayList<>(transformNodes.size());
+        for (ProcessNode node : transformNodes) {
+            steps.add(compileRowTransform(node));
+        }
+        return RowTransforms.fuse(steps);
+    }
+    
+    /**
+     * 记录流程执行完成日志并返回最终执行结果
+     */
+    private Object completeProcess(Long processDefinitionId, ProcessExecutionContext context) {
         // 4. 记录流程执行完成日志
         if (context.getFailedNode() != null) {
-            log.warn("流程执行中断 - 流程定义ID: {}, 失败节点ID: {}", 
-                processDefinitionId, context.getFailedNode());
+            log.warn("流程执行中断 - 流程定义ID: {}, 失败节点ID: {}, 错误信息: {}", processDefinitionId, 
+                context.getFailedNode(), context.getException() != null ? context.getException().getMessage() : null);
         } else {
             log.info("流程执行完成 - 流程定义ID: {}", processDefinitionId);
         }
@@ -135,6 +1020,21 @@ public class ProcessServiceImpl implements ProcessService {
      * @return 节点执行结果
      */
     private Object executeNode(ProcessNode node, ProcessExecutionContext context) {
+        if (context == null) {
+            throw new ProcessException(ErrorCode.CONTEXT_INVALID, "执行上下文不能为空");
+        }
+        return executeNode(node, context.getCurrentParameters(), context);
+    }
+    
+    /**
+     * 以指定参数执行单个流程节点
+     * 并行执行时每个节点的输入由流程图决定，不读取上下文中的当前参数
+     * @param node 流程节点
+     * @param parameters 节点输入参数
+     * @param context 执行上下文
+     * @return 节点执行结果
+     */
+    private Object executeNode(ProcessNode node, Object parameters, ProcessExecutionContext context) {
         // 1. 参数校验
         if (node == null) {
             throw new ProcessException(ErrorCode.NODE_NOT_FOUND, "流程节点不能为空");
@@ -143,676 +1043,281 @@ public class ProcessServiceImpl implements ProcessService {
             throw new ProcessException(ErrorCode.CONTEXT_INVALID, "执行上下文不能为空");
         }
         // 校验节点类型
-        if (StringUtils.isEmpty(node.getType())) {
+        if (!StringUtils.hasText(node.getType())) {
             throw new ProcessException(ErrorCode.NODE_TYPE_INVALID, "节点类型不能为空");
         }
-        // 校验节点配置
-        if (node.getConfig() == null) {
-            throw new ProcessException(ErrorCode.NODE_CONFIG_INVALID, "节点配置不能为空");
+        // 校验节点配置(保存或加载流程图时已编译)
+        NodeConfig config;
+        try {
+            config = resolveNodeConfig(node);
+        } catch (IllegalArgumentException e) {
+            throw new ProcessException(ErrorCode.NODE_CONFIG_INVALID, e.getMessage(), e);
         }
         
-        // 2. 检查执行超时
+        // 2. 检查执行超时，流程已失败或超时取消后不再执行节点(包括延迟到期的重试)
         if (context.isTimeout()) {
             throw new ProcessException(ErrorCode.PROCESS_TIMEOUT, "流程执行超时");
         }
+        if (context.isCancelled()) {
+            throw new ProcessException(ErrorCode.PROCESS_CANCELLED, "流程执行已取消");
+        }
         
-        // 更新执行状态
-        context.setCurrentNode(node.getId());
-        context.setNodeStartTime(System.currentTimeMillis());
+        // 记录开始时间(并行执行时各节点独立计时)
+        long startTime = System.nanoTime();
+        processMetrics.nodeStarted();
         
         try {
-            // 获取当前节点参数
-            Object parameters = context.getCurrentParameters();
-            
             // 根据节点类型执行不同逻辑
             Object result;
             switch (node.getType()) {
                 case "API_CALL":
                     // 执行API调用
-                    result = executeApiCall(node, parameters);
+                    result = executeApiCall(node, (ApiCallConfig) config, parameters);
                     break;
                     
                 case "DATA_TRANSFORM":
                     // 执行数据转换
-                    result = executeDataTransform(node, parameters);
+                    result = executeDataTransform((TransformConfig) config, parameters);
                     break;
                     
                 case "CONDITIONAL":
                     // 执行条件判断
-                    result = executeConditional(node, parameters);
+                    result = executeConditional((ConditionalConfig) config, parameters);
+                    break;
+                    
+                case ProcessGraph.GATEWAY_NODE_TYPE:
+                    // 网关节点透传输入，汇聚网关的输入为各前驱节点结果
+                    result = parameters;
                     break;
                     
                 default:
                     throw new IllegalArgumentException("不支持的节点类型: " + node.getType());
             }
             
-            // 更新执行状态
-            context.setNodeEndTime(System.currentTimeMillis());
-            context.setNodeStatus(node.getId(), "SUCCESS");
-            
-            // 记录执行耗时和详细上下文
-            long costTime = context.getNodeEndTime() - context.getNodeStartTime();
-            log.info("流程节点执行完成 - 节点ID: {}, 节点类型: {}, 耗时: {}ms, 参数: {}, 结果: {}", 
-                node.getId(), node.getType(), costTime, 
-                JsonUtils.toJson(context.getCurrentParameters()),
-                JsonUtils.toJson(result));
-            
-            return result;
-        } catch (Exception e) {
-            // 更新执行状态
-            context.setNodeEndTime(System.currentTimeMillis());
-            context.setNodeStatus(node.getId(), "FAILED");
-            
-            // 记录执行耗时和异常详情
-            long costTime = context.getNodeEndTime() - context.getNodeStartTime();
-            log.error("流程节点执行失败 - 节点ID: {}, 节点类型: {}, 耗时: {}ms, 错误信息: {}", 
-                node.getId(), node.getType(), costTime, e.getMessage(), e);
-            
-            // 对于可重试异常添加重试逻辑
-            if (e instanceof RetryableException) {
-                RetryableException re = (RetryableException)e;
-                if (re.getRetryTimes() < context.getMaxRetryTimes()) {
-                    log.warn("流程节点重试执行 - 节点ID: {}, 当前重试次数: {}, 最大重试次数: {}",
-                        node.getId(), re.getRetryTimes(), context.getMaxRetryTimes());
-                    return retryExecuteNode(node, context);
-                }
+            // 非阻塞API调用返回Future，节点在响应到达后才执行完成；失败重试时展开重试返回的Future
+            if (result instanceof CompletableFuture) {
+                return ((CompletableFuture<Object>) result).handle((value, error) -> error == null
+                    ? completeNode(node, parameters, value, startTime, context)
+                    : failNode(node, parameters, unwrapCompletionException(error), startTime, context))
+                    .thenCompose(value -> value instanceof CompletableFuture
+                        ? (CompletableFuture<Object>) value : CompletableFuture.completedFuture(value));
             }
             
-            throw new ProcessException(ErrorCode.NODE_EXECUTION_FAILED, "节点执行失败: " + e.getMessage(), e);
+            return completeNode(node, parameters, result, startTime, context);
+        } catch (Exception e) {
+            return failNode(node, parameters, e, startTime, context);
         }
     }
     
     /**
-     * 执行API调用节点
+     * 节点执行成功：更新状态并记录日志
      */
-    private Object executeApiCall(ProcessNode node, Object parameters) {
-        // 1. 解析节点配置
-        String apiUrl = node.getConfig().getString("apiUrl");
-        String method = node.getConfig().getString("method", "GET");
-        Integer timeout = node.getConfig().getInt("timeout", 5000);
-        
-        // 2. 准备请求参数
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        
-        // 添加自定义请求头
-        if (node.getConfig().has("headers")) {
-            JSONObject headerConfig = node.getConfig().getJSONObject("headers");
-            for (String key : headerConfig.keySet()) {
-                headers.add(key, headerConfig.getString(key));
-            }
-        }
-        
-        HttpEntity<Object> requestEntity = new HttpEntity<>(parameters, headers);
-        
-        // 3. 配置RestTemplate
-        RestTemplate restTemplate = new RestTemplate();
+    private Object completeNode(ProcessNode node, Object parameters, Object result, long startTime, 
+                                ProcessExecutionContext context) {
+        // 更新执行状态
+        context.setNodeStatus(node.getId(), "SUCCESS");
         
-        // 设置超时
-        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
-        requestFactory.setConnectTimeout(timeout);
-        requestFactory.setReadTimeout(timeout);
-        restTemplate.setRequestFactory(requestFactory);
+        // 记录执行耗时和详细上下文
+        long costNanos = System.nanoTime() - startTime;
+        processMetrics.nodeFinished(node, ProcessMetrics.OUTCOME_SUCCESS, costNanos);
+        executionTracer.nodeCompleted(node, parameters, result, startTime, costNanos, context);
         
-        // 4. 执行HTTP请求
-        ResponseEntity<String> response;
-        try {
-            switch (method.toUpperCase()) {
-                case "GET":
-                    response = restTemplate.exchange(
-                        apiUrl, HttpMethod.GET, requestEntity, String.class);
-                    break;
-                case "POST":
-                    response = restTemplate.exchange(
-                        apiUrl, HttpMethod.POST, requestEntity, String.class);
-                    break;
-                case "PUT":
-                    response = restTemplate.exchange(
-                        apiUrl, HttpMethod.PUT, requestEntity, String.class);
-                    break;
-                case "DELETE":
-                    response = restTemplate.exchange(
-                        apiUrl, HttpMethod.DELETE, requestEntity, String.class);
-                    break;
-                default:
-                    throw new IllegalArgumentException("不支持的HTTP方法: " + method);
-            }
-            
-            // 5. 处理响应
-            if (response.getStatusCode().is2xxSuccessful()) {
-                // 支持JSON和XML格式的响应
-                String contentType = response.getHeaders().getContentType() != null ? 
-                    response.getHeaders().getContentType().toString() : "";
-                
-                if (contentType.contains("application/json")) {
-                    return new JSONObject(response.getBody());
-                } else if (contentType.contains("application/xml")) {
-                    return XML.toJSONObject(response.getBody());
-                }
-                return response.getBody();
-            } else {
-                throw new RuntimeException("API调用失败: " + response.getStatusCode());
-            }
-        } catch (RestClientException e) {
-            throw new RuntimeException("API调用异常: " + e.getMessage(), e);
-        }
+        return result;
     }
     
     /**
-     * 执行数据转换节点
+     * 节点执行失败：更新状态、记录日志并按需重试
      */
-    private Object executeDataTransform(ProcessNode node, Object parameters) {
-        // 1. 解析转换配置
-        JSONObject transformConfig = node.getConfig();
-        String transformType = transformConfig.getString("type", "MAPPING");
+    private Object failNode(ProcessNode node, Object parameters, Exception e, long startTime, 
+                            ProcessExecutionContext context) {
+        // 更新执行状态
+        context.setNodeStatus(node.getId(), "FAILED");
         
-        // 2. 根据转换类型执行不同逻辑
-        switch (transformType) {
-            case "MAPPING":
-                // 字段映射转换
-                return executeFieldMapping(transformConfig, parameters);
-                
-            case "FILTER":
-                // 字段过滤转换
-                return executeFieldFilter(transformConfig, parameters);
-                
-            case "CALCULATION":
-                // 计算字段转换
-                return executeFieldCalculation(transformConfig, parameters);
-                
-            default:
-                throw new IllegalArgumentException("不支持的数据转换类型: " + transformType);
-        }
-    }
-    
-    /**
-     * 执行字段映射转换
-     */
-    private Object executeFieldMapping(JSONObject config, Object parameters) {
-        // 1. 获取映射规则
-        JSONObject mappingRules = config.getJSONObject("rules");
+        // 记录执行耗时和异常详情
+        long costNanos = System.nanoTime() - startTime;
+        processMetrics.nodeFinished(node, ProcessMetrics.OUTCOME_FAILED, costNanos);
+        executionTracer.nodeFailed(node, parameters, e, startTime, costNanos, context);
         
-        // 2. 根据参数类型执行不同转换
-        if (parameters instanceof Map) {
-            // Map类型参数转换
-            Map<String, Object> result = new HashMap<>();
-            Map<String, Object> inputMap = (Map<String, Object>) parameters;
-            
-            // 3. 应用映射规则
-            for (String sourceKey : mappingRules.keySet()) {
-                String targetKey = mappingRules.getString(sourceKey);
-                if (inputMap.containsKey(sourceKey)) {
-                    result.put(targetKey, inputMap.get(sourceKey));
-                }
-            }
-            
-            return result;
-        } else if (parameters instanceof List) {
-            // List类型参数转换
-            List<Object> result = new ArrayList<>();
-            List<Object> inputList = (List<Object>) parameters;
-            
-            // 4. 应用映射规则
-            for (Object item : inputList) {
-                if (item instanceof Map) {
-                    Map<String, Object> transformedItem = new HashMap<>();
-                    Map<String, Object> itemMap = (Map<String, Object>) item;
-                    
-                    for (String sourceKey : mappingRules.keySet()) {
-                        String targetKey = mappingRules.getString(sourceKey);
-                        if (itemMap.containsKey(sourceKey)) {
-                            transformedItem.put(targetKey, itemMap.get(sourceKey));
-                        }
-                    }
-                    
-                    result.add(transformedItem);
-                } else {
-                    result.add(item);
+        // 可重试异常按退避时间延迟重试，重试结果通过Future返回；
+        // 按流程图执行时节点线程在等待期间释放，串行流程由调用线程等待结果(见awaitNodeResult)
+        if (isRetryAllowed(node, e)) {
+            int attempt = context.nextRetryAttempt(node.getId());
+            int maxRetryTimes = context.getMaxRetryTimes() != null
+                ? context.getMaxRetryTimes() : retryScheduler.getMaxRetryTimes();
+            if (attempt <= maxRetryTimes) {
+                CompletableFuture<Object> retry = retryScheduler.schedule(node.getProcessDefinitionId(), attempt,
+                    () -> executeNode(node, parameters, context));
+                if (retry != null) {
+                    log.warn("流程节点重试执行 - 节点ID: {}, 当前重试次数: {}, 最大重试次数: {}",
+                        node.getId(), attempt, maxRetryTimes);
+                    processMetrics.recordRetry(node);
+                    return retry;
                 }
+                log.warn("流程节点重试预算已耗尽 - 节点ID: {}, 流程定义ID: {}", node.getId(), node.getProcessDefinitionId());
             }
-            
-            return result;
-        } else {
-            // 简单类型参数转换
-            return parameters;
         }
-    }
-    
-    /**
-     * 执行字段过滤转换
-     */
-    private Object executeFieldFilter(JSONObject config, Object parameters) {
-        // 1. 获取过滤规则
-        JSONArray includeFields = config.getJSONArray("includeFields");
-        JSONArray excludeFields = config.getJSONArray("excludeFields");
         
-        // 2. 根据参数类型执行不同转换
-        if (parameters instanceof Map) {
-            // Map类型参数过滤
-            Map<String, Object> result = new HashMap<>();
-            Map<String, Object> inputMap = (Map<String, Object>) parameters;
-            
-            // 3. 应用包含规则
-            if (includeFields != null) {
-                for (int i = 0; i < includeFields.length(); i++) {
-                    String field = includeFields.getString(i);
-                    if (inputMap.containsKey(field)) {
-                        result.put(field, inputMap.get(field));
-                    }
-                }
-            } else {
-                // 如果没有包含规则，默认包含所有字段
-                result.putAll(inputMap);
-            }
-            
-            // 4. 应用排除规则
-            if (excludeFields != null) {
-                for (int i = 0; i < excludeFields.length(); i++) {
-                    String field = excludeFields.getString(i);
-                    result.remove(field);
-                }
-            }
-            
-            return result;
-        } else if (parameters instanceof List) {
-            // List类型参数过滤
-            List<Object> result = new ArrayList<>();
-            List<Object> inputList = (List<Object>) parameters;
-            
-            // 5. 应用过滤规则
-            for (Object item : inputList) {
-                if (item instanceof Map) {
-                    Map<String, Object> filteredItem = new HashMap<>();
-                    Map<String, Object> itemMap = (Map<String, Object>) item;
-                    
-                    // 应用包含规则
-                    if (includeFields != null) {
-                        for (int i = 0; i < includeFields.length(); i++) {
-                            String field = includeFields.getString(i);
-                            if (itemMap.containsKey(field)) {
-                                filteredItem.put(field, itemMap.get(field));
-                            }
-                        }
-                    } else {
-                        // 如果没有包含规则，默认包含所有字段
-                        filteredItem.putAll(itemMap);
-                    }
-                    
-                    // 应用排除规则
-                    if (excludeFields != null) {
-                        for (int i = 0; i < excludeFields.length(); i++) {
-                            String field = excludeFields.getString(i);
-                            filteredItem.remove(field);
-                        }
-                    }
-                    
-                    result.add(filteredItem);
-                } else {
-                    result.add(item);
-                }
-            }
-            
-            return result;
-        } else {
-            // 简单类型参数转换
-            return parameters;
-        }
+        throw new ProcessException(ErrorCode.NODE_EXECUTION_FAILED, "节点执行失败: " + e.getMessage(), e);
     }
     
     /**
-     * 执行计算字段转换
+     * 节点失败后是否重试：抛出RetryableException时总是重试；其他异常只在下游临时故障时重试，
+     * 且API调用节点的请求必须幂等，避免下游已处理的POST等请求被重复提交
      */
-    private Object executeFieldCalculation(JSONObject config, Object parameters) {
-        // 1. 获取计算规则
-        JSONObject calculationRules = config.getJSONObject("rules");
-        
-        // 2. 根据参数类型执行不同转换
-        if (parameters instanceof Map) {
-            // Map类型参数计算
-            Map<String, Object> result = new HashMap<>();
-            Map<String, Object> inputMap = (Map<String, Object>) parameters;
-            
-            // 3. 应用计算规则
-            for (String targetField : calculationRules.keySet()) {
-                JSONObject rule = calculationRules.getJSONObject(targetField);
-                String expression = rule.getString("expression");
-                
-                // 简单表达式计算
-                Object calculatedValue = evaluateExpression(expression, inputMap);
-                result.put(targetField, calculatedValue);
-            }
-            
-            return result;
-        } else if (parameters instanceof List) {
-            // List类型参数计算
-            List<Object> result = new ArrayList<>();
-            List<Object> inputList = (List<Object>) parameters;
-            
-            // 4. 应用计算规则
-            for (Object item : inputList) {
-                if (item instanceof Map) {
-                    Map<String, Object> calculatedItem = new HashMap<>();
-                    Map<String, Object> itemMap = (Map<String, Object>) item;
-                    
-                    for (String targetField : calculationRules.keySet()) {
-                        JSONObject rule = calculationRules.getJSONObject(targetField);
-                        String expression = rule.getString("expression");
-                        
-                        // 简单表达式计算
-                        Object calculatedValue = evaluateExpression(expression, itemMap);
-                        calculatedItem.put(targetField, calculatedValue);
-                    }
-                    
-                    result.add(calculatedItem);
-                } else {
-                    result.add(item);
-                }
-            }
-            
-            return result;
-        } else {
-            // 简单类型参数转换
-            return parameters;
+    private boolean isRetryAllowed(ProcessNode node, Exception e) {
+        if (e instanceof RetryableException) {
+            return true;
         }
+        NodeConfig config = node.getCompiledConfig();
+        if (config instanceof ApiCallConfig && !((ApiCallConfig) config).isIdempotent()) {
+            return false;
+        }
+        return retryScheduler.isRetryable(e);
     }
-    
+
     /**
-     * 评估简单表达式
+     * 同步等待节点结果，用于按sort顺序串行执行的流程
+     * 节点重试时调用线程在退避期间一直等待，等待期间不占用线程的重试只适用于按流程图执行的流程；
+     * 等待不超过流程剩余执行时间，超时或被中断时取消执行，尚未开始的重试不再执行
      */
-    private Object evaluateExpression(String expression, Map<String, Object> context) {
-        // 简单实现：替换变量并计算
-        for (String var : context.keySet()) {
-            expression = expression.replace("$" + var, context.get(var).toString());
+    @SuppressWarnings("unchecked")
+    private Object awaitNodeResult(Object result, ProcessExecutionContext context) {
+        if (!(result instanceof CompletableFuture)) {
+            return result;
         }
-        
+        CompletableFuture<Object> future = (CompletableFuture<Object>) result;
         try {
-            // 使用ScriptEngine计算表达式
-            ScriptEngineManager manager = new ScriptEngineManager();
-            ScriptEngine engine = manager.getEngineByName("js");
-            return engine.eval(expression);
-        } catch (ScriptException e) {
-            throw new RuntimeException("表达式计算失败: " + expression, e);
+            return future.get(Math.max(context.getRemainingNanos(), 0), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            Exception cause = unwrapCompletionException(e.getCause());
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new CompletionException(cause);
+        } catch (TimeoutException e) {
+            context.cancel();
+            future.cancel(true);
+            throw new ProcessException(ErrorCode.PROCESS_TIMEOUT, "流程执行超时");
+        } catch (InterruptedException e) {
+            context.cancel();
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ProcessException(ErrorCode.PROCESS_CANCELLED, "流程执行被中断");
         }
     }
     
-    /**
-     * 执行条件判断节点
-     */
-    private Object executeConditional(ProcessNode node, Object parameters) {
-        // 1. 解析条件配置
-        JSONObject conditionConfig = node.getConfig();
-        String conditionType = conditionConfig.getString("type", "SIMPLE");
-        
-        // 2. 根据条件类型执行不同评估逻辑
-        boolean result;
-        switch (conditionType) {
-            case "COMPLEX":
-                // 复杂逻辑表达式评估
-                result = evaluateComplexCondition(conditionConfig, parameters);
-                break;
-                
-            case "RANGE":
-                // 范围条件评估
-                result = evaluateRangeCondition(conditionConfig, parameters);
-                break;
-                
-            case "REGEX":
-                // 正则表达式匹配
-                result = evaluateRegexCondition(conditionConfig, parameters);
-                break;
-                
-            case "SCRIPT":
-                // 脚本表达式评估
-                result = evaluateScriptCondition(conditionConfig, parameters);
-                break;
-                
-            case "COMPOSITE":
-                // 复合条件评估
-                result = evaluateCompositeCondition(conditionConfig, parameters);
-                break;
-                
-            default:
-                // 简单条件评估
-                if (parameters instanceof Map) {
-                    result = evaluateSimpleCondition(conditionConfig, (Map<String, Object>) parameters);
-                } else {
-                    result = evaluateSimpleValueCondition(conditionConfig, parameters);
-                }
-        }
-        
-        // 3. 返回对应结果
-        return result ? conditionConfig.get("trueValue") : conditionConfig.get("falseValue");
+    private Exception unwrapCompletionException(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof Exception ? (Exception) cause : new CompletionException(cause);
     }
     
     /**
-     * 评估脚本条件
+     * 执行API调用节点
      */
-    private boolean evaluateScriptCondition(JSONObject conditionConfig, Object parameters) {
-        String script = conditionConfig.getString("script");
-        ScriptEngineManager manager = new ScriptEngineManager();
-        ScriptEngine engine = manager.getEngineByName("javascript");
-        
-        try {
-            // 设置参数
-            if (parameters instanceof Map) {
-                ((Map<String, Object>) parameters).forEach((k, v) -> engine.put(k, v));
-            } else {
-                engine.put("value", parameters);
-            }
-            
-            // 执行脚本
-            return (boolean) engine.eval(script);
-        } catch (ScriptException e) {
-            throw new RuntimeException("脚本条件评估失败: " + e.getMessage(), e);
+    private Object executeApiCall(ProcessNode node, ApiCallConfig apiConfig, Object parameters) {
+        // 配置了cache.ttlMs的节点缓存响应，相同请求并发未命中时只调用一次
+        if (apiConfig.isCacheEnabled()) {
+            String cacheKey = ApiResponseCache.key(apiConfig.getMethod().name(), apiConfig.getApiUrl(), 
+                apiConfig.getHeaders(), parameters);
+            return apiResponseCache.get(node.getId(), apiConfig.getCacheTtlMs(), apiConfig.getCacheMaxEntries(), 
+                cacheKey, asyncApiClient.isEnabled(), () -> sendApiRequest(apiConfig, parameters));
         }
+        return sendApiRequest(apiConfig, parameters);
     }
     
     /**
-     * 评估复合条件
+     * 发送API请求并解析响应，非阻塞模式下返回Future
      */
-    private boolean evaluateCompositeCondition(JSONObject conditionConfig, Object parameters) {
-        JSONArray conditions = conditionConfig.getJSONArray("conditions");
-        String operator = conditionConfig.getString("operator", "AND");
+    private Object sendApiRequest(ApiCallConfig apiConfig, Object parameters) {
+        String apiUrl = apiConfig.getApiUrl();
+        HttpMethod httpMethod = apiConfig.getMethod();
         
-        boolean result = "OR".equalsIgnoreCase(operator) ? false : true;
-        
-        for (int i = 0; i < conditions.size(); i++) {
-            JSONObject cond = conditions.getJSONObject(i);
-            boolean partialResult = evaluateCondition(cond, parameters);
-            
-            if ("OR".equalsIgnoreCase(operator)) {
-                result = result || partialResult;
-                if (result) break;
-            } else {
-                result = result && partialResult;
-                if (!result) break;
-            }
+        // 非阻塞模式：异步发送请求，返回的Future在响应到达后完成，超时或取消执行时取消请求
+        if (asyncApiClient.isEnabled()) {
+            CompletableFuture<ResponseEntity<byte[]>> response = downstreamGuard.executeAsync(apiUrl, 
+                () -> asyncApiClient.exchange(httpMethod, apiUrl, apiConfig.getHeaders(), parameters, 
+                    apiConfig.getTimeout()));
+            CompletableFuture<Object> result = response.thenApply(this::parseApiResponse);
+            result.whenComplete((value, error) -> {
+                if (result.isCancelled()) {
+                    response.cancel(true);
+                }
+            });
+            return result;
         }
         
-        return result;
-    }
-    
-    /**
-     * 通用条件评估方法
-     */
-    private boolean evaluateCondition(JSONObject condition, Object parameters) {
-        String type = condition.getString("type", "SIMPLE");
+        HttpEntity<Object> requestEntity = new HttpEntity<>(parameters, apiConfig.getHeaders());
         
-        switch (type) {
-            case "COMPLEX":
-                return evaluateComplexCondition(condition, parameters);
-            case "RANGE":
-                return evaluateRangeCondition(condition, parameters);
-            case "REGEX":
-                return evaluateRegexCondition(condition, parameters);
-            case "SCRIPT":
-                return evaluateScriptCondition(condition, parameters);
-            default:
-                if (parameters instanceof Map) {
-                    return evaluateSimpleCondition(condition, (Map<String, Object>) parameters);
-                } else {
-                    return evaluateSimpleValueCondition(condition, parameters);
-                }
+        // 获取共享连接池的RestTemplate(按节点超时复用)
+        RestTemplate restTemplate = pooledRestTemplateFactory.getRestTemplate(apiConfig.getTimeout());
+        
+        // 执行HTTP请求，经过下游主机的熔断和并发隔离；HTTP方法已在编译配置时校验
+        try {
+            // 响应体直接从输入流解析，不读成String
+            return downstreamGuard.execute(apiUrl, () -> restTemplate.execute(apiUrl, httpMethod,
+                restTemplate.httpEntityCallback(requestEntity), this::extractApiResponse));
+        } catch (RestClientException e) {
+            throw new RuntimeException("API调用异常: " + e.getMessage(), e);
         }
     }
     
     /**
-     * 评估简单条件（Map类型参数）
+     * 从阻塞调用的响应流中解析结果
      */
-    private boolean evaluateSimpleCondition(JSONObject config, Map<String, Object> parameters) {
-        String field = config.getString("field");
-        String operator = config.getString("operator", "EXISTS");
-        Object expectedValue = config.get("value");
-        
-        if (!parameters.containsKey(field)) {
-            return false;
-        }
-        
-        Object actualValue = parameters.get(field);
-        if (actualValue == null) {
-            return false;
-        }
-        
-        switch (operator) {
-            case "EQUALS":
-                return actualValue.equals(expectedValue);
-            case "NOT_EQUALS":
-                return !actualValue.equals(expectedValue);
-            case "CONTAINS":
-                return actualValue.toString().contains(expectedValue.toString());
-            case "STARTS_WITH":
-                return actualValue.toString().startsWith(expectedValue.toString());
-            case "ENDS_WITH":
-                return actualValue.toString().endsWith(expectedValue.toString());
-            default:
-                // EXISTS
-                return true;
+    private Object extractApiResponse(ClientHttpResponse response) throws IOException {
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            throw new RuntimeException("API调用失败: " + response.getStatusCode());
         }
+        // 支持JSON和XML格式的响应
+        return responseBodyParser.parse(response.getBody(), response.getHeaders().getContentType());
     }
     
     /**
-     * 评估简单条件（值类型参数）
+     * 解析非阻塞调用的响应
      */
-    private boolean evaluateSimpleValueCondition(JSONObject config, Object parameter) {
-        String operator = config.getString("operator", "EQUALS");
-        Object expectedValue = config.get("value");
-        
-        if (parameter == null) {
-            return false;
+    private Object parseApiResponse(ResponseEntity<byte[]> response) {
+        HttpStatus status = response.getStatusCode();
+        // 4xx、5xx响应与RestTemplate抛出相同的异常，5xx按下游故障重试
+        if (status.is5xxServerError()) {
+            throw HttpServerErrorException.create("API调用失败: " + status, status, status.getReasonPhrase(),
+                response.getHeaders(), response.getBody(), null);
         }
-        
-        switch (operator) {
-            case "EQUALS":
-                return parameter.equals(expectedValue);
-            case "NOT_EQUALS":
-                return !parameter.equals(expectedValue);
-            case "CONTAINS":
-                return parameter.toString().contains(expectedValue.toString());
-            case "STARTS_WITH":
-                return parameter.toString().startsWith(expectedValue.toString());
-            case "ENDS_WITH":
-                return parameter.toString().endsWith(expectedValue.toString());
-            default:
-                return false;
+        if (status.is4xxClientError()) {
+            throw HttpClientErrorException.create("API调用失败: " + status, status, status.getReasonPhrase(),
+                response.getHeaders(), response.getBody(), null);
+        }
+        if (!status.is2xxSuccessful()) {
+            throw new RuntimeException("API调用失败: " + status);
+        }
+        byte[] body = response.getBody() != null ? response.getBody() : new byte[0];
+        try {
+            return responseBodyParser.parse(new ByteArrayInputStream(body), response.getHeaders().getContentType());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
     
     /**
-     * 评估复杂逻辑表达式
+     * 执行数据转换节点
      */
-    private boolean evaluateComplexCondition(JSONObject config, Object parameters) {
-        JSONArray conditions = config.getJSONArray("conditions");
-        String logic = config.getString("logic", "AND");
-        
-        if (conditions == null || conditions.isEmpty()) {
-            return false;
-        }
-        
-        boolean finalResult = "OR".equalsIgnoreCase(logic) ? false : true;
-        
-        for (int i = 0; i < conditions.length(); i++) {
-            JSONObject condition = conditions.getJSONObject(i);
-            boolean currentResult;
-            
-            if (parameters instanceof Map) {
-                currentResult = evaluateSimpleCondition(condition, (Map<String, Object>) parameters);
-            } else {
-                currentResult = evaluateSimpleValueCondition(condition, parameters);
-            }
-            
-            if ("OR".equalsIgnoreCase(logic)) {
-                finalResult = finalResult || currentResult;
-                if (finalResult) break;
-            } else {
-                finalResult = finalResult && currentResult;
-                if (!finalResult) break;
-            }
-        }
-        
-        return finalResult;
+    private Object executeDataTransform(TransformConfig transformConfig, Object parameters) {
+        // Map参数直接转换，List参数逐项转换，大列表拆分后并行转换
+        return parallelTransformer.transform(transformConfig.getTransform(), parameters);
     }
     
     /**
-     * 评估范围条件
+     * 获取数据转换节点编译后的行级转换
      */
-    private boolean evaluateRangeCondition(JSONObject config, Object parameters) {
-        String field = config.getString("field");
-        Object minValue = config.get("min");
-        Object maxValue = config.get("max");
-        boolean includeMin = config.getBoolean("includeMin", true);
-        boolean includeMax = config.getBoolean("includeMax", true);
-        
-        if (!(parameters instanceof Map)) {
-            return false;
-        }
-        
-        Map<String, Object> paramMap = (Map<String, Object>) parameters;
-        if (!paramMap.containsKey(field) || paramMap.get(field) == null) {
-            return false;
-        }
-        
-        Object value = paramMap.get(field);
-        
-        try {
-            double numValue = Double.parseDouble(value.toString());
-            
-            if (minValue != null) {
-                double min = Double.parseDouble(minValue.toString());
-                if (includeMin ? numValue < min : numValue <= min) {
-                    return false;
-                }
-            }
-            
-            if (maxValue != null) {
-                double max = Double.parseDouble(maxValue.toString());
-                if (includeMax ? numValue > max : numValue >= max) {
-                    return false;
-                }
-            }
-            
-            return true;
-        } catch (NumberFormatException e) {
-            return false;
+    private RowTransform compileRowTransform(ProcessNode node) {
+        NodeConfig config = resolveNodeConfig(node);
+        if (!(config instanceof TransformConfig)) {
+            throw new IllegalArgumentException("节点不是数据转换节点: " + node.getId());
         }
+        return ((TransformConfig) config).getTransform();
     }
     
     /**
-     * 评估正则表达式条件
+     * 执行条件判断节点
      */
-    private boolean evaluateRegexCondition(JSONObject config, Object parameters) {
-        String field = config.getString("field");
-        String pattern = config.getString("pattern");
-        
-        if (!(parameters instanceof Map)) {
-            return false;
-        }
-        
-        Map<String, Object> paramMap = (Map<String, Object>) parameters;
-        if (!paramMap.containsKey(field) || paramMap.get(field) == null) {
-            return false;
-        }
-        
-        String value = paramMap.get(field).toString();
-        return value.matches(pattern);
+    private Object executeConditional(ConditionalConfig conditionalConfig, Object parameters) {
+        // 条件树在节点保存时编译，这里只评估条件并返回对应结果
+        return conditionalConfig.getCondition().evaluate(parameters);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,35 @@
+-- 初始表结构
+CREATE TABLE IF NOT EXISTS process_definition (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    name        VARCHAR(100) NOT NULL,
+    description VARCHAR(500),
+    create_time DATETIME,
+    update_time DATETIME,
+    deleted     TINYINT      NOT NULL DEFAULT 0,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COMMENT = '流程定义';
+
+CREATE TABLE IF NOT EXISTS process_node (
+    id                    BIGINT      NOT NULL AUTO_INCREMENT,
+    process_definition_id BIGINT      NOT NULL,
+    name                  VARCHAR(100),
+    type                  VARCHAR(50) NOT NULL,
+    config                TEXT,
+    sort                  INT,
+    create_time           DATETIME,
+    update_time           DATETIME,
+    deleted               TINYINT     NOT NULL DEFAULT 0,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COMMENT = '流程节点';
+
+CREATE TABLE IF NOT EXISTS process_edge (
+    id                    BIGINT NOT NULL AUTO_INCREMENT,
+    process_definition_id BIGINT NOT NULL,
+    source_node_id        BIGINT NOT NULL,
+    target_node_id        BIGINT NOT NULL,
+    `condition`           VARCHAR(500),
+    create_time           DATETIME,
+    update_time           DATETIME,
+    deleted               TINYINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COMMENT = '流程连线';
@@ -0,0 +1,12 @@
+-- 流程设计修订号，批量保存流程设计时用于检测并发修改
+-- 已按旧说明手动执行过ALTER的数据库已存在该列，此时跳过
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+        'ALTER TABLE process_definition ADD COLUMN revision INT NOT NULL DEFAULT 0 AFTER description',
+        'DO 0')
+    FROM information_schema.COLUMNS
+    WHERE TABLE_SCHEMA = DATABASE()
+      AND TABLE_NAME = 'process_definition'
+      AND COLUMN_NAME = 'revision');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
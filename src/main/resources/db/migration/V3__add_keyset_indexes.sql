@@ -0,0 +1,5 @@
+-- 分页查询索引：按(sort, id)分页查询流程节点，按id分页查询流程定义；
+-- InnoDB二级索引隐含主键id，索引顺序与分页排序一致，无需回表排序
+CREATE INDEX idx_process_node_definition ON process_node (process_definition_id, deleted, sort);
+CREATE INDEX idx_process_edge_definition ON process_edge (process_definition_id, deleted);
+CREATE INDEX idx_process_definition_deleted ON process_definition (deleted, id);
@@ -0,0 +1,15 @@
+-- 流程发布：已发布版本号、状态，以及每次发布时的节点和连线快照
+ALTER TABLE process_definition
+    ADD COLUMN version INT NOT NULL DEFAULT 0 AFTER revision,
+    ADD COLUMN status VARCHAR(20) NOT NULL DEFAULT 'DRAFT' AFTER version;
+
+CREATE TABLE IF NOT EXISTS process_snapshot (
+    id                    BIGINT   NOT NULL AUTO_INCREMENT,
+    process_definition_id BIGINT   NOT NULL,
+    version               INT      NOT NULL,
+    nodes                 LONGTEXT NOT NULL,
+    edges                 LONGTEXT NOT NULL,
+    create_time           DATETIME,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_process_snapshot_version (process_definition_id, version)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COMMENT = '流程发布快照';
@@ -0,0 +1,44 @@
+package com.example.apivisualization.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EmitterOutputStream单元测试类
+ */
+class EmitterOutputStreamTest {
+
+    @Test
+    void write_shouldSendChunksBySizeAndRemainderOnClose() throws IOException {
+        List<byte[]> chunks = new ArrayList<>();
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter() {
+            @Override
+            public void send(Object object, MediaType mediaType) {
+                chunks.add((byte[]) object);
+            }
+        };
+        EmitterOutputStream out = new EmitterOutputStream(emitter, MediaType.APPLICATION_JSON, 16);
+
+        // 每行6字节，缓存达到16字节时发送，1000行结果每3行发送一次，而不是每行一次
+        for (int i = 0; i < 1000; i++) {
+            out.write(String.format("%05d\n", i).getBytes());
+        }
+        assertEquals(333, chunks.size());
+        assertEquals(18, chunks.get(0).length);
+
+        out.close();
+        assertEquals(334, chunks.size());
+        assertEquals(6, chunks.get(333).length);
+
+        // 没有缓存的字节时不发送空分块
+        out.flush();
+        assertEquals(334, chunks.size());
+    }
+}
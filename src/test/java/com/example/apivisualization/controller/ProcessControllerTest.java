@@ -0,0 +1,25 @@
+package com.example.apivisualization.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ProcessController单元测试类
+ */
+class ProcessControllerTest {
+
+    @Test
+    void handleTaskRejected_shouldReturnServiceUnavailable() {
+        ResponseEntity<Map<String, String>> response = new ProcessController()
+            .handleTaskRejected(new TaskRejectedException("流程执行队列已满"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertNotNull(response.getBody().get("message"));
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.apivisualization.engine;
+
+import com.example.apivisualization.context.ProcessExecutionContext;
+import com.example.apivisualization.entity.ProcessEdge;
+import com.example.apivisualization.entity.ProcessNode;
+import com.example.apivisualization.exception.ErrorCode;
+import com.example.apivisualization.exception.ProcessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DagProcessExecutor单元测试类
+ */
+class DagProcessExecutorTest {
+    private DagProcessExecutor dagProcessExecutor;
+    private ThreadPoolTaskExecutor executor;
+    
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.initialize();
+        dagProcessExecutor = new DagProcessExecutor();
+        ReflectionTestUtils.setField(dagProcessExecutor, "processNodeExecutor", executor);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+    
+    @Test
+    void execute_shouldRunIndependentBranchesInParallelAndJoin() {
+        // 1 -> (2, 3) -> 4(并行网关)
+        List<ProcessNode> nodes = Arrays.asList(node(1L, "API_CALL"), node(2L, "API_CALL"), 
+            node(3L, "API_CALL"), node(4L, ProcessGraph.GATEWAY_NODE_TYPE));
+        List<ProcessEdge> edges = Arrays.asList(edge(1L, 2L, null), edge(1L, 3L, null), 
+            edge(2L, 4L, null), edge(3L, 4L, null));
+        ProcessExecutionContext context = new ProcessExecutionContext("start");
+        
+        long startTime = System.currentTimeMillis();
+        dagProcessExecutor.execute(ProcessGraph.build(nodes, edges), context, (node, parameters) -> {
+            if (ProcessGraph.GATEWAY_NODE_TYPE.equals(node.getType())) {
+                return parameters;
+            }
+            sleep(200);
+            return parameters + "-" + node.getId();
+        });
+        long costTime = System.currentTimeMillis() - startTime;
+        
+        assertNull(context.getException());
+        Map<String, Object> joined = (Map<String, Object>) context.getFinalResult();
+        assertEquals("start-1-2", joined.get("2"));
+        assertEquals("start-1-3", joined.get("3"));
+        // 关键路径为3个节点，节点2、3并行执行
+        assertTrue(costTime < 800, "耗时: " + costTime);
+    }
+    
+    @Test
+    void execute_shouldSkipBranchWhenEdgeConditionIsFalse() {
+        List<ProcessNode> nodes = Arrays.asList(node(1L, "API_CALL"), node(2L, "API_CALL"), node(3L, "API_CALL"));
+        List<ProcessEdge> edges = Arrays.asList(edge(1L, 2L, "${amount} > 1000"), edge(1L, 3L, "${amount} <= 1000"));
+        ProcessExecutionContext context = new ProcessExecutionContext(Collections.singletonMap("amount", 50));
+        
+        dagProcessExecutor.execute(ProcessGraph.build(nodes, edges), context, (node, parameters) -> {
+            Map<String, Object> result = new HashMap<>((Map<String, Object>) parameters);
+            result.put("visited", node.getId());
+            return result;
+        });
+        
+        assertNull(context.getResult(2L));
+        assertEquals(3L, ((Map<String, Object>) context.getFinalResult()).get("visited"));
+    }
+    
+    @Test
+    void execute_shouldRecordFailedNode() {
+        List<ProcessNode> nodes = Arrays.asList(node(1L, "API_CALL"), node(2L, "API_CALL"));
+        List<ProcessEdge> edges = Collections.singletonList(edge(1L, 2L, null));
+        ProcessExecutionContext context = new ProcessExecutionContext(null);
+        
+        dagProcessExecutor.execute(ProcessGraph.build(nodes, edges), context, (node, parameters) -> {
+            throw new IllegalStateException("模拟失败");
+        });
+        
+        assertEquals(1L, context.getFailedNode());
+        assertTrue(context.getException() instanceof IllegalStateException);
+    }
+    
+    @Test
+    void execute_shouldFailWhenNodeThrowsError() {
+        // 1 -> (2, 3)，节点2在工作线程中抛出Error
+        List<ProcessNode> nodes = Arrays.asList(node(1L, "API_CALL"), node(2L, "API_CALL"), node(3L, "API_CALL"));
+        List<ProcessEdge> edges = Arrays.asList(edge(1L, 2L, null), edge(1L, 3L, null));
+        ProcessExecutionContext context = new ProcessExecutionContext(null);
+        context.setTimeoutMillis(5000);
+
+        dagProcessExecutor.execute(ProcessGraph.build(nodes, edges), context, (node, parameters) -> {
+            if (node.getId() == 2L) {
+                throw new AssertionError("模拟错误");
+            }
+            return parameters;
+        });
+
+        assertEquals(2L, context.getFailedNode());
+        assertTrue(context.getException().getCause() instanceof AssertionError);
+    }
+
+    @Test
+    void execute_shouldCancelInFlightNodesWhenNodeFails() {
+        List<ProcessNode> nodes = Arrays.asList(node(1L, "API_CALL"), node(2L, "API_CALL"), node(3L, "API_CALL"));
+        List<ProcessEdge> edges = Arrays.asList(edge(1L, 2L, null), edge(1L, 3L, null));
+        ProcessExecutionContext context = new ProcessExecutionContext(null);
+        AtomicBoolean interrupted = new AtomicBoolean();
+
+        long startTime = System.currentTimeMillis();
+        dagProcessExecutor.execute(ProcessGraph.build(nodes, edges), context, (node, parameters) -> {
+            if (node.getId() == 2L) {
+                sleep(50);
+                throw new IllegalStateException("模拟失败");
+            }
+            if (node.getId() == 3L) {
+                sleep(5000);
+                interrupted.set(Thread.currentThread().isInterrupted());
+            }
+            return parameters;
+        });
+        long costTime = System.currentTimeMillis() - startTime;
+
+        assertEquals(2L, context.getFailedNode());
+        assertTrue(context.isCancelled());
+        assertTrue(costTime < 2000, "耗时: " + costTime);
+        waitUntil(interrupted::get);
+        assertTrue(interrupted.get(), "执行中的节点应被中断");
+    }
+
+    @Test
+    void execute_shouldStopAtDeadline() {
+        List<ProcessNode> nodes = Arrays.asList(node(1L, "API_CALL"), node(2L, "API_CALL"), node(3L, "API_CALL"));
+        List<ProcessEdge> edges = Arrays.asList(edge(1L, 2L, null), edge(1L, 3L, null));
+        ProcessExecutionContext context = new ProcessExecutionContext(null);
+        context.setTimeoutMillis(200);
+        CompletableFuture<Object> pendingCall = new CompletableFuture<>();
+
+        long startTime = System.currentTimeMillis();
+        dagProcessExecutor.execute(ProcessGraph.build(nodes, edges), context, (node, parameters) -> {
+            if (node.getId() == 1L) {
+                return parameters;
+            }
+            // 下游一直未响应的非阻塞调用及阻塞调用
+            return node.getId() == 2L ? pendingCall : sleepAndReturn(5000, parameters);
+        });
+        long costTime = System.currentTimeMillis() - startTime;
+
+        assertTrue(context.getException() instanceof ProcessException);
+        assertEquals(ErrorCode.PROCESS_TIMEOUT, ((ProcessException) context.getException()).getErrorCode());
+        assertTrue(costTime < 2000, "耗时: " + costTime);
+        assertTrue(pendingCall.isCancelled());
+    }
+
+    @Test
+    void build_shouldRejectCycles() {
+        List<ProcessNode> nodes = Arrays.asList(node(1L, "API_CALL"), node(2L, "API_CALL"));
+        List<ProcessEdge> edges = Arrays.asList(edge(1L, 2L, null), edge(2L, 1L, null));
+        
+        assertThrows(IllegalArgumentException.class, () -> ProcessGraph.build(nodes, edges));
+    }
+    
+    private static ProcessNode node(Long id, String type) {
+        ProcessNode node = new ProcessNode();
+        node.setId(id);
+        node.setType(type);
+        node.setConfig("{\"gatewayType\":\"parallel\"}");
+        return node;
+    }
+    
+    private static ProcessEdge edge(Long source, Long target, String condition) {
+        ProcessEdge edge = new ProcessEdge();
+        edge.setSourceNodeId(source);
+        edge.setTargetNodeId(target);
+        edge.setCondition(condition);
+        return edge;
+    }
+    
+    private static Object sleepAndReturn(long millis, Object value) {
+        sleep(millis);
+        return value;
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            sleep(10);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.apivisualization.engine;
+
+import com.example.apivisualization.config.ProcessRunProperties;
+import com.example.apivisualization.service.ProcessService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * ProcessBatchExecutor单元测试类
+ */
+class ProcessBatchExecutorTest {
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    private final ProcessService processService = Mockito.mock(ProcessService.class);
+    private final ProcessBatchExecutor batchExecutor = new ProcessBatchExecutor();
+
+    @BeforeEach
+    void setUp() {
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.initialize();
+        ReflectionTestUtils.setField(batchExecutor, "processService", processService);
+        ReflectionTestUtils.setField(batchExecutor, "processRunExecutor", executor);
+        ReflectionTestUtils.setField(batchExecutor, "processRunProperties", new ProcessRunProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void execute_shouldStopReadingInputsWhenListenerFails() {
+        AtomicInteger read = new AtomicInteger();
+        Iterator<Object> inputs = new Iterator<Object>() {
+            @Override
+            public boolean hasNext() {
+                return read.get() < 1000;
+            }
+
+            @Override
+            public Object next() {
+                return read.incrementAndGet();
+            }
+        };
+        when(processService.executeProcess(anyLong(), any(), any())).thenAnswer(invocation -> invocation.getArgument(2));
+        UncheckedIOException disconnect = new UncheckedIOException(new IOException("Broken pipe"));
+
+        UncheckedIOException e = assertThrows(UncheckedIOException.class, () -> batchExecutor.execute(1L, inputs, 2,
+            item -> {
+                throw disconnect;
+            }));
+
+        assertSame(disconnect, e);
+        // 客户端断开后不再读取剩余输入
+        assertTrue(read.get() < 1000, "已读取" + read.get() + "项");
+    }
+
+    @Test
+    void execute_shouldCancelRunningItemsWhenInterrupted() throws Exception {
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch interrupted = new CountDownLatch(2);
+        when(processService.executeProcess(anyLong(), any(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException ex) {
+                interrupted.countDown();
+            }
+            return null;
+        });
+        Iterator<Object> inputs = Arrays.<Object>asList(1, 2, 3, 4).iterator();
+        Thread caller = Thread.currentThread();
+        Thread timeout = new Thread(() -> {
+            try {
+                started.await();
+            } catch (InterruptedException ex) {
+                return;
+            }
+            // 模拟请求超时时中断执行批量的线程
+            caller.interrupt();
+        });
+        timeout.start();
+
+        assertThrows(IllegalStateException.class, () -> batchExecutor.execute(1L, inputs, 2, item -> { }));
+
+        assertTrue(Thread.interrupted());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "进行中的执行项应被取消");
+        assertTrue(inputs.hasNext(), "中断后不再读取剩余输入");
+    }
+}
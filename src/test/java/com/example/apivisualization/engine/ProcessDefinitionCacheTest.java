@@ -0,0 +1,102 @@
+package com.example.apivisualization.engine;
+
+import com.example.apivisualization.config.ProcessCacheProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ProcessDefinitionCache单元测试类
+ */
+class ProcessDefinitionCacheTest {
+
+    @Test
+    void getGraph_shouldLoadOnceUntilInvalidated() {
+        ProcessDefinitionCache cache = cache(10, 0);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<ProcessGraph> loader = countingLoader(loads);
+
+        ProcessGraph graph = cache.getGraph(1L, loader);
+        assertSame(graph, cache.getGraph(1L, loader));
+        assertEquals(1, loads.get());
+
+        cache.invalidate(1L);
+        assertNotSame(graph, cache.getGraph(1L, loader));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void getGraph_shouldDropLoadThatRacesInvalidation() {
+        ProcessDefinitionCache cache = cache(10, 0);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<ProcessGraph> loader = countingLoader(loads);
+
+        // 加载期间提交了变更，本次读到的可能是旧数据，不能回填缓存
+        ProcessGraph stale = cache.getGraph(1L, () -> {
+            ProcessGraph graph = loader.get();
+            cache.invalidate(1L);
+            return graph;
+        });
+
+        assertNotSame(stale, cache.getGraph(1L, loader));
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.getStats().getSize());
+    }
+
+    @Test
+    void getGraph_shouldReloadAfterTtl() throws InterruptedException {
+        ProcessDefinitionCache cache = cache(10, 20);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<ProcessGraph> loader = countingLoader(loads);
+
+        ProcessGraph graph = cache.getGraph(1L, loader);
+        Thread.sleep(50);
+
+        assertNotSame(graph, cache.getGraph(1L, loader));
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.getStats().getEvictionCount());
+    }
+
+    @Test
+    void getGraph_shouldEvictLeastRecentlyUsed() {
+        ProcessDefinitionCache cache = cache(2, 0);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<ProcessGraph> loader = countingLoader(loads);
+
+        ProcessGraph first = cache.getGraph(1L, loader);
+        cache.getGraph(2L, loader);
+        // 访问1后2成为最久未使用的流程
+        assertSame(first, cache.getGraph(1L, loader));
+        cache.getGraph(3L, loader);
+
+        assertSame(first, cache.getGraph(1L, loader));
+        assertEquals(3, loads.get());
+        cache.getGraph(2L, loader);
+        assertEquals(4, loads.get());
+
+        ProcessDefinitionCache.CacheStats stats = cache.getStats();
+        assertEquals(2, stats.getSize());
+        assertEquals(2, stats.getEvictionCount());
+    }
+
+    private static ProcessDefinitionCache cache(int maxSize, long ttl) {
+        ProcessCacheProperties properties = new ProcessCacheProperties();
+        properties.setMaxSize(maxSize);
+        properties.setTtl(ttl);
+        ProcessDefinitionCache cache = new ProcessDefinitionCache();
+        ReflectionTestUtils.setField(cache, "processCacheProperties", properties);
+        return cache;
+    }
+
+    private static Supplier<ProcessGraph> countingLoader(AtomicInteger loads) {
+        return () -> {
+            loads.incrementAndGet();
+            return ProcessGraph.build(Collections.emptyList(), Collections.emptyList());
+        };
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.apivisualization.engine;
+
+import com.example.apivisualization.entity.ProcessNode;
+import com.example.apivisualization.engine.retry.RetryScheduler;
+import com.example.apivisualization.http.AsyncApiClient;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ProcessMetrics单元测试类
+ */
+class ProcessMetricsTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ProcessMetrics processMetrics = new ProcessMetrics();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(processMetrics, "meterRegistry", registry);
+        ReflectionTestUtils.setField(processMetrics, "asyncApiClient", new AsyncApiClient());
+        ReflectionTestUtils.setField(processMetrics, "retryScheduler", new RetryScheduler());
+    }
+
+    @Test
+    void nodeFinished_shouldRecordTimerTaggedByNodeAndOutcome() {
+        ProcessNode node = node(7L, "API_CALL");
+        processMetrics.nodeStarted();
+        processMetrics.nodeFinished(node, ProcessMetrics.OUTCOME_SUCCESS, TimeUnit.MILLISECONDS.toNanos(20));
+        processMetrics.nodeStarted();
+        processMetrics.nodeFinished(node, ProcessMetrics.OUTCOME_FAILED, TimeUnit.MILLISECONDS.toNanos(5));
+        processMetrics.recordRetry(node);
+
+        Timer success = registry.get("process.node.duration")
+            .tags("definitionId", "1", "nodeId", "7", "nodeType", "API_CALL", "outcome", "SUCCESS").timer();
+        assertEquals(1, success.count());
+        assertEquals(20, success.totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(1, registry.get("process.node.duration").tag("outcome", "FAILED").timer().count());
+        assertEquals(1, registry.get("process.node.retries").tag("nodeId", "7").counter().count(), 0.001);
+    }
+
+    @Test
+    void recordNode_shouldReRegisterWhenNodeTypeChanges() {
+        processMetrics.recordNode(node(7L, "API_CALL"), ProcessMetrics.OUTCOME_SUCCESS, 1);
+        processMetrics.recordNode(node(7L, "DATA_TRANSFORM"), ProcessMetrics.OUTCOME_SUCCESS, 1);
+
+        assertNull(registry.find("process.node.duration").tag("nodeType", "API_CALL").timer());
+        assertEquals(1, registry.get("process.node.duration")
+            .tags("nodeType", "DATA_TRANSFORM", "outcome", "SUCCESS").timer().count());
+
+        processMetrics.evictNode(7L);
+        assertNull(registry.find("process.node.duration").tag("nodeId", "7").timer());
+    }
+
+    private static ProcessNode node(Long id, String type) {
+        ProcessNode node = new ProcessNode();
+        node.setId(id);
+        node.setProcessDefinitionId(1L);
+        node.setType(type);
+        return node;
+    }
+}
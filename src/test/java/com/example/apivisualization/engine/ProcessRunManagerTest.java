@@ -0,0 +1,147 @@
+package com.example.apivisualization.engine;
+
+import com.example.apivisualization.config.ProcessRunProperties;
+import com.example.apivisualization.service.ProcessService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * ProcessRunManager单元测试类
+ */
+class ProcessRunManagerTest {
+    private static final int POOL_SIZE = 4;
+
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    private final ProcessService processService = Mockito.mock(ProcessService.class);
+    private final ProcessRunProperties properties = new ProcessRunProperties();
+    private final ProcessRunManager runManager = new ProcessRunManager();
+
+    @BeforeEach
+    void setUp() {
+        // 不排队，线程数达到POOL_SIZE后的并发提交即被拒绝
+        executor.setCorePoolSize(POOL_SIZE);
+        executor.setMaxPoolSize(POOL_SIZE);
+        executor.setQueueCapacity(0);
+        executor.initialize();
+        ReflectionTestUtils.setField(runManager, "processService", processService);
+        ReflectionTestUtils.setField(runManager, "processRunExecutor", executor);
+        ReflectionTestUtils.setField(runManager, "processRunProperties", properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void submit_shouldTrackRunUntilFinished() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(processService.executeProcess(anyLong(), any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "done";
+        });
+
+        ProcessRun run = runManager.submit(1L, null);
+
+        assertEquals(32, run.getRunId().length());
+        assertSame(run, runManager.getRun(run.getRunId()));
+        assertFalse(run.isFinished());
+        release.countDown();
+        awaitFinished(run);
+        assertEquals(ProcessRun.STATUS_SUCCESS, run.getStatus());
+        assertEquals("done", runManager.getRun(run.getRunId()).getResult());
+        assertNotNull(run.getStartTime());
+        assertNotNull(run.getEndTime());
+        assertNull(runManager.getRun("unknown"));
+    }
+
+    @Test
+    void submit_shouldRecordFailedResult() throws Exception {
+        when(processService.executeProcess(anyLong(), any())).thenReturn(new IllegalStateException("节点执行失败"));
+
+        ProcessRun run = runManager.submit(1L, null);
+
+        awaitFinished(run);
+        assertEquals(ProcessRun.STATUS_FAILED, run.getStatus());
+        assertEquals("节点执行失败", run.getErrorMessage());
+    }
+
+    @Test
+    void submit_shouldPurgeExpiredRuns() throws Exception {
+        properties.setRetention(20);
+        when(processService.executeProcess(anyLong(), any())).thenReturn("done");
+        ProcessRun expired = runManager.submit(1L, null);
+        awaitFinished(expired);
+        Thread.sleep(50);
+
+        ProcessRun latest = runManager.submit(1L, null);
+
+        // 过期记录在下一次提交时淘汰
+        assertNull(runManager.getRun(expired.getRunId()));
+        assertSame(latest, runManager.getRun(latest.getRunId()));
+    }
+
+    @Test
+    void submit_shouldPurgeOldestFinishedRunsOverLimit() throws Exception {
+        properties.setMaxRetained(1);
+        when(processService.executeProcess(anyLong(), any())).thenReturn("done");
+        ProcessRun first = runManager.submit(1L, null);
+        awaitFinished(first);
+        ProcessRun second = runManager.submit(1L, null);
+        awaitFinished(second);
+
+        runManager.submit(1L, null);
+
+        assertNull(runManager.getRun(first.getRunId()));
+        assertSame(second, runManager.getRun(second.getRunId()));
+    }
+
+    @Test
+    void submit_shouldRejectAndForgetRunWhenPoolIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(processService.executeProcess(anyLong(), any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "done";
+        });
+        List<ProcessRun> running = new ArrayList<>();
+        for (int i = 0; i < POOL_SIZE; i++) {
+            running.add(runManager.submit(1L, null));
+        }
+
+        try {
+            // 控制器将TaskRejectedException映射为503
+            assertThrows(TaskRejectedException.class, () -> runManager.submit(1L, null));
+            Map<?, ?> runs = (Map<?, ?>) ReflectionTestUtils.getField(runManager, "runs");
+            assertEquals(POOL_SIZE, runs.size());
+        } finally {
+            release.countDown();
+        }
+        for (ProcessRun run : running) {
+            awaitFinished(run);
+        }
+    }
+
+    private static void awaitFinished(ProcessRun run) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!run.isFinished() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(run.isFinished(), "执行状态: " + run.getStatus());
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.apivisualization.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PublishedPlanRegistry单元测试类
+ */
+class PublishedPlanRegistryTest {
+
+    @Test
+    void publish_shouldKeepHighestVersion() {
+        PublishedPlanRegistry registry = new PublishedPlanRegistry();
+        ExecutionPlan v1 = plan(1);
+        ExecutionPlan v2 = plan(2);
+
+        assertSame(v1, registry.publish(v1));
+        ProcessGraph inFlight = registry.get(1L).getGraph();
+        assertSame(v2, registry.publish(v2));
+        // 延迟加载的旧快照不能覆盖新版本
+        assertSame(v2, registry.publish(plan(1)));
+        assertSame(v2, registry.get(1L));
+        assertSame(v1.getGraph(), inFlight, "已取得的旧计划不受重新发布影响");
+    }
+
+    @Test
+    void remove_shouldDropPlan() {
+        PublishedPlanRegistry registry = new PublishedPlanRegistry();
+        registry.publish(plan(1));
+
+        registry.remove(1L);
+
+        assertNull(registry.get(1L));
+        assertNull(registry.get(2L));
+    }
+
+    @Test
+    void remove_shouldRejectPlanLoadedBeforeDeprecation() {
+        PublishedPlanRegistry registry = new PublishedPlanRegistry();
+        registry.publish(plan(1));
+
+        registry.remove(1L, 1);
+
+        // 停用前开始加载的快照在停用后才发布，不能使计划重新出现
+        assertNull(registry.publish(plan(1)));
+        assertNull(registry.get(1L));
+        // 停用后重新发布的版本正常生效
+        ExecutionPlan v2 = plan(2);
+        assertSame(v2, registry.publish(v2));
+        assertSame(v2, registry.get(1L));
+    }
+
+    @Test
+    void remove_shouldKeepLaterPublishedPlan() {
+        PublishedPlanRegistry registry = new PublishedPlanRegistry();
+        ExecutionPlan v2 = plan(2);
+        registry.publish(v2);
+
+        // 迟到的停用(版本1)不影响之后发布的版本2
+        registry.remove(1L, 1);
+
+        assertSame(v2, registry.get(1L));
+    }
+
+    @Test
+    void remove_shouldRejectAnyVersionAfterDelete() {
+        PublishedPlanRegistry registry = new PublishedPlanRegistry();
+        registry.remove(1L);
+
+        assertNull(registry.publish(plan(5)));
+        assertNull(registry.get(1L));
+    }
+
+    private static ExecutionPlan plan(int version) {
+        return new ExecutionPlan(1L, version, ProcessGraph.build(Collections.emptyList(), Collections.emptyList()));
+    }
+}
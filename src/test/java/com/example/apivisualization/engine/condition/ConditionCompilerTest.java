@@ -0,0 +1,89 @@
+package com.example.apivisualization.engine.condition;
+
+import org.junit.jupiter.api.Test;
+
+import javax.script.ScriptEngineManager;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * ConditionCompiler单元测试类
+ */
+class ConditionCompilerTest {
+
+    @Test
+    void compile_shouldEvaluateSimpleCondition() {
+        CompiledCondition condition = ConditionCompiler.compile(
+            "{\"field\":\"status\",\"operator\":\"EQUALS\",\"value\":\"OK\",\"trueValue\":\"yes\",\"falseValue\":\"no\"}");
+        
+        assertEquals("yes", condition.evaluate(row("status", "OK")));
+        assertEquals("no", condition.evaluate(row("status", "FAIL")));
+        assertEquals("no", condition.evaluate(new HashMap<>()));
+    }
+    
+    @Test
+    void compile_shouldPreParseRangeBounds() {
+        CompiledCondition condition = ConditionCompiler.compile(
+            "{\"type\":\"RANGE\",\"field\":\"amount\",\"min\":\"10\",\"max\":100,\"includeMax\":false}");
+        
+        assertTrue(condition.test(row("amount", 10)));
+        assertTrue(condition.test(row("amount", "99.5")));
+        assertFalse(condition.test(row("amount", 100)));
+        assertFalse(condition.test(row("amount", "abc")));
+    }
+    
+    @Test
+    void compile_shouldRejectInvalidRangeBounds() {
+        assertThrows(IllegalArgumentException.class, 
+            () -> ConditionCompiler.compile("{\"type\":\"RANGE\",\"field\":\"amount\",\"min\":\"abc\"}"));
+    }
+    
+    @Test
+    void compile_shouldPrecompileRegex() {
+        CompiledCondition condition = ConditionCompiler.compile(
+            "{\"type\":\"REGEX\",\"field\":\"phone\",\"pattern\":\"1\\\\d{10}\"}");
+        
+        assertTrue(condition.test(row("phone", "13800000000")));
+        assertFalse(condition.test(row("phone", "1380000")));
+        assertThrows(IllegalArgumentException.class, 
+            () -> ConditionCompiler.compile("{\"type\":\"REGEX\",\"field\":\"phone\",\"pattern\":\"[\"}"));
+    }
+    
+    @Test
+    void compile_shouldNotLeakFieldsBetweenScriptEvaluations() {
+        assumeTrue(new ScriptEngineManager().getEngineByName("javascript") != null, "没有JavaScript脚本引擎");
+        CompiledCondition condition = ConditionCompiler.compile(
+            "{\"type\":\"SCRIPT\",\"script\":\"amount > 100 && typeof vip === 'undefined'\"}");
+        Map<String, Object> vipRow = row("amount", 200);
+        vipRow.put("vip", true);
+        
+        for (int i = 0; i < 3; i++) {
+            assertFalse(condition.test(vipRow));
+            // 复用的Bindings不能保留上一行的vip字段
+            assertTrue(condition.test(row("amount", 200)));
+            assertFalse(condition.test(row("amount", 50)));
+        }
+    }
+    
+    @Test
+    void compile_shouldEvaluateNestedCompositeCondition() {
+        CompiledCondition condition = ConditionCompiler.compile("{\"type\":\"COMPOSITE\",\"operator\":\"OR\",\"conditions\":["
+            + "{\"type\":\"REGEX\",\"field\":\"code\",\"pattern\":\"A.*\"},"
+            + "{\"type\":\"COMPLEX\",\"logic\":\"AND\",\"conditions\":["
+            + "{\"field\":\"code\",\"operator\":\"STARTS_WITH\",\"value\":\"B\"},"
+            + "{\"field\":\"code\",\"operator\":\"ENDS_WITH\",\"value\":\"Z\"}]}]}");
+        
+        assertTrue(condition.test(row("code", "A1")));
+        assertTrue(condition.test(row("code", "B1Z")));
+        assertFalse(condition.test(row("code", "B1")));
+    }
+    
+    private static Map<String, Object> row(String field, Object value) {
+        Map<String, Object> row = new HashMap<>();
+        row.put(field, value);
+        return row;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.apivisualization.engine.expression;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ExpressionCompiler单元测试类
+ */
+class ExpressionCompilerTest {
+
+    @Test
+    void compile_shouldBindVariablesToInputFields() {
+        CompiledExpression expression = ExpressionCompiler.compile("$price * $quantity + 1");
+        Map<String, Object> row = new HashMap<>();
+        row.put("price", 2.5);
+        row.put("quantity", 4);
+        
+        assertEquals(11, expression.evaluate(row));
+    }
+    
+    @Test
+    void compile_shouldReuseCompiledFormAcrossRows() {
+        CompiledExpression expression = ExpressionCompiler.compile("($a - $b) / 2");
+        for (int i = 0; i < 10; i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("a", i * 2);
+            row.put("b", 0);
+            assertEquals(i, expression.evaluate(row));
+        }
+    }
+    
+    @Test
+    void compile_shouldTreatNumericStringsAsNumbers() {
+        CompiledExpression expression = ExpressionCompiler.compile("$amount + 1");
+        Map<String, Object> row = new HashMap<>();
+        row.put("amount", "41");
+        
+        assertEquals(42, expression.evaluate(row));
+    }
+    
+    @Test
+    void compile_shouldConcatenateTextWithPlus() {
+        CompiledExpression expression = ExpressionCompiler.compile("$firstName + ' ' + $lastName");
+        Map<String, Object> row = new HashMap<>();
+        row.put("firstName", "Ada");
+        row.put("lastName", "Lovelace");
+        
+        assertEquals("Ada Lovelace", expression.evaluate(row));
+    }
+    
+    @Test
+    void compile_shouldSupportConditionalAndFunctions() {
+        CompiledExpression expression = ExpressionCompiler.compile("$score >= 60 && !$banned ? Math.round($score / 10) : max(0, $score)");
+        Map<String, Object> row = new HashMap<>();
+        row.put("score", 85);
+        row.put("banned", false);
+        
+        assertEquals(9, expression.evaluate(row));
+    }
+    
+    @Test
+    void compile_shouldSupportStrictEquality() {
+        Map<String, Object> row = new HashMap<>();
+        row.put("status", "PAID");
+        row.put("amount", "100");
+        row.put("vip", true);
+        
+        assertEquals(true, ExpressionCompiler.compile("$status === 'PAID' && $amount === 100").evaluate(row));
+        assertEquals(false, ExpressionCompiler.compile("$status !== 'PAID'").evaluate(row));
+        // 布尔值与数字宽松相等但不严格相等
+        assertEquals(true, ExpressionCompiler.compile("$vip == 1").evaluate(row));
+        assertEquals(false, ExpressionCompiler.compile("$vip === 1").evaluate(row));
+        assertEquals("none", ExpressionCompiler.compile("$missing === null ? 'none' : 'some'").evaluate(row));
+    }
+    
+    @Test
+    void compile_shouldRejectInvalidExpression() {
+        assertThrows(IllegalArgumentException.class, 
+            () -> ExpressionCompiler.compile("$a + * 2"));
+        assertThrows(IllegalArgumentException.class, 
+            () -> ExpressionCompiler.compile("unknown($a)"));
+        assertThrows(IllegalArgumentException.class, 
+            () -> ExpressionCompiler.compile("$a = 1"));
+        assertThrows(IllegalArgumentException.class, 
+            () -> ExpressionCompiler.compile("$a ==== 1"));
+    }
+}
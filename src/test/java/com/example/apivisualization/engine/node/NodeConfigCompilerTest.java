@@ -0,0 +1,87 @@
+package com.example.apivisualization.engine.node;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * NodeConfigCompiler单元测试类
+ */
+class NodeConfigCompilerTest {
+
+    @Test
+    void compileApiCall_shouldApplyDefaultsAndMergeHeaders() {
+        ApiCallConfig config = (ApiCallConfig) NodeConfigCompiler.compile("API_CALL",
+            "{\"apiUrl\":\"http://localhost/orders\",\"method\":\"post\",\"headers\":{\"X-Token\":\"abc\"},"
+                + "\"cache\":{\"ttlMs\":1000}}");
+
+        assertEquals(HttpMethod.POST, config.getMethod());
+        assertEquals(5000, config.getTimeout());
+        assertEquals(MediaType.APPLICATION_JSON, config.getHeaders().getContentType());
+        assertEquals("abc", config.getHeaders().getFirst("X-Token"));
+        assertThrows(UnsupportedOperationException.class, () -> config.getHeaders().add("X-Other", "1"));
+        assertTrue(config.isCacheEnabled());
+        assertEquals(1000, config.getCacheMaxEntries());
+        assertFalse(config.isIdempotent());
+    }
+
+    @Test
+    void compileApiCall_shouldResolveIdempotency() {
+        assertTrue(((ApiCallConfig) NodeConfigCompiler.compile("API_CALL", "{\"apiUrl\":\"http://localhost\"}"))
+            .isIdempotent());
+        assertTrue(((ApiCallConfig) NodeConfigCompiler.compile("API_CALL",
+            "{\"apiUrl\":\"http://localhost\",\"method\":\"POST\",\"idempotent\":true}")).isIdempotent());
+        assertFalse(((ApiCallConfig) NodeConfigCompiler.compile("API_CALL",
+            "{\"apiUrl\":\"http://localhost\",\"method\":\"GET\",\"idempotent\":false}")).isIdempotent());
+    }
+
+    @Test
+    void compile_shouldRejectInvalidConfig() {
+        assertThrows(IllegalArgumentException.class,
+            () -> NodeConfigCompiler.compile("API_CALL", "{\"method\":\"GET\"}"));
+        assertThrows(IllegalArgumentException.class,
+            () -> NodeConfigCompiler.compile("API_CALL", "{\"apiUrl\":\"http://localhost\",\"method\":\"FETCH\"}"));
+        assertThrows(IllegalArgumentException.class,
+            () -> NodeConfigCompiler.compile("DATA_TRANSFORM", "{\"type\":\"CALCULATION\"}"));
+        assertThrows(IllegalArgumentException.class, () -> NodeConfigCompiler.compile("DATA_TRANSFORM", "{rules"));
+        assertThrows(IllegalArgumentException.class, () -> NodeConfigCompiler.compile("UNKNOWN", "{}"));
+        assertThrows(IllegalArgumentException.class, () -> NodeConfigCompiler.compile("CONDITIONAL", null));
+    }
+
+    @Test
+    void compileIfPresent_shouldSkipDesignerNodesWithoutConfig() {
+        assertNull(NodeConfigCompiler.compileIfPresent("start", null));
+        assertNull(NodeConfigCompiler.compileIfPresent("decision", "{\"anything\":true}"));
+        assertNull(NodeConfigCompiler.compileIfPresent("API_CALL", null));
+        assertNull(NodeConfigCompiler.compileIfPresent("API_CALL", " "));
+        assertTrue(NodeConfigCompiler.compileIfPresent("API_CALL", "{\"apiUrl\":\"http://localhost\"}")
+            instanceof ApiCallConfig);
+        assertThrows(IllegalArgumentException.class,
+            () -> NodeConfigCompiler.compileIfPresent("API_CALL", "{\"method\":\"GET\"}"));
+        assertThrows(IllegalArgumentException.class, () -> NodeConfigCompiler.compileIfPresent("", null));
+    }
+
+    @Test
+    void compileTransform_shouldBuildRowTransform() {
+        TransformConfig config = (TransformConfig) NodeConfigCompiler.compile("DATA_TRANSFORM",
+            "{\"type\":\"CALCULATION\",\"rules\":{\"total\":{\"expression\":\"$price * $quantity\"}}}");
+        Map<String, Object> row = new HashMap<>();
+        row.put("price", 3);
+        row.put("quantity", 4);
+
+        assertEquals("CALCULATION", config.getTransformType());
+        assertEquals(12, config.getTransform().apply(row).get("total"));
+    }
+
+    @Test
+    void compileGateway_shouldReadGatewayType() {
+        assertTrue(((GatewayConfig) NodeConfigCompiler.compile("GATEWAY", "{\"gatewayType\":\"EXCLUSIVE\"}"))
+            .isExclusive());
+        assertFalse(((GatewayConfig) NodeConfigCompiler.compile("GATEWAY", "{}")).isExclusive());
+    }
+}
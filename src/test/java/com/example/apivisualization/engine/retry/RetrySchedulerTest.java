@@ -0,0 +1,144 @@
+package com.example.apivisualization.engine.retry;
+
+import com.example.apivisualization.config.ProcessRetryProperties;
+import com.fasterxml.jackson.core.JsonParseException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RetryScheduler单元测试类
+ */
+class RetrySchedulerTest {
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    private RetryScheduler retryScheduler;
+
+    @AfterEach
+    void tearDown() {
+        retryScheduler.shutdown();
+        executor.shutdown();
+    }
+
+    @Test
+    void nextDelay_shouldGrowExponentiallyWithinJitterAndCap() {
+        ProcessRetryProperties properties = new ProcessRetryProperties();
+        properties.setRetryInterval(100);
+        properties.setMaxRetryInterval(1000);
+        retryScheduler = scheduler(properties);
+
+        for (int i = 0; i < 100; i++) {
+            long first = retryScheduler.nextDelay(1);
+            long third = retryScheduler.nextDelay(3);
+            long capped = retryScheduler.nextDelay(10);
+            assertTrue(first >= 50 && first <= 100);
+            assertTrue(third >= 200 && third <= 400);
+            assertTrue(capped >= 500 && capped <= 1000);
+        }
+    }
+
+    @Test
+    void schedule_shouldRunActionAfterDelayAndFlattenFuture() throws Exception {
+        ProcessRetryProperties properties = new ProcessRetryProperties();
+        properties.setRetryInterval(10);
+        retryScheduler = scheduler(properties);
+
+        CompletableFuture<Object> future = retryScheduler.schedule(1L, 1,
+            () -> CompletableFuture.completedFuture("ok"));
+
+        assertEquals("ok", future.get(5, TimeUnit.SECONDS));
+        assertEquals(0, retryScheduler.getPendingRetries());
+    }
+
+    @Test
+    void schedule_shouldStopWhenBudgetExhausted() {
+        ProcessRetryProperties properties = new ProcessRetryProperties();
+        properties.setRetryInterval(10);
+        properties.setBudgetCapacity(2);
+        properties.setBudgetRefillPerSecond(0);
+        retryScheduler = scheduler(properties);
+
+        assertNotNull(retryScheduler.schedule(1L, 1, () -> "a"));
+        assertNotNull(retryScheduler.schedule(1L, 1, () -> "b"));
+        assertNull(retryScheduler.schedule(1L, 1, () -> "c"));
+        // 预算按流程定义隔离
+        assertNotNull(retryScheduler.schedule(2L, 1, () -> "d"));
+    }
+
+    @Test
+    void schedule_shouldFailRetryWhenExecutorSaturated() throws Exception {
+        ProcessRetryProperties properties = new ProcessRetryProperties();
+        properties.setRetryInterval(10);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        retryScheduler = scheduler(properties, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        AtomicBoolean executed = new AtomicBoolean();
+        CompletableFuture<Object> future = retryScheduler.schedule(1L, 1, () -> executed.getAndSet(true));
+
+        // 重试线程池饱和时重试失败，不在调度线程上执行
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+        assertFalse(executed.get());
+        release.countDown();
+    }
+
+    @Test
+    void isRetryable_shouldMatchTransientDownstreamFailures() {
+        retryScheduler = scheduler(new ProcessRetryProperties());
+
+        assertTrue(retryScheduler.isRetryable(new ResourceAccessException("timeout")));
+        assertTrue(retryScheduler.isRetryable(
+            new RuntimeException(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE))));
+        assertFalse(retryScheduler.isRetryable(new IllegalArgumentException("bad config")));
+    }
+
+    @Test
+    void isRetryable_shouldRejectResponseParseFailures() {
+        retryScheduler = scheduler(new ProcessRetryProperties());
+        JsonParseException parseError = new JsonParseException(null, "Unexpected character");
+
+        assertFalse(retryScheduler.isRetryable(parseError));
+        assertFalse(retryScheduler.isRetryable(new ResourceAccessException("read failed", parseError)));
+        assertFalse(retryScheduler.isRetryable(new UncheckedIOException(parseError)));
+        assertTrue(retryScheduler.isRetryable(new UncheckedIOException(new IOException("connection reset"))));
+    }
+
+    private RetryScheduler scheduler(ProcessRetryProperties properties) {
+        return scheduler(properties, 2);
+    }
+
+    private RetryScheduler scheduler(ProcessRetryProperties properties, int poolSize) {
+        executor.setCorePoolSize(poolSize);
+        executor.initialize();
+        RetryScheduler scheduler = new RetryScheduler();
+        ReflectionTestUtils.setField(scheduler, "processRetryProperties", properties);
+        ReflectionTestUtils.setField(scheduler, "processRetryExecutor", executor);
+        scheduler.init();
+        return scheduler;
+    }
+}
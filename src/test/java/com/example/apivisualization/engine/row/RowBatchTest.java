@@ -0,0 +1,61 @@
+package com.example.apivisualization.engine.row;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RowBatch单元测试类
+ */
+class RowBatchTest {
+
+    @Test
+    void of_shouldSpecializeHomogeneousNumericColumns() {
+        assertTrue(Column.of(new Object[]{1, 2, 3}).isNumeric());
+        assertTrue(Column.of(new Object[]{1.5, 2.0}).isNumeric());
+        assertFalse(Column.of(new Object[]{1, 2L}).isNumeric());
+        assertFalse(Column.of(new Object[]{1, null}).isNumeric());
+        assertFalse(Column.of(new Object[]{1, Column.ABSENT}).isNumeric());
+        assertEquals(2.0, Column.of(new Object[]{1, 2}).getDouble(1));
+    }
+
+    @Test
+    void rows_shouldSkipAbsentFieldsAndEqualPlainMaps() {
+        RowSchema schema = RowSchema.of("id", "name", "score");
+        RowBatch batch = new RowBatch(schema, new Column[]{
+            Column.of(new Object[]{1, 2}),
+            Column.of(new Object[]{"a", null}),
+            Column.of(new Object[]{Column.ABSENT, 9.5})
+        }, 2);
+
+        Map<String, Object> first = new HashMap<>();
+        first.put("id", 1);
+        first.put("name", "a");
+        Map<String, Object> second = new HashMap<>();
+        second.put("id", 2);
+        second.put("name", null);
+        second.put("score", 9.5);
+
+        assertEquals(first, batch.get(0));
+        assertEquals(second, batch.get(1));
+        assertTrue(batch.get(1).containsKey("name"));
+        assertFalse(batch.get(0).containsKey("score"));
+        assertEquals(first.hashCode(), batch.get(0).hashCode());
+    }
+
+    @Test
+    void cursor_shouldReadNumericColumnsByIndex() {
+        RowSchema schema = RowSchema.of("amount");
+        RowBatch batch = new RowBatch(schema, new Column[]{Column.of(new Object[]{10L, 20L})}, 2);
+        RowBatch.Cursor cursor = batch.cursor();
+
+        CompactRow row = cursor.moveTo(1);
+        assertTrue(row.isNumericAt(0));
+        assertEquals(20.0, row.doubleAt(0));
+        assertEquals(20L, row.get("amount"));
+        assertSame(schema, RowSchema.of("amount"));
+    }
+}
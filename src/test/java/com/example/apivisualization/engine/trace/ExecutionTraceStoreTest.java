@@ -0,0 +1,93 @@
+package com.example.apivisualization.engine.trace;
+
+import com.example.apivisualization.config.ProcessTraceProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ExecutionTraceStore单元测试类
+ */
+class ExecutionTraceStoreTest {
+
+    @Test
+    void add_shouldOverwriteOldestTraceWhenFull() throws Exception {
+        ExecutionTraceStore store = store(3, null);
+        for (int i = 0; i < 5; i++) {
+            store.add(trace("t" + i, i % 2 == 0 ? 1L : 2L, 10));
+        }
+
+        assertEquals(3, store.size());
+        assertNull(store.get("t1"));
+        List<ExecutionTrace> traces = store.list(null, 10);
+        assertEquals("t4", traces.get(0).getTraceId());
+        assertEquals("t2", traces.get(2).getTraceId());
+        assertEquals(2, store.list(1L, 10).size());
+    }
+
+    @Test
+    void nodeLatency_shouldSummarizeRetainedTraces() throws Exception {
+        ExecutionTraceStore store = store(100, null);
+        for (int i = 1; i <= 20; i++) {
+            store.add(trace("t" + i, 1L, i));
+        }
+
+        Map<Long, NodeLatency> latency = store.nodeLatency(1L);
+
+        NodeLatency nodeLatency = latency.get(9L);
+        assertEquals(20, nodeLatency.getCount());
+        assertEquals(10, nodeLatency.getAvgTime());
+        assertEquals(19, nodeLatency.getP95Time());
+        assertEquals(20, nodeLatency.getMaxTime());
+        assertEquals("SUCCESS", nodeLatency.getLastStatus());
+    }
+
+    @Test
+    void add_shouldAppendTracesToSpillFile(@TempDir Path tempDir) throws Exception {
+        Path spillFile = tempDir.resolve("traces/trace.jsonl");
+        ExecutionTraceStore store = store(10, spillFile.toString());
+        store.add(trace("t1", 1L, 5));
+        store.add(trace("t2", 1L, 6));
+        store.shutdown();
+
+        List<String> lines = Files.readAllLines(spillFile);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(1).contains("\"traceId\":\"t2\""));
+    }
+
+    private static ExecutionTraceStore store(int capacity, String spillFile) throws Exception {
+        ProcessTraceProperties properties = new ProcessTraceProperties();
+        properties.setStoreCapacity(capacity);
+        properties.setSpillFile(spillFile);
+        ExecutionTraceStore store = new ExecutionTraceStore();
+        ReflectionTestUtils.setField(store, "processTraceProperties", properties);
+        ReflectionTestUtils.setField(store, "objectMapper", new ObjectMapper());
+        store.init();
+        return store;
+    }
+
+    private static ExecutionTrace trace(String traceId, Long processDefinitionId, long nodeCostTime) {
+        NodeTrace nodeTrace = new NodeTrace();
+        nodeTrace.setNodeId(9L);
+        nodeTrace.setStatus("SUCCESS");
+        nodeTrace.setCostTime(nodeCostTime);
+        List<NodeTrace> nodes = new ArrayList<>();
+        nodes.add(nodeTrace);
+
+        ExecutionTrace trace = new ExecutionTrace();
+        trace.setTraceId(traceId);
+        trace.setProcessDefinitionId(processDefinitionId);
+        trace.setStatus("SUCCESS");
+        trace.setNodes(nodes);
+        return trace;
+    }
+}
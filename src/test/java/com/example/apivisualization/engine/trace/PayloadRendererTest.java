@@ -0,0 +1,49 @@
+package com.example.apivisualization.engine.trace;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PayloadRenderer单元测试类
+ */
+class PayloadRendererTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void render_shouldKeepSmallPayloadIntact() {
+        assertEquals("{\"a\":1}", PayloadRenderer.render(objectMapper, Collections.singletonMap("a", 1), 7));
+        assertEquals("null", PayloadRenderer.render(objectMapper, null, 10));
+    }
+
+    @Test
+    void render_shouldTruncateLargePayload() {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            values.add(i);
+        }
+
+        String rendered = PayloadRenderer.render(objectMapper, values, 20);
+
+        assertTrue(rendered.startsWith("[0,1,2,3,4,5,6,7,8,9"));
+        assertTrue(rendered.endsWith("...(truncated)"));
+        assertEquals(20 + "...(truncated)".length(), rendered.length());
+    }
+
+    @Test
+    void lazy_shouldRenderOnlyWhenConverted() {
+        Object value = new Object() {
+            @Override
+            public String toString() {
+                throw new AssertionError("不应被渲染");
+            }
+        };
+
+        assertNotNull(PayloadRenderer.lazy(objectMapper, value, 10));
+    }
+}
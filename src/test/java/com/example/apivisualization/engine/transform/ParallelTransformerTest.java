@@ -0,0 +1,71 @@
+package com.example.apivisualization.engine.transform;
+
+import com.example.apivisualization.config.ProcessTransformProperties;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ParallelTransformer单元测试类
+ */
+class ParallelTransformerTest {
+    private ParallelTransformer parallelTransformer;
+
+    @AfterEach
+    void tearDown() {
+        parallelTransformer.shutdown();
+    }
+
+    @Test
+    void transform_shouldKeepOrderAboveThreshold() {
+        parallelTransformer = transformer(100, 16);
+        RowTransform mapping = RowTransforms.mapping(new JSONObject("{\"id\":\"orderId\"}"));
+        List<Object> rows = rows(1000);
+
+        Object parallel = parallelTransformer.transform(mapping, rows);
+
+        assertTrue(parallel instanceof ChunkedList);
+        assertEquals(mapping.transform(rows), parallel);
+        assertEquals(999, ((Map<?, ?>) ((List<?>) parallel).get(999)).get("orderId"));
+    }
+
+    @Test
+    void transform_shouldRunSequentiallyBelowThreshold() {
+        parallelTransformer = transformer(1000, 16);
+        RowTransform mapping = RowTransforms.mapping(new JSONObject("{\"id\":\"orderId\"}"));
+
+        assertFalse(parallelTransformer.transform(mapping, rows(999)) instanceof ChunkedList);
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", 1);
+        assertEquals(mapping.apply(row), parallelTransformer.transform(mapping, row));
+    }
+
+    private static ParallelTransformer transformer(int threshold, int minChunkSize) {
+        ProcessTransformProperties properties = new ProcessTransformProperties();
+        properties.setParallelThreshold(threshold);
+        properties.setMinChunkSize(minChunkSize);
+        properties.setParallelism(4);
+        ParallelTransformer transformer = new ParallelTransformer();
+        ReflectionTestUtils.setField(transformer, "processTransformProperties", properties);
+        transformer.init();
+        return transformer;
+    }
+
+    private static List<Object> rows(int size) {
+        List<Object> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", i);
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.apivisualization.engine.transform;
+
+import com.example.apivisualization.engine.expression.CompiledCalculation;
+import com.example.apivisualization.engine.expression.CompiledExpression;
+import com.example.apivisualization.engine.expression.ExpressionCompiler;
+import com.example.apivisualization.engine.row.RowBatch;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RowTransforms单元测试类
+ */
+class RowTransformsTest {
+
+    @Test
+    void fuse_shouldMatchSequentialTransforms() {
+        List<RowTransform> steps = Arrays.asList(
+            RowTransforms.mapping(new JSONObject("{\"p\":\"price\",\"q\":\"quantity\",\"n\":\"name\",\"x\":\"extra\"}")),
+            RowTransforms.filter(null, new JSONArray("[\"extra\"]")),
+            RowTransforms.calculation(calculation(new String[]{"total", "name"}, "$price * $quantity", "$name")));
+        List<Object> rows = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("p", i);
+            row.put("q", 3);
+            row.put("n", "item" + i);
+            row.put("x", true);
+            rows.add(row);
+        }
+        rows.add("plain");
+
+        Object sequential = rows;
+        for (RowTransform step : steps) {
+            sequential = step.transform(sequential);
+        }
+        Object fused = RowTransforms.fuse(steps).transform(rows);
+
+        assertEquals(sequential, fused);
+        assertEquals(12, ((Map<?, ?>) ((List<?>) fused).get(4)).get("total"));
+        assertEquals(4, ((Map<?, ?>) rows.get(0)).size(), "输入行不应被修改");
+    }
+
+    @Test
+    void applyList_shouldMatchRowByRowAndReuseColumns() {
+        RowTransform mapping = RowTransforms.mapping(new JSONObject("{\"p\":\"price\",\"n\":\"name\"}"));
+        RowTransform filter = RowTransforms.filter(new JSONArray("[\"price\"]"), null);
+        RowTransform doubled = RowTransforms.calculation(calculation(new String[]{"double"}, "$price * 2"));
+        List<Object> rows = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("p", i);
+            if (i % 2 == 0) {
+                row.put("n", "item" + i);
+            }
+            rows.add(row);
+        }
+
+        List<Object> mapped = mapping.applyList(rows);
+        List<Object> expected = new ArrayList<>();
+        for (Object row : rows) {
+            expected.add(mapping.apply((Map<String, Object>) row));
+        }
+        assertTrue(mapped instanceof RowBatch);
+        assertEquals(expected, mapped);
+        assertFalse(((Map<?, ?>) mapped.get(1)).containsKey("name"));
+
+        RowBatch filtered = (RowBatch) filter.applyList(mapped);
+        assertSame(((RowBatch) mapped).column(0), filtered.column(0));
+        assertTrue(filtered.column(0).isNumeric());
+        assertEquals(6, ((Map<?, ?>) doubled.applyList(filtered).get(3)).get("double"));
+    }
+
+    @Test
+    void mappingInPlace_shouldSwapFieldsWithoutOverwriting() {
+        RowTransform swap = RowTransforms.mapping(new JSONObject("{\"a\":\"b\",\"b\":\"a\",\"c\":\"d\"}"));
+        Map<String, Object> row = new HashMap<>();
+        row.put("a", 1);
+        row.put("b", null);
+
+        Map<String, Object> expected = swap.apply(row);
+        Map<String, Object> actual = swap.applyInPlace(new HashMap<>(row));
+
+        assertEquals(expected, actual);
+        assertTrue(actual.containsKey("a"));
+        assertFalse(actual.containsKey("d"));
+    }
+
+    @Test
+    void filterInPlace_shouldApplyIncludeThenExclude() {
+        RowTransform filter = RowTransforms.filter(new JSONArray("[\"a\",\"b\",\"z\"]"), new JSONArray("[\"b\"]"));
+        Map<String, Object> row = new HashMap<>();
+        row.put("a", 1);
+        row.put("b", 2);
+        row.put("c", 3);
+
+        assertEquals(filter.apply(row), filter.applyInPlace(new HashMap<>(row)));
+        assertEquals(1, filter.apply(row).size());
+    }
+
+    private static CompiledCalculation calculation(String[] targetFields, String... expressions) {
+        CompiledExpression[] compiled = new CompiledExpression[expressions.length];
+        for (int i = 0; i < expressions.length; i++) {
+            compiled[i] = ExpressionCompiler.compile(expressions[i]);
+        }
+        return new CompiledCalculation(targetFields, compiled);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.apivisualization.http;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ApiResponseCache单元测试类
+ */
+class ApiResponseCacheTest {
+    private final ApiResponseCache cache = new ApiResponseCache();
+
+    @Test
+    void get_shouldReturnCachedResponseUntilExpired() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertEquals("r1", cache.get(1L, 50, 10, "k", false, () -> "r" + calls.incrementAndGet()));
+        assertEquals("r1", cache.get(1L, 50, 10, "k", false, () -> "r" + calls.incrementAndGet()));
+        Thread.sleep(80);
+        assertEquals("r2", cache.get(1L, 50, 10, "k", false, () -> "r" + calls.incrementAndGet()));
+        assertEquals(1, cache.getStats().getHitCount());
+    }
+
+    @Test
+    void get_shouldEvictLeastRecentlyUsedEntry() {
+        cache.get(1L, 60000, 2, "a", false, () -> "A");
+        cache.get(1L, 60000, 2, "b", false, () -> "B");
+        cache.get(1L, 60000, 2, "a", false, () -> "A2");
+        cache.get(1L, 60000, 2, "c", false, () -> "C");
+
+        assertEquals("A", cache.get(1L, 60000, 2, "a", false, () -> "A3"));
+        assertEquals("B2", cache.get(1L, 60000, 2, "b", false, () -> "B2"));
+    }
+
+    @Test
+    void get_shouldCollapseConcurrentMissesIntoOneCall() {
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<Object> response = new CompletableFuture<>();
+
+        Object first = cache.get(1L, 60000, 10, "k", true, () -> {
+            calls.incrementAndGet();
+            return response;
+        });
+        Object second = cache.get(1L, 60000, 10, "k", true, () -> {
+            calls.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        response.complete("ok");
+
+        assertEquals(1, calls.get());
+        assertEquals("ok", ((CompletableFuture<?>) first).join());
+        assertEquals("ok", ((CompletableFuture<?>) second).join());
+        assertEquals(1, cache.getStats().getCollapsedCount());
+    }
+
+    @Test
+    void get_shouldCollapseConcurrentFirstMissesAcrossThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            // 每个节点的首次调用由8个线程同时发起，节点缓存只创建一次，下游只调用一次
+            for (long nodeId = 1; nodeId <= 50; nodeId++) {
+                long id = nodeId;
+                AtomicInteger calls = new AtomicInteger();
+                CompletableFuture<Object> response = new CompletableFuture<>();
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Object>> results = new ArrayList<>();
+                for (int i = 0; i < 8; i++) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        return cache.get(id, 60000, 10, "k", true, () -> {
+                            calls.incrementAndGet();
+                            return response;
+                        });
+                    }));
+                }
+                start.countDown();
+                List<CompletableFuture<?>> futures = new ArrayList<>();
+                for (Future<Object> result : results) {
+                    futures.add((CompletableFuture<?>) result.get(5, TimeUnit.SECONDS));
+                }
+                response.complete("R" + id);
+
+                assertEquals(1, calls.get(), "节点" + id);
+                for (CompletableFuture<?> future : futures) {
+                    assertEquals("R" + id, future.join());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void get_shouldNotCacheFailures() {
+        assertThrows(IllegalStateException.class, () -> cache.get(1L, 60000, 10, "k", false, () -> {
+            throw new IllegalStateException("down");
+        }));
+
+        assertEquals("ok", cache.get(1L, 60000, 10, "k", false, () -> "ok"));
+    }
+
+    @Test
+    void key_shouldIncludeMethodUrlHeadersAndBody() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-Tenant", "a");
+        String key = ApiResponseCache.key("get", "http://host/api", headers, "{\"id\":1}");
+
+        assertNotEquals(key, ApiResponseCache.key("GET", "http://host/api", headers, "{\"id\":2}"));
+        assertNotEquals(key, ApiResponseCache.key("POST", "http://host/api", headers, "{\"id\":1}"));
+        assertEquals(key, ApiResponseCache.key("GET", "http://host/api", headers, "{\"id\":1}"));
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.apivisualization.http;
+
+import com.example.apivisualization.config.HttpClientProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.InetSocketAddress;
+import java.net.http.HttpRequest;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AsyncApiClient单元测试类
+ */
+class AsyncApiClientTest {
+
+    @Test
+    void buildRequest_shouldSendBodyForAnyMethod() {
+        AsyncApiClient client = new AsyncApiClient();
+        ReflectionTestUtils.setField(client, "objectMapper", new ObjectMapper());
+        byte[] expected = "{\"status\":\"PAID\"}".getBytes();
+
+        for (HttpMethod method : new HttpMethod[]{HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH,
+            HttpMethod.DELETE}) {
+            HttpRequest request = buildRequest(client, method, Collections.singletonMap("status", "PAID"));
+            assertEquals(method.name(), request.method());
+            assertEquals((long) expected.length, request.bodyPublisher().get().contentLength(), method.name());
+        }
+        assertEquals(0L, buildRequest(client, HttpMethod.PATCH, null).bodyPublisher().get().contentLength());
+    }
+
+    @Test
+    void exchange_shouldReleaseSlotWhenCancelled() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/slow", exchange -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.close();
+        });
+        server.createContext("/orders", exchange -> {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.setClientMode(HttpClientProperties.CLIENT_MODE_ASYNC);
+        properties.setAsyncMaxInFlight(1);
+        AsyncApiClient client = new AsyncApiClient();
+        ReflectionTestUtils.setField(client, "httpClientProperties", properties);
+        ReflectionTestUtils.setField(client, "objectMapper", new ObjectMapper());
+        client.init();
+        String baseUrl = "http://localhost:" + server.getAddress().getPort();
+        try {
+            CompletableFuture<ResponseEntity<byte[]>> slow = 
+                client.exchange(HttpMethod.GET, baseUrl + "/slow", new HttpHeaders(), null, 5000);
+            CompletableFuture<ResponseEntity<byte[]>> next = 
+                client.exchange(HttpMethod.GET, baseUrl + "/orders", new HttpHeaders(), null, 5000);
+            assertEquals(1, client.getPending());
+
+            slow.cancel(true);
+
+            // 取消的请求不再占用名额，排队的请求无需等慢请求返回
+            assertEquals(200, next.get(2, TimeUnit.SECONDS).getStatusCodeValue());
+            assertEquals(0, client.getInFlight());
+        } finally {
+            release.countDown();
+            client.shutdown();
+            server.stop(0);
+        }
+    }
+
+    private static HttpRequest buildRequest(AsyncApiClient client, HttpMethod method, Object body) {
+        return ReflectionTestUtils.invokeMethod(client, "buildRequest", method, "http://localhost/orders",
+            new HttpHeaders(), body, 1000);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.apivisualization.http;
+
+import com.example.apivisualization.config.CircuitBreakerProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CircuitBreaker单元测试类
+ */
+class CircuitBreakerTest {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void record_shouldOpenWhenFailureRateReachesThreshold() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(properties(), now::get);
+        for (int i = 0; i < 5; i++) {
+            circuitBreaker.record(false, FAST);
+        }
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.record(true, FAST);
+        }
+        assertEquals(CircuitBreaker.STATE_CLOSED, circuitBreaker.getState());
+
+        circuitBreaker.record(true, FAST);
+
+        assertEquals(CircuitBreaker.STATE_OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+        assertEquals(1, circuitBreaker.snapshot().getRejectedCalls());
+    }
+
+    @Test
+    void record_shouldOpenWhenSlowCallRateReachesThreshold() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(properties(), now::get);
+        for (int i = 0; i < 10; i++) {
+            circuitBreaker.record(false, TimeUnit.MILLISECONDS.toNanos(500));
+        }
+
+        assertEquals(CircuitBreaker.STATE_OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void tryAcquire_shouldProbeInHalfOpenAndCloseAfterSuccesses() {
+        CircuitBreaker circuitBreaker = openCircuitBreaker();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+        assertTrue(circuitBreaker.tryAcquire());
+        assertTrue(circuitBreaker.tryAcquire());
+        assertEquals(CircuitBreaker.STATE_HALF_OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+
+        circuitBreaker.record(false, FAST);
+        circuitBreaker.record(false, FAST);
+
+        assertEquals(CircuitBreaker.STATE_CLOSED, circuitBreaker.getState());
+        assertEquals(0, circuitBreaker.snapshot().getWindowCalls());
+    }
+
+    @Test
+    void record_shouldReopenWhenProbeFails() {
+        CircuitBreaker circuitBreaker = openCircuitBreaker();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+        assertTrue(circuitBreaker.tryAcquire());
+        circuitBreaker.record(true, FAST);
+
+        assertEquals(CircuitBreaker.STATE_OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void hostOf_shouldIsolateByHostAndPort() {
+        assertEquals("api.example.com", DownstreamGuard.hostOf("https://api.example.com/orders?id=1"));
+        assertEquals("localhost:8080", DownstreamGuard.hostOf("http://localhost:8080/api"));
+    }
+
+    private CircuitBreaker openCircuitBreaker() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(properties(), now::get);
+        for (int i = 0; i < 10; i++) {
+            circuitBreaker.record(true, FAST);
+        }
+        assertEquals(CircuitBreaker.STATE_OPEN, circuitBreaker.getState());
+        return circuitBreaker;
+    }
+
+    private static CircuitBreakerProperties properties() {
+        CircuitBreakerProperties properties = new CircuitBreakerProperties();
+        properties.setWindowSize(10);
+        properties.setMinimumCalls(10);
+        properties.setFailureRateThreshold(50);
+        properties.setSlowCallThreshold(100);
+        properties.setOpenDuration(1000);
+        properties.setHalfOpenCalls(2);
+        return properties;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.apivisualization.http;
+
+import com.example.apivisualization.config.CircuitBreakerProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DownstreamGuard单元测试类
+ */
+class DownstreamGuardTest {
+    private static final String URL = "http://localhost:8081/orders";
+
+    @Test
+    void executeAsync_shouldReleaseHalfOpenPermitWhenCallThrowsSynchronously() {
+        CircuitBreakerProperties properties = new CircuitBreakerProperties();
+        properties.setWindowSize(1);
+        properties.setMinimumCalls(1);
+        properties.setOpenDuration(0);
+        properties.setHalfOpenCalls(1);
+        DownstreamGuard guard = new DownstreamGuard();
+        ReflectionTestUtils.setField(guard, "circuitBreakerProperties", properties);
+
+        // 第一次调用失败后熔断，熔断时长为0，下一次调用即为半开试探
+        CompletableFuture<String> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException("下游故障"));
+        assertThrows(CompletionException.class, () -> guard.executeAsync(URL, () -> failed).join());
+        assertEquals(CircuitBreaker.STATE_OPEN, guard.getStats().get(0).getCircuitBreaker().getState());
+
+        // 试探调用在发出请求前同步失败
+        assertThrows(CompletionException.class, () -> guard.executeAsync(URL, () -> {
+            throw new IllegalArgumentException("请求参数序列化失败");
+        }).join());
+
+        // 试探名额已归还，之后的调用仍能试探并恢复
+        assertEquals("ok", guard.executeAsync(URL, () -> CompletableFuture.completedFuture("ok")).join());
+        assertEquals(CircuitBreaker.STATE_CLOSED, guard.getStats().get(0).getCircuitBreaker().getState());
+    }
+
+    @Test
+    void executeAsync_shouldCancelDownstreamCallWhenResultCancelled() {
+        DownstreamGuard guard = new DownstreamGuard();
+        ReflectionTestUtils.setField(guard, "circuitBreakerProperties", new CircuitBreakerProperties());
+        CompletableFuture<String> call = new CompletableFuture<>();
+
+        guard.executeAsync(URL, () -> call).cancel(true);
+
+        assertTrue(call.isCancelled());
+        assertEquals(0, guard.getStats().get(0).getActiveCalls());
+    }
+}
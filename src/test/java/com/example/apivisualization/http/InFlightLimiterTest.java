@@ -0,0 +1,52 @@
+package com.example.apivisualization.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * InFlightLimiter单元测试类
+ */
+class InFlightLimiterTest {
+
+    @Test
+    void submit_shouldCancelRunningTaskAndStartNextWhenResultCancelled() {
+        InFlightLimiter limiter = new InFlightLimiter("测试", 1, 10);
+        CompletableFuture<String> running = new CompletableFuture<>();
+        CompletableFuture<String> result = limiter.submit(() -> running);
+        CompletableFuture<String> next = limiter.submit(() -> CompletableFuture.completedFuture("next"));
+        assertEquals(1, limiter.getPending());
+
+        assertTrue(result.cancel(true));
+
+        assertTrue(running.isCancelled());
+        assertEquals("next", next.join());
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(0, limiter.getPending());
+    }
+
+    @Test
+    void submit_shouldDropPendingTaskWhenResultCancelled() {
+        InFlightLimiter limiter = new InFlightLimiter("测试", 1, 1);
+        CompletableFuture<String> running = new CompletableFuture<>();
+        limiter.submit(() -> running);
+        AtomicInteger started = new AtomicInteger();
+        CompletableFuture<String> cancelled = limiter.submit(() -> {
+            started.incrementAndGet();
+            return CompletableFuture.completedFuture("cancelled");
+        });
+
+        cancelled.cancel(true);
+
+        // 取消后等待名额已归还，新任务可以排队
+        assertEquals(0, limiter.getPending());
+        CompletableFuture<String> queued = limiter.submit(() -> CompletableFuture.completedFuture("queued"));
+        running.complete("done");
+        assertEquals("queued", queued.join());
+        assertEquals(0, started.get());
+        assertEquals(0, limiter.getInFlight());
+    }
+}
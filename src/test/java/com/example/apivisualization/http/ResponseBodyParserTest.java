@@ -0,0 +1,76 @@
+package com.example.apivisualization.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ResponseBodyParser单元测试类
+ */
+class ResponseBodyParserTest {
+    private final ResponseBodyParser parser = new ResponseBodyParser();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(parser, "objectMapper", new ObjectMapper());
+    }
+
+    @Test
+    void parse_shouldReadJsonIntoMapsAndLists() throws Exception {
+        Object result = parser.parse(body("{\"code\":\"OK\",\"items\":[{\"id\":1},{\"id\":2}]}"),
+            MediaType.APPLICATION_JSON);
+
+        Map<String, Object> map = (Map<String, Object>) result;
+        assertEquals("OK", map.get("code"));
+        List<Object> items = (List<Object>) map.get("items");
+        assertEquals(2, ((Map<String, Object>) items.get(1)).get("id"));
+    }
+
+    @Test
+    void parse_shouldReturnNullForEmptyJsonBody() throws Exception {
+        assertNull(parser.parse(body(""), MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void parse_shouldReadXmlWithRepeatedElementsAndAttributes() throws Exception {
+        String xml = "<?xml version=\"1.0\"?><order id=\"7\"><no>007</no>"
+            + "<item sku=\"A\">2</item><item sku=\"B\">3</item><paid>true</paid></order>";
+
+        Map<String, Object> result = (Map<String, Object>) parser.parse(body(xml), MediaType.APPLICATION_XML);
+
+        Map<String, Object> order = (Map<String, Object>) result.get("order");
+        assertEquals(7, order.get("id"));
+        assertEquals("007", order.get("no"));
+        assertEquals(Boolean.TRUE, order.get("paid"));
+        List<Object> items = (List<Object>) order.get("item");
+        assertEquals(2, items.size());
+        assertEquals("B", ((Map<String, Object>) items.get(1)).get("sku"));
+        assertEquals(3, ((Map<String, Object>) items.get(1)).get("content"));
+    }
+
+    @Test
+    void parse_shouldRejectXmlWithDoctype() {
+        String xml = "<?xml version=\"1.0\"?><!DOCTYPE a [<!ENTITY x SYSTEM \"file:///etc/passwd\">]><a>&x;</a>";
+
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(body(xml), MediaType.APPLICATION_XML));
+    }
+
+    @Test
+    void parse_shouldReturnTextForOtherContentTypes() throws Exception {
+        assertEquals("pong", parser.parse(body("pong"), MediaType.TEXT_PLAIN));
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
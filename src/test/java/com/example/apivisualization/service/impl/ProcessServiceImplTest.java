@@ -1,14 +1,69 @@
 package com.example.apivisualization.service.impl;
 
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.extension.toolkit.Db;
+import com.example.apivisualization.context.ProcessExecutionContext;
+import com.example.apivisualization.dto.KeysetPage;
+import com.example.apivisualization.dto.ProcessDesign;
+import com.example.apivisualization.dto.ProcessDesignResult;
+import com.example.apivisualization.engine.ProcessDefinitionCache;
+import com.example.apivisualization.engine.ProcessMetrics;
+import com.example.apivisualization.engine.node.NodeConfigCompiler;
+import com.example.apivisualization.engine.retry.RetryScheduler;
+import com.example.apivisualization.engine.trace.ExecutionTracer;
+import com.example.apivisualization.entity.ProcessDefinition;
+import com.example.apivisualization.entity.ProcessEdge;
 import com.example.apivisualization.entity.ProcessNode;
+import com.example.apivisualization.exception.ErrorCode;
 import com.example.apivisualization.exception.ProcessException;
-import com.example.apivisualization.service.impl.ProcessExecutionContext;
+import com.example.apivisualization.exception.RetryableException;
+import com.example.apivisualization.http.ApiResponseCache;
+import com.example.apivisualization.mapper.ProcessDefinitionMapper;
+import com.example.apivisualization.mapper.ProcessEdgeMapper;
+import com.example.apivisualization.mapper.ProcessNodeMapper;
+import com.example.apivisualization.service.ProcessDesignConflictException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * ProcessServiceImpl单元测试类
@@ -16,135 +71,495 @@ import static org.junit.jupiter.api.Assertions.*;
 class ProcessServiceImplTest {
     @InjectMocks
     private ProcessServiceImpl processService;
-    
+
+    @Mock
+    private RetryScheduler retryScheduler;
+
+    @Mock
+    private ProcessMetrics processMetrics;
+
+    @Mock
+    private ExecutionTracer executionTracer;
+
+    @Mock
+    private ProcessDefinitionMapper processDefinitionMapper;
+
+    @Mock
+    private ProcessNodeMapper processNodeMapper;
+
+    @Mock
+    private ProcessEdgeMapper processEdgeMapper;
+
+    @Mock
+    private ApiResponseCache apiResponseCache;
+
+    @Mock
+    private ProcessDefinitionCache processDefinitionCache;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        // Lambda条件构造器按实体的表信息解析列名
+        MapperBuilderAssistant assistant = new MapperBuilderAssistant(new MybatisConfiguration(), "");
+        TableInfoHelper.initTableInfo(assistant, ProcessDefinition.class);
+        TableInfoHelper.initTableInfo(assistant, ProcessNode.class);
+        TableInfoHelper.initTableInfo(assistant, ProcessEdge.class);
     }
-    
+
     @Test
     void executeNode_shouldThrowExceptionWhenNodeIsNull() {
         ProcessExecutionContext context = new ProcessExecutionContext(null);
-        assertThrows(ProcessException.class, 
-            () -> processService.executeNode(null, context));
+        ProcessException e = assertThrows(ProcessException.class, () -> executeNode(null, context));
+        assertEquals(ErrorCode.NODE_NOT_FOUND, e.getErrorCode());
     }
-    
+
     @Test
     void executeNode_shouldThrowExceptionWhenContextIsNull() {
         ProcessNode node = new ProcessNode();
-        assertThrows(ProcessException.class, 
-            () -> processService.executeNode(node, null));
+        ProcessException e = assertThrows(ProcessException.class, () -> executeNode(node, null));
+        assertEquals(ErrorCode.CONTEXT_INVALID, e.getErrorCode());
     }
-    
+
     @Test
     void executeNode_shouldThrowExceptionWhenNodeTypeIsEmpty() {
         ProcessNode node = new ProcessNode();
         node.setType("");
         ProcessExecutionContext context = new ProcessExecutionContext(null);
-        assertThrows(ProcessException.class, 
-            () -> processService.executeNode(node, context));
+        ProcessException e = assertThrows(ProcessException.class, () -> executeNode(node, context));
+        assertEquals(ErrorCode.NODE_TYPE_INVALID, e.getErrorCode());
     }
-    
+
     @Test
     void executeNode_shouldThrowExceptionWhenNodeConfigIsNull() {
         ProcessNode node = new ProcessNode();
         node.setType("API_CALL");
         ProcessExecutionContext context = new ProcessExecutionContext(null);
-        assertThrows(ProcessException.class, 
-            () -> processService.executeNode(node, context));
+        ProcessException e = assertThrows(ProcessException.class, () -> executeNode(node, context));
+        assertEquals(ErrorCode.NODE_CONFIG_INVALID, e.getErrorCode());
     }
-    
+
     @Test
-    void retryExecuteNode_shouldRetryWhenRetryableExceptionOccurs() {
-        ProcessNode node = new ProcessNode();
-        node.setType("API_CALL");
-        node.setConfig("{}");
-        
+    void failNode_shouldRetryWhenRetryableExceptionOccurs() {
+        ProcessNode node = apiCallNode();
         ProcessExecutionContext context = new ProcessExecutionContext(null);
         context.setMaxRetryTimes(3);
-        
-        // 模拟第一次执行失败
-        when(processService.executeNode(node, context))
-            .thenThrow(new RetryableException("模拟失败", 0))
-            .thenReturn("success");
-            
-        Object result = processService.retryExecuteNode(node, context);
-        
-        assertEquals("success", result);
-        verify(processService, times(2)).executeNode(node, context);
-    }
-    
-    @Test
-    void retryExecuteNode_shouldThrowExceptionWhenMaxRetryTimesExceeded() {
-        ProcessNode node = new ProcessNode();
-        node.setType("API_CALL");
-        node.setConfig("{}");
-        
+        when(retryScheduler.schedule(any(), anyInt(), any())).thenReturn(CompletableFuture.completedFuture("success"));
+
+        Object result = failNode(node, new RetryableException("模拟失败", 0), context);
+
+        assertTrue(result instanceof CompletableFuture);
+        assertEquals("success", ((CompletableFuture<?>) result).join());
+        verify(retryScheduler).schedule(any(), eq(1), any());
+        verify(processMetrics).recordRetry(node);
+    }
+
+    @Test
+    void failNode_shouldThrowExceptionWhenMaxRetryTimesExceeded() {
+        ProcessNode node = apiCallNode();
         ProcessExecutionContext context = new ProcessExecutionContext(null);
         context.setMaxRetryTimes(2);
-        
-        // 模拟连续失败
-        when(processService.executeNode(node, context))
-            .thenThrow(new RetryableException("模拟失败", 0))
-            .thenThrow(new RetryableException("模拟失败", 1))
-            .thenThrow(new RetryableException("模拟失败", 2));
-            
-        assertThrows(RetryableException.class, 
-            () -> processService.retryExecuteNode(node, context));
-        
-        verify(processService, times(3)).executeNode(node, context);
-    }
-    
-    @Test
-    void executeNode_shouldLogCorrectFormatWhenSuccess() {
+        when(retryScheduler.schedule(any(), anyInt(), any())).thenReturn(new CompletableFuture<>());
+
+        failNode(node, new RetryableException("模拟失败", 0), context);
+        failNode(node, new RetryableException("模拟失败", 1), context);
+        ProcessException e = assertThrows(ProcessException.class,
+            () -> failNode(node, new RetryableException("模拟失败", 2), context));
+
+        assertEquals(ErrorCode.NODE_EXECUTION_FAILED, e.getErrorCode());
+        assertTrue(e.getCause() instanceof RetryableException);
+        verify(retryScheduler, times(2)).schedule(any(), anyInt(), any());
+    }
+
+    @Test
+    void failNode_shouldNotRetryNonIdempotentApiCall() {
+        ProcessNode node = apiCallNode();
+        node.setConfig("{\"apiUrl\":\"http://localhost/orders\",\"method\":\"POST\"}");
+        node.setCompiledConfig(NodeConfigCompiler.compile(node.getType(), node.getConfig()));
+        ProcessExecutionContext context = new ProcessExecutionContext(null);
+        when(retryScheduler.isRetryable(any())).thenReturn(true);
+
+        assertThrows(ProcessException.class,
+            () -> failNode(node, new ResourceAccessException("read timed out"), context));
+
+        verify(retryScheduler, never()).schedule(any(), anyInt(), any());
+    }
+
+    @Test
+    void parseApiResponse_shouldRetryServerErrorsInAsyncMode() {
+        ResponseEntity<byte[]> unavailable = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new byte[0]);
+        ResponseEntity<byte[]> notFound = ResponseEntity.status(HttpStatus.NOT_FOUND).body(new byte[0]);
+
+        HttpServerErrorException serverError = assertThrows(HttpServerErrorException.class,
+            () -> ReflectionTestUtils.invokeMethod(processService, "parseApiResponse", unavailable));
+        HttpClientErrorException clientError = assertThrows(HttpClientErrorException.class,
+            () -> ReflectionTestUtils.invokeMethod(processService, "parseApiResponse", notFound));
+
+        // 非阻塞模式下响应在CompletableFuture中解析，异常被CompletionException包装
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, serverError.getStatusCode());
+        assertTrue(new RetryScheduler().isRetryable(new CompletionException(serverError)));
+        assertFalse(new RetryScheduler().isRetryable(new CompletionException(clientError)));
+    }
+
+    @Test
+    void awaitNodeResult_shouldStopWaitingForRetryAtDeadline() {
+        ProcessExecutionContext context = new ProcessExecutionContext(null);
+        context.setTimeoutMillis(20);
+        CompletableFuture<Object> retry = new CompletableFuture<>();
+
+        ProcessException e = assertThrows(ProcessException.class,
+            () -> ReflectionTestUtils.invokeMethod(processService, "awaitNodeResult", retry, context));
+
+        assertEquals(ErrorCode.PROCESS_TIMEOUT, e.getErrorCode());
+        assertTrue(retry.isCancelled());
+        assertTrue(context.isCancelled());
+    }
+
+    @Test
+    void executeNode_shouldTraceNodeWhenSuccess() {
         ProcessNode node = new ProcessNode();
-        node.setType("API_CALL");
+        node.setId(1L);
+        node.setType("GATEWAY");
         node.setConfig("{}");
-        
+        ProcessExecutionContext context = new ProcessExecutionContext("input");
+
+        assertEquals("input", executeNode(node, context));
+
+        assertEquals("SUCCESS", context.getNodeStatus(1L));
+        verify(executionTracer).nodeCompleted(eq(node), eq("input"), eq("input"), anyLong(), anyLong(), eq(context));
+    }
+
+    @Test
+    void failNode_shouldTraceNodeWhenFailed() {
+        ProcessNode node = apiCallNode();
         ProcessExecutionContext context = new ProcessExecutionContext(null);
-        
-        // 模拟成功执行
-        when(processService.executeNode(node, context)).thenReturn("success");
-        
-        // 捕获日志输出
-        try (MockedStatic<Log> mockedLog = Mockito.mockStatic(Log.class)) {
-            processService.executeNode(node, context);
-            
-            // 验证日志格式
-            mockedLog.verify(() -> 
-                Log.info(contains("流程节点执行完成"), 
-                    eq(node.getId()), 
-                    eq(node.getType()), 
-                    anyLong(), 
-                    anyString(), 
-                    anyString()));
+        IllegalStateException error = new IllegalStateException("模拟失败");
+
+        assertThrows(ProcessException.class, () -> failNode(node, error, context));
+
+        assertEquals("FAILED", context.getNodeStatus(1L));
+        verify(executionTracer).nodeFailed(eq(node), any(), eq(error), anyLong(), anyLong(), eq(context));
+        verify(retryScheduler, never()).schedule(any(), anyInt(), any());
+    }
+
+    @Test
+    void toProcessNode_shouldAcceptDesignerPayload() throws JsonProcessingException {
+        // 与Process.vue保存设计时提交的请求一致：拖入的节点类型为小写且没有配置
+        String payload = "{\"processId\":1,\"nodes\":["
+            + "{\"id\":\"1718000000001\",\"type\":\"start\",\"name\":\"start节点\",\"x\":100,\"y\":80},"
+            + "{\"id\":\"1718000000002\",\"type\":\"task\",\"name\":\"task节点\",\"x\":240,\"y\":80},"
+            + "{\"id\":\"1718000000003\",\"type\":\"decision\",\"name\":\"decision节点\",\"x\":380,\"y\":80},"
+            + "{\"id\":\"1718000000004\",\"type\":\"gateway\",\"name\":\"gateway节点\",\"x\":520,\"y\":80},"
+            + "{\"id\":\"1718000000005\",\"type\":\"end\",\"name\":\"end节点\",\"x\":660,\"y\":80},"
+            + "{\"id\":\"1718000000006\",\"type\":\"API_CALL\",\"name\":\"订单查询\","
+            + "\"config\":\"{\\\"apiUrl\\\":\\\"http://localhost/orders\\\"}\"}],"
+            + "\"edges\":[{\"source\":\"1718000000001\",\"target\":\"1718000000002\",\"condition\":\"\"}]}";
+        ProcessDesign design = Jackson2ObjectMapperBuilder.json().build().readValue(payload, ProcessDesign.class);
+
+        for (ProcessDesign.Node designNode : design.getNodes()) {
+            ProcessNode node = ReflectionTestUtils.invokeMethod(processService, "toProcessNode", designNode, 1L, null);
+            assertEquals(designNode.getType(), node.getType());
+            assertEquals(Long.valueOf(1L), node.getProcessDefinitionId());
+            if ("API_CALL".equals(node.getType())) {
+                assertNotNull(node.getCompiledConfig());
+            } else {
+                assertNull(node.getConfig());
+                assertNull(node.getCompiledConfig());
+            }
         }
     }
-    
+
     @Test
-    void executeNode_shouldLogCorrectFormatWhenFailed() {
-        ProcessNode node = new ProcessNode();
-        node.setType("API_CALL");
-        node.setConfig("{}");
-        
+    void streamTransforms_shouldNotFailNodeWhenConsumerFails() {
+        ProcessNode node = transformNode();
         ProcessExecutionContext context = new ProcessExecutionContext(null);
-        
-        // 模拟失败执行
-        when(processService.executeNode(node, context))
-            .thenThrow(new ProcessException("模拟失败"));
-        
-        // 捕获日志输出
-        try (MockedStatic<Log> mockedLog = Mockito.mockStatic(Log.class)) {
-            assertThrows(ProcessException.class, 
-                () -> processService.executeNode(node, context));
-            
-            // 验证日志格式
-            mockedLog.verify(() -> 
-                Log.error(contains("流程节点执行失败"), 
-                    eq(node.getId()), 
-                    eq(node.getType()), 
-                    anyLong(), 
-                    anyString()));
+        UncheckedIOException disconnect = new UncheckedIOException(new IOException("Broken pipe"));
+        Consumer<Object> consumer = element -> {
+            throw disconnect;
+        };
+
+        UncheckedIOException e = assertThrows(UncheckedIOException.class, () -> streamTransforms(node,
+            Arrays.asList(Collections.singletonMap("id", 1), Collections.singletonMap("id", 2)), context, consumer));
+
+        // 客户端断开不是转换节点的失败
+        assertSame(disconnect, e);
+        assertSame(disconnect, context.getException());
+        assertTrue(context.isCancelled());
+        assertNull(context.getFailedNode());
+        assertNull(context.getNodeStatus(2L));
+        verify(executionTracer, never()).nodeFailed(any(), any(), any(), anyLong(), anyLong(), any());
+        verify(processMetrics, never()).recordNode(any(), any(), anyLong());
+    }
+
+    @Test
+    void saveProcessDesign_shouldRejectStaleRevision() {
+        when(processDefinitionMapper.selectById(1L)).thenReturn(definition(3));
+        ProcessDesign design = design(designNode("1", "订单查询", 1));
+        design.setBaseRevision(2);
+
+        try (MockedStatic<Db> db = Mockito.mockStatic(Db.class)) {
+            assertThrows(ProcessDesignConflictException.class, () -> processService.saveProcessDesign(design));
+            db.verifyNoInteractions();
+        }
+        verify(processDefinitionMapper, never()).update(any(), any());
+    }
+
+    @Test
+    void saveProcessDesign_shouldRejectConcurrentSaveWithoutRevision() {
+        // 旧数据修订号为空，读取后其他事务已保存，条件更新影响0行
+        when(processDefinitionMapper.selectById(1L)).thenReturn(definition(null));
+        when(processDefinitionMapper.update(any(), any())).thenReturn(0);
+
+        try (MockedStatic<Db> db = Mockito.mockStatic(Db.class)) {
+            assertThrows(ProcessDesignConflictException.class,
+                () -> processService.saveProcessDesign(design(designNode("1", "订单查询", 1))));
+            db.verifyNoInteractions();
+        }
+    }
+
+    @Test
+    void saveProcessDesign_shouldCreateNodesAndRemapTempIdsForEdges() {
+        when(processDefinitionMapper.selectById(1L)).thenReturn(definition(null));
+        when(processDefinitionMapper.update(any(), any())).thenReturn(1);
+        when(processNodeMapper.selectList(any())).thenReturn(Collections.emptyList());
+        when(processEdgeMapper.selectList(any())).thenReturn(Collections.emptyList());
+        ProcessDesign design = design(designNode("tmp-a", "开始", 1), designNode("tmp-b", "订单查询", 2));
+        design.setEdges(Collections.singletonList(designEdge("tmp-a", "tmp-b")));
+        List<ProcessEdge> savedEdges = new ArrayList<>();
+
+        ProcessDesignResult result;
+        try (MockedStatic<Db> db = Mockito.mockStatic(Db.class)) {
+            db.when(() -> Db.saveBatch(anyCollection(), anyInt())).thenAnswer(invocation -> {
+                long id = 100;
+                for (Object entity : invocation.<Collection<?>>getArgument(0)) {
+                    if (entity instanceof ProcessNode) {
+                        ((ProcessNode) entity).setId(id++);
+                    } else {
+                        ((ProcessEdge) entity).setId(id++ + 100);
+                        savedEdges.add((ProcessEdge) entity);
+                    }
+                }
+                return true;
+            });
+            result = processService.saveProcessDesign(design);
+        }
+
+        assertEquals(Integer.valueOf(1), result.getRevision());
+        assertEquals(Long.valueOf(100L), result.getCreatedNodeIds().get("tmp-a"));
+        assertEquals(Long.valueOf(101L), result.getCreatedNodeIds().get("tmp-b"));
+        assertEquals(1, savedEdges.size());
+        assertEquals(Long.valueOf(100L), savedEdges.get(0).getSourceNodeId());
+        assertEquals(Long.valueOf(101L), savedEdges.get(0).getTargetNodeId());
+        assertEquals(Collections.singletonList(200L), result.getCreatedEdgeIds());
+        assertTrue(result.getUpdatedNodeIds().isEmpty());
+        assertTrue(result.getDeletedNodeIds().isEmpty());
+        verify(processDefinitionCache).invalidate(1L);
+    }
+
+    @Test
+    void saveProcessDesign_shouldUpdateOnlyChangedNodesAndEdges() {
+        when(processDefinitionMapper.selectById(1L)).thenReturn(definition(4));
+        when(processDefinitionMapper.update(any(), any())).thenReturn(1);
+        when(processNodeMapper.selectList(any())).thenReturn(Arrays.asList(node(1L, "开始", 1), node(2L, "订单查询", 2)));
+        when(processEdgeMapper.selectList(any())).thenReturn(Collections.singletonList(edge(10L, 1L, 2L, null)));
+        ProcessDesign design = design(designNode("1", "开始", 1), designNode("2", "订单详情", 2));
+        design.setBaseRevision(4);
+        ProcessDesign.Edge designEdge = designEdge("1", "2");
+        designEdge.setCondition("$.status == 'PAID'");
+        design.setEdges(Collections.singletonList(designEdge));
+        List<ProcessNode> updatedNodes = new ArrayList<>();
+
+        ProcessDesignResult result;
+        try (MockedStatic<Db> db = Mockito.mockStatic(Db.class)) {
+            db.when(() -> Db.updateBatchById(anyCollection(), anyInt())).thenAnswer(invocation -> {
+                updatedNodes.addAll(invocation.<Collection<ProcessNode>>getArgument(0));
+                return true;
+            });
+            result = processService.saveProcessDesign(design);
+            db.verify(() -> Db.saveBatch(anyCollection(), anyInt()), never());
+            db.verify(() -> Db.removeByIds(anyCollection(), any()), never());
         }
+
+        assertEquals(Integer.valueOf(5), result.getRevision());
+        assertEquals(Collections.singletonList(2L), result.getUpdatedNodeIds());
+        assertEquals(1, updatedNodes.size());
+        assertEquals("订单详情", updatedNodes.get(0).getName());
+        assertEquals(Collections.singletonList(10L), result.getUpdatedEdgeIds());
+        verify(processEdgeMapper).update(any(), any());
+        verify(apiResponseCache).evict(2L);
+        verify(apiResponseCache, never()).evict(1L);
+    }
+
+    @Test
+    void saveProcessDesign_shouldDeleteNodesMissingFromFullDesign() {
+        when(processDefinitionMapper.selectById(1L)).thenReturn(definition(1));
+        when(processDefinitionMapper.update(any(), any())).thenReturn(1);
+        when(processNodeMapper.selectList(any())).thenReturn(
+            Arrays.asList(node(1L, "开始", 1), node(2L, "订单查询", 2), node(3L, "结束", 3)));
+        when(processEdgeMapper.selectList(any())).thenReturn(
+            Arrays.asList(edge(10L, 1L, 2L, null), edge(11L, 2L, 3L, null)));
+        ProcessDesign design = design(designNode("1", "开始", 1), designNode("2", "订单查询", 2));
+        design.setEdges(Collections.singletonList(designEdge("1", "2")));
+
+        ProcessDesignResult result;
+        try (MockedStatic<Db> db = Mockito.mockStatic(Db.class)) {
+            result = processService.saveProcessDesign(design);
+            db.verify(() -> Db.removeByIds(eq(Collections.singleton(3L)), eq(ProcessNode.class)));
+            db.verify(() -> Db.removeByIds(eq(Collections.singleton(11L)), eq(ProcessEdge.class)));
+            db.verify(() -> Db.updateBatchById(anyCollection(), anyInt()), never());
+        }
+
+        assertEquals(Collections.singletonList(3L), result.getDeletedNodeIds());
+        assertEquals(Collections.singletonList(11L), result.getDeletedEdgeIds());
+        assertTrue(result.getUpdatedEdgeIds().isEmpty());
+        verify(apiResponseCache).evict(3L);
+        verify(processMetrics).evictNode(3L);
+    }
+
+    @Test
+    void pageProcessNodes_shouldPageAcrossNullSortBoundary() {
+        List<LambdaQueryWrapper<ProcessNode>> queries = new ArrayList<>();
+        Deque<List<ProcessNode>> pages = new ArrayDeque<>(Arrays.asList(
+            Arrays.asList(node(3L, "a", null), node(5L, "b", null), node(7L, "c", -3)),
+            Arrays.asList(node(7L, "c", -3), node(9L, "d", 2), node(10L, "e", 2)),
+            Collections.singletonList(node(10L, "e", 2))));
+        when(processNodeMapper.selectList(any())).thenAnswer(invocation -> {
+            queries.add(invocation.getArgument(0));
+            return pages.poll();
+        });
+
+        KeysetPage<ProcessNode> first = processService.pageProcessNodes(1L, null, 2, false);
+        assertEquals(":5", first.getNextCursor());
+        KeysetPage<ProcessNode> second = processService.pageProcessNodes(1L, first.getNextCursor(), 2, false);
+        assertEquals("2:9", second.getNextCursor());
+        KeysetPage<ProcessNode> third = processService.pageProcessNodes(1L, second.getNextCursor(), 2, false);
+        assertNull(third.getNextCursor());
+        assertFalse(third.isHasMore());
+
+        assertEquals(Arrays.asList(7L, 9L), ids(second));
+        // sort为空的游标之后先取剩余的空sort行，再取全部非空sort行
+        assertTrue(queries.get(1).getSqlSegment().contains("sort IS NOT NULL OR (sort IS NULL AND id >"));
+        assertTrue(queries.get(1).getParamNameValuePairs().containsValue(5L));
+        assertTrue(queries.get(2).getSqlSegment().contains("sort > "));
+        assertTrue(queries.get(2).getParamNameValuePairs().containsValue(2));
+        assertTrue(queries.get(2).getParamNameValuePairs().containsValue(9L));
+    }
+
+    @Test
+    void pageProcessNodes_shouldRoundTripNegativeSortCursor() {
+        List<LambdaQueryWrapper<ProcessNode>> queries = new ArrayList<>();
+        when(processNodeMapper.selectList(any())).thenAnswer(invocation -> {
+            queries.add(invocation.getArgument(0));
+            return queries.size() == 1 
+                ? Arrays.asList(node(7L, "c", -3), node(9L, "d", 2)) : Collections.emptyList();
+        });
+
+        KeysetPage<ProcessNode> first = processService.pageProcessNodes(1L, null, 1, false);
+        assertEquals("-3:7", first.getNextCursor());
+        processService.pageProcessNodes(1L, first.getNextCursor(), 1, false);
+
+        // 参数在生成SQL片段时才填充
+        assertTrue(queries.get(1).getSqlSegment().contains("sort > "));
+        assertTrue(queries.get(1).getParamNameValuePairs().containsValue(-3));
+        assertTrue(queries.get(1).getParamNameValuePairs().containsValue(7L));
+    }
+
+    @Test
+    void pageProcessNodes_shouldRejectMalformedCursor() {
+        for (String cursor : Arrays.asList("5", ":", ":x", "x:5", "2:", "1.5:3")) {
+            assertThrows(IllegalArgumentException.class, 
+                () -> processService.pageProcessNodes(1L, cursor, 10, false), cursor);
+        }
+        assertThrows(IllegalArgumentException.class, () -> processService.pageProcessNodes(null, "2:9", 10, false));
+        verify(processNodeMapper, never()).selectList(any());
+    }
+
+    private static List<Long> ids(KeysetPage<ProcessNode> page) {
+        List<Long> ids = new ArrayList<>();
+        page.getItems().forEach(node -> ids.add(node.getId()));
+        return ids;
+    }
+
+    private Object executeNode(ProcessNode node, ProcessExecutionContext context) {
+        return ReflectionTestUtils.invokeMethod(processService, "executeNode", node, context);
+    }
+
+    private Object failNode(ProcessNode node, Exception error, ProcessExecutionContext context) {
+        return ReflectionTestUtils.invokeMethod(processService, "failNode", node, null, error, System.nanoTime(),
+            context);
+    }
+
+    private void streamTransforms(ProcessNode node, List<Object> items, ProcessExecutionContext context,
+                                  Consumer<Object> consumer) {
+        ReflectionTestUtils.invokeMethod(processService, "streamTransforms", Collections.singletonList(node), items,
+            context, consumer);
+    }
+
+    private static ProcessNode transformNode() {
+        ProcessNode node = new ProcessNode();
+        node.setId(2L);
+        node.setProcessDefinitionId(1L);
+        node.setType("DATA_TRANSFORM");
+        node.setConfig("{\"type\":\"MAPPING\",\"rules\":{\"id\":\"orderId\"}}");
+        node.setCompiledConfig(NodeConfigCompiler.compile(node.getType(), node.getConfig()));
+        return node;
+    }
+
+    private static ProcessDefinition definition(Integer revision) {
+        ProcessDefinition definition = new ProcessDefinition();
+        definition.setId(1L);
+        definition.setRevision(revision);
+        return definition;
+    }
+
+    private static ProcessDesign design(ProcessDesign.Node... nodes) {
+        ProcessDesign design = new ProcessDesign();
+        design.setProcessId(1L);
+        design.setNodes(Arrays.asList(nodes));
+        return design;
+    }
+
+    private static ProcessDesign.Node designNode(String id, String name, int sort) {
+        ProcessDesign.Node node = new ProcessDesign.Node();
+        node.setId(id);
+        node.setName(name);
+        node.setType("task");
+        node.setSort(sort);
+        return node;
+    }
+
+    private static ProcessDesign.Edge designEdge(String source, String target) {
+        ProcessDesign.Edge edge = new ProcessDesign.Edge();
+        edge.setSource(source);
+        edge.setTarget(target);
+        return edge;
+    }
+
+    private static ProcessNode node(Long id, String name, Integer sort) {
+        ProcessNode node = new ProcessNode();
+        node.setId(id);
+        node.setProcessDefinitionId(1L);
+        node.setName(name);
+        node.setType("task");
+        node.setSort(sort);
+        return node;
+    }
+
+    private static ProcessEdge edge(Long id, Long source, Long target, String condition) {
+        ProcessEdge edge = new ProcessEdge();
+        edge.setId(id);
+        edge.setProcessDefinitionId(1L);
+        edge.setSourceNodeId(source);
+        edge.setTargetNodeId(target);
+        edge.setCondition(condition);
+        return edge;
+    }
+
+    private static ProcessNode apiCallNode() {
+        ProcessNode node = new ProcessNode();
+        node.setId(1L);
+        node.setProcessDefinitionId(1L);
+        node.setType("API_CALL");
+        node.setConfig("{\"apiUrl\":\"http://localhost/orders\"}");
+        return node;
     }
-}
\ No newline at end of file
+}